@@ -17,22 +17,25 @@ import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Condition;
-import fr.uga.pddl4j.problem.operator.ConditionalEffect;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import fr.uga.pddl4j.examples.asp.Node;
 
@@ -56,7 +59,7 @@ public class ASP extends AbstractPlanner {
 	/**
 	 * The default value of the HEURISTIC property used for planner configuration.
 	 */
-	public static final StateHeuristic.Name DEFAULT_HEURISTIC = StateHeuristic.Name.FAST_FORWARD;
+	public static final HeuristicName DEFAULT_HEURISTIC = HeuristicName.FAST_FORWARD;
 
 	/**
 	 * The WEIGHT_HEURISTIC property used for planner configuration.
@@ -70,30 +73,426 @@ public class ASP extends AbstractPlanner {
 	public static final double DEFAULT_WEIGHT_HEURISTIC = 1.0;
 
 	/**
-	 * MDA: Monte-Carlo Deadlock Avoidance tracking
+	 * The WALK_WORKERS property used for planner configuration.
 	 */
-	private final Map<Integer, Integer> successfulWalks = new HashMap<>(); // S(a)
-	private final Map<Integer, Integer> failedWalks = new HashMap<>(); // F(a)
+	public static final String WALK_WORKERS_SETTING = "WALK_WORKERS";
 
 	/**
-	 * MHA: Monte-Carlo with Helpful Actions tracking
+	 * The default value of the WALK_WORKERS property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_WALK_WORKERS = 1;
+
+	/**
+	 * The EVALUATION property used for planner configuration.
+	 */
+	public static final String EVALUATION_SETTING = "EVALUATION";
+
+	/**
+	 * The default value of the EVALUATION property used for planner
+	 * configuration.
+	 */
+	public static final EvaluationPolicy DEFAULT_EVALUATION = EvaluationPolicy.EVERY_STEP;
+
+	/**
+	 * The EVALUATION_PERIOD property used for planner configuration.
+	 */
+	public static final String EVALUATION_PERIOD_SETTING = "EVALUATION_PERIOD";
+
+	/**
+	 * The default value of the EVALUATION_PERIOD property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_EVALUATION_PERIOD = 5;
+
+	/**
+	 * The HEURISTIC_CACHE property used for planner configuration.
+	 */
+	public static final String HEURISTIC_CACHE_SETTING = "HEURISTIC_CACHE";
+
+	/**
+	 * The default value of the HEURISTIC_CACHE property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_HEURISTIC_CACHE = 64;
+
+	/**
+	 * The EXHAUSTIVE_HELPFUL_ACTIONS property used for planner configuration.
+	 */
+	public static final String EXHAUSTIVE_HELPFUL_ACTIONS_SETTING = "EXHAUSTIVE_HELPFUL_ACTIONS";
+
+	/**
+	 * The default value of the EXHAUSTIVE_HELPFUL_ACTIONS property used for planner
+	 * configuration.
+	 */
+	public static final boolean DEFAULT_EXHAUSTIVE_HELPFUL_ACTIONS = false;
+
+	/**
+	 * The ANYTIME property used for planner configuration.
+	 */
+	public static final String ANYTIME_SETTING = "ANYTIME";
+
+	/**
+	 * The default value of the ANYTIME property used for planner
+	 * configuration.
+	 */
+	public static final boolean DEFAULT_ANYTIME = false;
+
+	/**
+	 * The MCTS_MODE property used for planner configuration.
+	 */
+	public static final String MCTS_MODE_SETTING = "MCTS_MODE";
+
+	/**
+	 * The default value of the MCTS_MODE property used for planner
+	 * configuration.
+	 */
+	public static final MctsMode DEFAULT_MCTS_MODE = MctsMode.WALK;
+
+	/**
+	 * The REUSE_WALKS property used for planner configuration.
+	 */
+	public static final String REUSE_WALKS_SETTING = "REUSE_WALKS";
+
+	/**
+	 * The default value of the REUSE_WALKS property used for planner
+	 * configuration.
+	 */
+	public static final boolean DEFAULT_REUSE_WALKS = false;
+
+	/**
+	 * The STEP_HEURISTIC property used for planner configuration.
+	 */
+	public static final String STEP_HEURISTIC_SETTING = "STEP_HEURISTIC";
+
+	/**
+	 * The default value of the STEP_HEURISTIC property used for planner
+	 * configuration.
+	 */
+	public static final StepHeuristic DEFAULT_STEP_HEURISTIC = StepHeuristic.FULL;
+
+	/**
+	 * The TEMPERATURE property used for planner configuration.
+	 */
+	public static final String TEMPERATURE_SETTING = "TEMPERATURE";
+
+	/**
+	 * The default value of the TEMPERATURE property used for planner
+	 * configuration.
+	 */
+	public static final double DEFAULT_TEMPERATURE = 1.0;
+
+	/**
+	 * The WALKS property used for planner configuration.
+	 */
+	public static final String WALKS_SETTING = "WALKS";
+
+	/**
+	 * The default value of the WALKS property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_WALKS = 2000;
+
+	/**
+	 * The MIN_WALKS property used for planner configuration.
+	 */
+	public static final String MIN_WALKS_SETTING = "MIN_WALKS";
+
+	/**
+	 * The default value of the MIN_WALKS property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_MIN_WALKS = 250;
+
+	/**
+	 * The WALK_LENGTH property used for planner configuration.
+	 */
+	public static final String WALK_LENGTH_SETTING = "WALK_LENGTH";
+
+	/**
+	 * The default value of the WALK_LENGTH property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_WALK_LENGTH = 10;
+
+	/**
+	 * The MAX_WALK_LENGTH property used for planner configuration.
+	 */
+	public static final String MAX_WALK_LENGTH_SETTING = "MAX_WALK_LENGTH";
+
+	/**
+	 * The default value of the MAX_WALK_LENGTH property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_MAX_WALK_LENGTH = 160;
+
+	/**
+	 * The MAX_STEPS property used for planner configuration.
+	 */
+	public static final String MAX_STEPS_SETTING = "MAX_STEPS";
+
+	/**
+	 * The default value of the MAX_STEPS property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_MAX_STEPS = 10;
+
+	/**
+	 * The NOGOOD_FILTER property used for planner configuration.
+	 */
+	public static final String NOGOOD_FILTER_SETTING = "NOGOOD_FILTER";
+
+	/**
+	 * The default value of the NOGOOD_FILTER property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_NOGOOD_FILTER = 1;
+
+	/**
+	 * The RESTART_POOL property used for planner configuration.
+	 */
+	public static final String RESTART_POOL_SETTING = "RESTART_POOL";
+
+	/**
+	 * The default value of the RESTART_POOL property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_RESTART_POOL = 8;
+
+	/**
+	 * The RESTART_PROBABILITY property used for planner configuration.
+	 */
+	public static final String RESTART_PROBABILITY_SETTING = "RESTART_PROBABILITY";
+
+	/**
+	 * The default value of the RESTART_PROBABILITY property used for planner
+	 * configuration.
+	 */
+	public static final double DEFAULT_RESTART_PROBABILITY = 0.5;
+
+	/**
+	 * The BEAM_WIDTH property used for planner configuration.
+	 */
+	public static final String BEAM_WIDTH_SETTING = "BEAM_WIDTH";
+
+	/**
+	 * The default value of the BEAM_WIDTH property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_BEAM_WIDTH = 1;
+
+	/**
+	 * The ASTAR_WORKERS property used for planner configuration.
+	 */
+	public static final String ASTAR_WORKERS_SETTING = "ASTAR_WORKERS";
+
+	/**
+	 * The default value of the ASTAR_WORKERS property used for planner
+	 * configuration.
+	 */
+	public static final int DEFAULT_ASTAR_WORKERS = 1;
+
+	/**
+	 * The PRUNE_ACTIONS property used for planner configuration.
+	 */
+	public static final String PRUNE_ACTIONS_SETTING = "PRUNE_ACTIONS";
+
+	/**
+	 * The default value of the PRUNE_ACTIONS property used for planner
+	 * configuration.
+	 */
+	public static final boolean DEFAULT_PRUNE_ACTIONS = true;
+
+	/**
+	 * The PLANNER property used for planner configuration.
+	 */
+	public static final String PLANNER_SETTING = "PLANNER";
+
+	/**
+	 * The default value of the PLANNER property used for planner
+	 * configuration.
+	 */
+	public static final PlannerMode DEFAULT_PLANNER = PlannerMode.MCTS;
+
+	/**
+	 * MDA/MHA: statistics collected by the random walks on the last problem solved
+	 */
+	private WalkStatistics statistics;
+
+	/**
+	 * The number of workers performing the random walks in parallel.
+	 */
+	private int walkWorkers;
+
+	/**
+	 * The workers performing the random walks of the last problem solved.
+	 */
+	private List<WalkWorker> workers;
+
+	/**
+	 * The flag set to cancel the searches running, e.g., when another search of the
+	 * portfolio found a plan.
 	 */
-	private final Map<Integer, Integer> helpfulActionCounts = new HashMap<>(); // Q(a) for MHA
+	private final AtomicBoolean cancelled = new AtomicBoolean(false);
 
 	/**
-	 * Statistics for deciding when to use MDA/MHA
+	 * The filter of the dead ends met by the walk workers or null if it is disabled.
 	 */
-	private int totalRandomWalks = 0;
-	private int deadEndWalks = 0;
-	private double totalBranchingFactor = 0.0;
-	private int branchingFactorSamples = 0;
+	private NogoodFilter nogoods;
+
+	/**
+	 * The pool running the workers when the random walks are performed in parallel.
+	 */
+	private ExecutorService walkPool;
+
+	/**
+	 * The caches of heuristic values created by the search running on each thread, so
+	 * that the searches of the portfolio keep and log their own caches.
+	 */
+	private final ThreadLocal<List<CachedHeuristic>> caches = ThreadLocal.withInitial(ArrayList::new);
 
 	/**
 	 * The weight of the heuristic.
 	 */
 	private double heuristicWeight;
 
-	private StateHeuristic.Name heuristic;
+	private HeuristicName heuristic;
+
+	/**
+	 * The policy defining which states of a random walk are evaluated with the heuristic.
+	 */
+	private EvaluationPolicy evaluation;
+
+	/**
+	 * The number of steps between two evaluations of a random walk with the policy PERIODIC.
+	 */
+	private int evaluationPeriod;
+
+	/**
+	 * The memory budget in MBytes of the caches of heuristic values.
+	 */
+	private int heuristicCache;
+
+	/**
+	 * Whether the helpful actions of MHA are found by evaluating every
+	 * successor of the endpoints of the walks.
+	 */
+	private boolean exhaustiveHelpfulActions;
+
+	/**
+	 * Whether MCTS keeps improving the first plan found until the timeout.
+	 */
+	private boolean anytime;
+
+	/**
+	 * The time in ms at which the current MCTS search must stop.
+	 */
+	private long deadline;
+
+	/**
+	 * The shortest goal node found by the current MCTS search or null.
+	 */
+	private Node incumbent;
+
+	/**
+	 * The Monte Carlo search performed by the planner.
+	 */
+	private MctsMode mctsMode;
+
+	/**
+	 * Whether the walks are retained from one jump of MCTS to the next.
+	 */
+	private boolean reuseWalks;
+
+	/**
+	 * The score of the states reached within a random walk.
+	 */
+	private StepHeuristic stepHeuristic;
+
+	/**
+	 * The scale of the temperatures of the MDA and MHA action sampling.
+	 */
+	private double temperature;
+
+	/**
+	 * The maximum number of random walks of a jump.
+	 */
+	private int walks;
+
+	/**
+	 * The minimum number of random walks of a jump.
+	 */
+	private int minWalks;
+
+	/**
+	 * The initial length of the random walks.
+	 */
+	private int walkLength;
+
+	/**
+	 * The maximum length of the random walks.
+	 */
+	private int maxWalkLength;
+
+	/**
+	 * The number of jumps without progress after which MCTS restarts.
+	 */
+	private int maxSteps;
+
+	/**
+	 * The memory budget in MBytes of the filter of the dead ends met by the random walks.
+	 */
+	private int nogoodFilter;
+
+	/**
+	 * The number of elite nodes kept to restart MCTS from.
+	 */
+	private int restartPool;
+
+	/**
+	 * The probability that MCTS restarts from an elite node rather than from the initial state.
+	 */
+	private double restartProbability;
+
+	/**
+	 * The number of endpoints kept as the frontier of the MCTS jumps.
+	 */
+	private int beamWidth;
+
+	/**
+	 * The number of workers of the A* search.
+	 */
+	private int astarWorkers;
+
+	/**
+	 * Whether the unreachable and irrelevant actions are pruned before the search.
+	 */
+	private boolean pruneActions;
+
+	/**
+	 * The action pruning of the last problem solved.
+	 */
+	private ActionPruning actionPruning;
+
+	/**
+	 * The search engines run by the planner.
+	 */
+	private PlannerMode planner;
+
+	/**
+	 * The successor generator of the last problem solved.
+	 */
+	private SuccessorGenerator successors;
+
+	/**
+	 * The compiled actions of the last problem solved.
+	 */
+	private ActionTable actionTable;
+
+	/**
+	 * The landmarks of the last problem solved with the landmark count.
+	 */
+	private Landmarks landmarks;
 
 	/**
 	 * The name of the heuristic used by the planner.
@@ -132,6 +531,12 @@ public class ASP extends AbstractPlanner {
 	public Problem instantiate(DefaultParsedProblem problem) {
 		final Problem pb = new DefaultProblem(problem);
 		pb.instantiate();
+		if (this.isPruneActions()) {
+			final ActionPruning pruning = this.getActionPruning(pb);
+			final int pruned = pruning.getUnreachable() + pruning.getIrrelevant();
+			LOGGER.info(String.format("* Action pruning: %d of %d actions pruned (%d unreachable, %d irrelevant)%n",
+					pruned, pb.getActions().size(), pruning.getUnreachable(), pruning.getIrrelevant()));
+		}
 		return pb;
 	}
 
@@ -143,20 +548,30 @@ public class ASP extends AbstractPlanner {
 	 */
 	@Override
 	public Plan solve(final Problem problem) {
-		LOGGER.info("* Starting A* search \n");
-		// Search a solution
+		LOGGER.info(String.format("* Starting %s search%n", this.getPlanner()));
+		// Search a solution with the search engines set
 		final long begin = System.currentTimeMillis();
-		// Keep "astar" to solve using astar algoritm or replace "astar"
-		// with "MCTS" to solve using Monte Carlo algorithm
-		final Plan plan = this.MCTS(problem);
+		this.cancelled.set(false);
+		final Plan plan;
+		switch (this.getPlanner()) {
+			case ASTAR:
+				plan = this.astar(problem);
+				break;
+			case PORTFOLIO:
+				plan = this.portfolio(problem);
+				break;
+			default:
+				plan = this.monteCarlo(problem);
+				break;
+		}
 		final long end = System.currentTimeMillis();
 		// If a plan is found update the statistics of the planner
 		// and log search information
 		if (plan != null) {
-			LOGGER.info("* A* search succeeded\n");
+			LOGGER.info(String.format("* %s search succeeded%n", this.getPlanner()));
 			this.getStatistics().setTimeToSearch(end - begin);
 		} else {
-			LOGGER.info("* A* search failed\n");
+			LOGGER.info(String.format("* %s search failed%n", this.getPlanner()));
 		}
 		// Return the plan found or null if the search fails.
 		return plan;
@@ -185,8 +600,8 @@ public class ASP extends AbstractPlanner {
 	 */
 	@CommandLine.Option(names = { "-e",
 			"--heuristic" }, defaultValue = "FAST_FORWARD", description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
-					+ "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX (preset: FAST_FORWARD)")
-	public void setHeuristic(StateHeuristic.Name heuristic) {
+					+ "MAX, FAST_FORWARD, FAST_FORWARD_BITSET, SET_LEVEL, SUM, SUM_MUTEX (preset: FAST_FORWARD)")
+	public void setHeuristic(HeuristicName heuristic) {
 		this.heuristic = heuristic;
 	}
 
@@ -197,7 +612,7 @@ public class ASP extends AbstractPlanner {
 	 * @return the name of the heuristic used by the planner to solve a planning
 	 *         problem.
 	 */
-	public final StateHeuristic.Name getHeuristic() {
+	public final HeuristicName getHeuristic() {
 		return this.heuristic;
 	}
 
@@ -211,15 +626,515 @@ public class ASP extends AbstractPlanner {
 	}
 
 	/**
-	 * Returns the configuration of the planner.
+	 * Sets the number of workers performing the random walks in parallel.
 	 *
-	 * @return the configuration of the planner.
+	 * @param walkWorkers the number of workers. The number of workers must be greater than 0.
+	 * @throws IllegalArgumentException if the number of workers is less than 1.
 	 */
-	@Override
-	public PlannerConfiguration getConfiguration() {
-		final PlannerConfiguration config = super.getConfiguration();
-		config.setProperty(ASP.HEURISTIC_SETTING, this.getHeuristic().toString());
-		config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, Double.toString(this.getHeuristicWeight()));
+	@CommandLine.Option(names = { "-j",
+			"--walk-workers" }, defaultValue = "1", paramLabel = "<workers>", description = "Set the number of threads performing the random walks in parallel (preset 1).")
+	public void setWalkWorkers(final int walkWorkers) {
+		if (walkWorkers < 1) {
+			throw new IllegalArgumentException("Walk workers < 1");
+		}
+		this.walkWorkers = walkWorkers;
+	}
+
+	/**
+	 * Returns the number of workers performing the random walks in parallel.
+	 *
+	 * @return the number of workers performing the random walks in parallel.
+	 */
+	public final int getWalkWorkers() {
+		return this.walkWorkers;
+	}
+
+	/**
+	 * Sets the policy defining which states of a random walk are evaluated with the heuristic.
+	 *
+	 * @param evaluation the evaluation policy.
+	 */
+	@CommandLine.Option(names = { "--evaluation" }, defaultValue = "EVERY_STEP", description = "Set the states of a random walk evaluated with the heuristic : ENDPOINT, PERIODIC, EVERY_STEP (preset: EVERY_STEP)")
+	public void setEvaluation(final EvaluationPolicy evaluation) {
+		this.evaluation = evaluation;
+	}
+
+	/**
+	 * Returns the policy defining which states of a random walk are evaluated with the heuristic.
+	 *
+	 * @return the policy defining which states of a random walk are evaluated with the heuristic.
+	 */
+	public final EvaluationPolicy getEvaluation() {
+		return this.evaluation;
+	}
+
+	/**
+	 * Sets the number of steps between two evaluations of a random walk with the policy PERIODIC.
+	 *
+	 * @param evaluationPeriod the evaluation period. The period must be greater than 0.
+	 * @throws IllegalArgumentException if the period is less than 1.
+	 */
+	@CommandLine.Option(names = { "--evaluation-period" }, defaultValue = "5", paramLabel = "<k>", description = "Set the number of steps between two evaluations of a random walk with the PERIODIC policy (preset 5).")
+	public void setEvaluationPeriod(final int evaluationPeriod) {
+		if (evaluationPeriod < 1) {
+			throw new IllegalArgumentException("Evaluation period < 1");
+		}
+		this.evaluationPeriod = evaluationPeriod;
+	}
+
+	/**
+	 * Returns the number of steps between two evaluations of a random walk with the policy PERIODIC.
+	 *
+	 * @return the number of steps between two evaluations of a random walk with the policy PERIODIC.
+	 */
+	public final int getEvaluationPeriod() {
+		return this.evaluationPeriod;
+	}
+
+	/**
+	 * Sets the memory budget in MBytes of the caches of heuristic values.
+	 *
+	 * @param heuristicCache the memory budget in MBytes. The budget must be greater than or equal to 0.
+	 * @throws IllegalArgumentException if the budget is negative.
+	 */
+	@CommandLine.Option(names = { "--heuristic-cache" }, defaultValue = "64", paramLabel = "<MBytes>", description = "Set the memory budget in MBytes of the caches of heuristic values of the random walks and of UCT, 0 to disable them (preset 64).")
+	public void setHeuristicCache(final int heuristicCache) {
+		if (heuristicCache < 0) {
+			throw new IllegalArgumentException("Heuristic cache < 0");
+		}
+		this.heuristicCache = heuristicCache;
+	}
+
+	/**
+	 * Returns the memory budget in MBytes of the caches of heuristic values.
+	 *
+	 * @return the memory budget in MBytes of the caches of heuristic values.
+	 */
+	public final int getHeuristicCache() {
+		return this.heuristicCache;
+	}
+
+	/**
+	 * Sets whether the helpful actions of MHA are found by evaluating every
+	 * successor of the endpoints of the walks.
+	 *
+	 * @param exhaustiveHelpfulActions <code>true</code> to evaluate every successor of the endpoints.
+	 */
+	@CommandLine.Option(names = { "--exhaustive-mha" }, defaultValue = "false", description = "Find the helpful actions of MHA by evaluating every successor of the walk endpoints instead of using their relaxed plan (preset: false).")
+	public void setExhaustiveHelpfulActions(final boolean exhaustiveHelpfulActions) {
+		this.exhaustiveHelpfulActions = exhaustiveHelpfulActions;
+	}
+
+	/**
+	 * Returns whether the helpful actions of MHA are found by evaluating every
+	 * successor of the endpoints of the walks.
+	 *
+	 * @return whether the helpful actions of MHA are found by evaluating every
+	 *         successor of the endpoints of the walks.
+	 */
+	public final boolean isExhaustiveHelpfulActions() {
+		return this.exhaustiveHelpfulActions;
+	}
+
+	/**
+	 * Sets whether MCTS keeps improving the first plan found until the timeout.
+	 *
+	 * @param anytime <code>true</code> to keep improving the plan found.
+	 */
+	@CommandLine.Option(names = { "--anytime" }, defaultValue = "false", description = "Keep searching for shorter plans with MCTS until the timeout and return the best plan found (preset: false).")
+	public void setAnytime(final boolean anytime) {
+		this.anytime = anytime;
+	}
+
+	/**
+	 * Returns whether MCTS keeps improving the first plan found until the timeout.
+	 *
+	 * @return whether MCTS keeps improving the first plan found until the timeout.
+	 */
+	public final boolean isAnytime() {
+		return this.anytime;
+	}
+
+	/**
+	 * Sets the Monte Carlo search performed by the planner.
+	 *
+	 * @param mctsMode the Monte Carlo search.
+	 */
+	@CommandLine.Option(names = { "--mcts-mode" }, defaultValue = "WALK", description = "Set the Monte Carlo search: WALK (random walks with restarts), UCT (tree search with rollouts) (preset: WALK).")
+	public void setMctsMode(final MctsMode mctsMode) {
+		this.mctsMode = mctsMode;
+	}
+
+	/**
+	 * Returns the Monte Carlo search performed by the planner.
+	 *
+	 * @return the Monte Carlo search performed by the planner.
+	 */
+	public final MctsMode getMctsMode() {
+		return this.mctsMode;
+	}
+
+	/**
+	 * Sets whether the walks are retained from one jump of MCTS to the next.
+	 *
+	 * @param reuseWalks <code>true</code> to retain the walks.
+	 */
+	@CommandLine.Option(names = { "--reuse-walks" }, negatable = true, defaultValue = "false", description = "Retain the walks of MCTS passing through the endpoint it jumps to and reuse them in the next batch of walks (preset: false).")
+	public void setReuseWalks(final boolean reuseWalks) {
+		this.reuseWalks = reuseWalks;
+	}
+
+	/**
+	 * Returns whether the walks are retained from one jump of MCTS to the next.
+	 *
+	 * @return whether the walks are retained from one jump of MCTS to the next.
+	 */
+	public final boolean isReuseWalks() {
+		return this.reuseWalks;
+	}
+
+	/**
+	 * Sets the score of the states reached within a random walk.
+	 *
+	 * @param stepHeuristic the score of the states reached within a random walk.
+	 */
+	@CommandLine.Option(names = { "--step-heuristic" }, defaultValue = "FULL", description = "Set the score of the states reached within a random walk : FULL, GOAL_COUNT, LANDMARK_COUNT (preset: FULL)")
+	public void setStepHeuristic(final StepHeuristic stepHeuristic) {
+		this.stepHeuristic = stepHeuristic;
+	}
+
+	/**
+	 * Returns the score of the states reached within a random walk.
+	 *
+	 * @return the score of the states reached within a random walk.
+	 */
+	public final StepHeuristic getStepHeuristic() {
+		return this.stepHeuristic;
+	}
+
+	/**
+	 * Sets the scale of the temperatures of the MDA and MHA action sampling.
+	 *
+	 * @param temperature the scale of the temperatures. The scale must be greater than or equal to 0.
+	 * @throws IllegalArgumentException if the scale is less than 0.
+	 */
+	@CommandLine.Option(names = { "--temperature" }, defaultValue = "1.0", paramLabel = "<tau>", description = "Set the scale of the temperatures of the MDA and MHA action sampling, 0 to select the best action (preset 1.0).")
+	public void setTemperature(final double temperature) {
+		if (temperature < 0) {
+			throw new IllegalArgumentException("Temperature < 0");
+		}
+		this.temperature = temperature;
+	}
+
+	/**
+	 * Returns the scale of the temperatures of the MDA and MHA action sampling.
+	 *
+	 * @return the scale of the temperatures of the MDA and MHA action sampling.
+	 */
+	public final double getTemperature() {
+		return this.temperature;
+	}
+
+	/**
+	 * Sets the maximum number of random walks of a jump.
+	 *
+	 * @param walks the maximum number of random walks of a jump. The number must be greater than 0.
+	 * @throws IllegalArgumentException if the number of walks is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--walks" }, defaultValue = "2000", paramLabel = "<walks>", description = "Set the maximum number of random walks of an MCTS jump (preset 2000).")
+	public void setWalks(final int walks) {
+		if (walks <= 0) {
+			throw new IllegalArgumentException("Walks <= 0");
+		}
+		this.walks = walks;
+	}
+
+	/**
+	 * Returns the maximum number of random walks of a jump.
+	 *
+	 * @return the maximum number of random walks of a jump.
+	 */
+	public final int getWalks() {
+		return this.walks;
+	}
+
+	/**
+	 * Sets the minimum number of random walks of a jump.
+	 *
+	 * @param minWalks the minimum number of random walks of a jump. The number must be greater than 0.
+	 * @throws IllegalArgumentException if the number of walks is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--min-walks" }, defaultValue = "250", paramLabel = "<walks>", description = "Set the minimum number of random walks of an MCTS jump, reached by halving the walks after every improving jump (preset 250).")
+	public void setMinWalks(final int minWalks) {
+		if (minWalks <= 0) {
+			throw new IllegalArgumentException("Min walks <= 0");
+		}
+		this.minWalks = minWalks;
+	}
+
+	/**
+	 * Returns the minimum number of random walks of a jump.
+	 *
+	 * @return the minimum number of random walks of a jump.
+	 */
+	public final int getMinWalks() {
+		return this.minWalks;
+	}
+
+	/**
+	 * Sets the initial length of the random walks.
+	 *
+	 * @param walkLength the initial length of the random walks. The length must be greater than 0.
+	 * @throws IllegalArgumentException if the length is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--walk-length" }, defaultValue = "10", paramLabel = "<length>", description = "Set the initial length of the random walks of MCTS (preset 10).")
+	public void setWalkLength(final int walkLength) {
+		if (walkLength <= 0) {
+			throw new IllegalArgumentException("Walk length <= 0");
+		}
+		this.walkLength = walkLength;
+	}
+
+	/**
+	 * Returns the initial length of the random walks.
+	 *
+	 * @return the initial length of the random walks.
+	 */
+	public final int getWalkLength() {
+		return this.walkLength;
+	}
+
+	/**
+	 * Sets the maximum length of the random walks.
+	 *
+	 * @param maxWalkLength the maximum length of the random walks. The length must be greater than 0.
+	 * @throws IllegalArgumentException if the length is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--max-walk-length" }, defaultValue = "160", paramLabel = "<length>", description = "Set the maximum length of the random walks of MCTS, reached by doubling the length after every jump without progress (preset 160).")
+	public void setMaxWalkLength(final int maxWalkLength) {
+		if (maxWalkLength <= 0) {
+			throw new IllegalArgumentException("Max walk length <= 0");
+		}
+		this.maxWalkLength = maxWalkLength;
+	}
+
+	/**
+	 * Returns the maximum length of the random walks.
+	 *
+	 * @return the maximum length of the random walks.
+	 */
+	public final int getMaxWalkLength() {
+		return this.maxWalkLength;
+	}
+
+	/**
+	 * Sets the number of jumps without progress after which MCTS restarts.
+	 *
+	 * @param maxSteps the number of jumps without progress. The number must be greater than or equal to 0.
+	 * @throws IllegalArgumentException if the number of jumps is less than 0.
+	 */
+	@CommandLine.Option(names = { "--max-steps" }, defaultValue = "10", paramLabel = "<jumps>", description = "Set the number of MCTS jumps without progress after which the search restarts from the initial state (preset 10).")
+	public void setMaxSteps(final int maxSteps) {
+		if (maxSteps < 0) {
+			throw new IllegalArgumentException("Max steps < 0");
+		}
+		this.maxSteps = maxSteps;
+	}
+
+	/**
+	 * Returns the number of jumps without progress after which MCTS restarts.
+	 *
+	 * @return the number of jumps without progress after which MCTS restarts.
+	 */
+	public final int getMaxSteps() {
+		return this.maxSteps;
+	}
+
+	/**
+	 * Sets the memory budget in MBytes of the filter of the dead ends met by the random walks.
+	 *
+	 * @param nogoodFilter the memory budget in MBytes. The budget must be greater than or equal to 0.
+	 * @throws IllegalArgumentException if the budget is less than 0.
+	 */
+	@CommandLine.Option(names = { "--nogood-filter" }, defaultValue = "1", paramLabel = "<MBytes>", description = "Set the memory budget in MBytes of the Bloom filter of the dead ends met by the random walks, 0 to disable it (preset 1).")
+	public void setNogoodFilter(final int nogoodFilter) {
+		if (nogoodFilter < 0) {
+			throw new IllegalArgumentException("Nogood filter < 0");
+		}
+		this.nogoodFilter = nogoodFilter;
+	}
+
+	/**
+	 * Returns the memory budget in MBytes of the filter of the dead ends met by the random walks.
+	 *
+	 * @return the memory budget in MBytes of the filter of the dead ends met by the random walks.
+	 */
+	public final int getNogoodFilter() {
+		return this.nogoodFilter;
+	}
+
+	/**
+	 * Sets the number of elite nodes kept to restart MCTS from.
+	 *
+	 * @param restartPool the number of elite nodes kept to restart MCTS from. The number must be greater than or equal to 0.
+	 * @throws IllegalArgumentException if the number of nodes is less than 0.
+	 */
+	@CommandLine.Option(names = { "--restart-pool" }, defaultValue = "8", paramLabel = "<nodes>", description = "Set the number of elite nodes MCTS restarts from, 0 to always restart from the initial state (preset 8).")
+	public void setRestartPool(final int restartPool) {
+		if (restartPool < 0) {
+			throw new IllegalArgumentException("Restart pool < 0");
+		}
+		this.restartPool = restartPool;
+	}
+
+	/**
+	 * Returns the number of elite nodes kept to restart MCTS from.
+	 *
+	 * @return the number of elite nodes kept to restart MCTS from.
+	 */
+	public final int getRestartPool() {
+		return this.restartPool;
+	}
+
+	/**
+	 * Sets the probability that MCTS restarts from an elite node rather than from the initial state.
+	 *
+	 * @param restartProbability the probability that MCTS restarts from an elite node. The probability must be in [0, 1].
+	 * @throws IllegalArgumentException if the probability is not in [0, 1].
+	 */
+	@CommandLine.Option(names = { "--restart-probability" }, defaultValue = "0.5", paramLabel = "<p>", description = "Set the probability that MCTS restarts from an elite node rather than from the initial state (preset 0.5).")
+	public void setRestartProbability(final double restartProbability) {
+		if (restartProbability < 0 || restartProbability > 1) {
+			throw new IllegalArgumentException("Restart probability not in [0, 1]");
+		}
+		this.restartProbability = restartProbability;
+	}
+
+	/**
+	 * Returns the probability that MCTS restarts from an elite node rather than from the initial state.
+	 *
+	 * @return the probability that MCTS restarts from an elite node rather than from the initial state.
+	 */
+	public final double getRestartProbability() {
+		return this.restartProbability;
+	}
+
+	/**
+	 * Sets the number of endpoints kept as the frontier of the MCTS jumps.
+	 *
+	 * @param beamWidth the number of endpoints kept as the frontier of the MCTS jumps. The number must be greater than 0.
+	 * @throws IllegalArgumentException if the width is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--beam-width" }, defaultValue = "1", paramLabel = "<width>", description = "Set the number of endpoints kept as the frontier of the MCTS jumps, 1 to commit to the best endpoint of every jump (preset 1).")
+	public void setBeamWidth(final int beamWidth) {
+		if (beamWidth <= 0) {
+			throw new IllegalArgumentException("Beam width <= 0");
+		}
+		this.beamWidth = beamWidth;
+	}
+
+	/**
+	 * Returns the number of endpoints kept as the frontier of the MCTS jumps.
+	 *
+	 * @return the number of endpoints kept as the frontier of the MCTS jumps.
+	 */
+	public final int getBeamWidth() {
+		return this.beamWidth;
+	}
+
+	/**
+	 * Sets the number of workers of the A* search.
+	 *
+	 * @param astarWorkers the number of workers of the A* search. The number must be greater than 0.
+	 * @throws IllegalArgumentException if the number of workers is less than or equal to 0.
+	 */
+	@CommandLine.Option(names = { "--astar-workers" }, defaultValue = "1", paramLabel = "<threads>", description = "Set the number of threads of the A* search, more than 1 to distribute the states between them by hash (HDA*) (preset 1).")
+	public void setAstarWorkers(final int astarWorkers) {
+		if (astarWorkers <= 0) {
+			throw new IllegalArgumentException("Number of A* workers <= 0");
+		}
+		this.astarWorkers = astarWorkers;
+	}
+
+	/**
+	 * Returns the number of workers of the A* search.
+	 *
+	 * @return the number of workers of the A* search.
+	 */
+	public final int getAstarWorkers() {
+		return this.astarWorkers;
+	}
+
+	/**
+	 * Sets whether the unreachable and irrelevant actions are pruned before the search.
+	 *
+	 * @param pruneActions <code>true</code> to prune the actions.
+	 */
+	@CommandLine.Option(names = { "--prune-actions" }, negatable = true, defaultValue = "true", description = "Prune the actions unreachable from the initial state or irrelevant to the goal before the search, --no-prune-actions to disable (preset: true).")
+	public void setPruneActions(final boolean pruneActions) {
+		this.pruneActions = pruneActions;
+	}
+
+	/**
+	 * Returns whether the unreachable and irrelevant actions are pruned before the search.
+	 *
+	 * @return whether the unreachable and irrelevant actions are pruned before the search.
+	 */
+	public final boolean isPruneActions() {
+		return this.pruneActions;
+	}
+
+	/**
+	 * Sets the search engines run by the planner.
+	 *
+	 * @param planner the search engines run by the planner.
+	 */
+	@CommandLine.Option(names = { "--planner" }, defaultValue = "MCTS", description = "Set the search engines: ASTAR, MCTS (random walks or UCT depending on --mcts-mode), PORTFOLIO (A* and MCTS concurrently, the first plan found wins) (preset: MCTS).")
+	public void setPlanner(final PlannerMode planner) {
+		this.planner = planner;
+	}
+
+	/**
+	 * Returns the search engines run by the planner.
+	 *
+	 * @return the search engines run by the planner.
+	 */
+	public final PlannerMode getPlanner() {
+		return this.planner;
+	}
+
+	/**
+	 * Returns the configuration of the planner.
+	 *
+	 * @return the configuration of the planner.
+	 */
+	@Override
+	public PlannerConfiguration getConfiguration() {
+		final PlannerConfiguration config = super.getConfiguration();
+		config.setProperty(ASP.HEURISTIC_SETTING, this.getHeuristic().toString());
+		config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, Double.toString(this.getHeuristicWeight()));
+		config.setProperty(ASP.WALK_WORKERS_SETTING, Integer.toString(this.getWalkWorkers()));
+		config.setProperty(ASP.EVALUATION_SETTING, this.getEvaluation().toString());
+		config.setProperty(ASP.EVALUATION_PERIOD_SETTING, Integer.toString(this.getEvaluationPeriod()));
+		config.setProperty(ASP.HEURISTIC_CACHE_SETTING, Integer.toString(this.getHeuristicCache()));
+		config.setProperty(ASP.EXHAUSTIVE_HELPFUL_ACTIONS_SETTING, Boolean.toString(this.isExhaustiveHelpfulActions()));
+		config.setProperty(ASP.ANYTIME_SETTING, Boolean.toString(this.isAnytime()));
+		config.setProperty(ASP.MCTS_MODE_SETTING, this.getMctsMode().toString());
+		config.setProperty(ASP.REUSE_WALKS_SETTING, Boolean.toString(this.isReuseWalks()));
+		config.setProperty(ASP.STEP_HEURISTIC_SETTING, this.getStepHeuristic().toString());
+		config.setProperty(ASP.TEMPERATURE_SETTING, Double.toString(this.getTemperature()));
+		config.setProperty(ASP.WALKS_SETTING, Integer.toString(this.getWalks()));
+		config.setProperty(ASP.MIN_WALKS_SETTING, Integer.toString(this.getMinWalks()));
+		config.setProperty(ASP.WALK_LENGTH_SETTING, Integer.toString(this.getWalkLength()));
+		config.setProperty(ASP.MAX_WALK_LENGTH_SETTING, Integer.toString(this.getMaxWalkLength()));
+		config.setProperty(ASP.MAX_STEPS_SETTING, Integer.toString(this.getMaxSteps()));
+		config.setProperty(ASP.NOGOOD_FILTER_SETTING, Integer.toString(this.getNogoodFilter()));
+		config.setProperty(ASP.RESTART_POOL_SETTING, Integer.toString(this.getRestartPool()));
+		config.setProperty(ASP.RESTART_PROBABILITY_SETTING, Double.toString(this.getRestartProbability()));
+		config.setProperty(ASP.BEAM_WIDTH_SETTING, Integer.toString(this.getBeamWidth()));
+		config.setProperty(ASP.ASTAR_WORKERS_SETTING, Integer.toString(this.getAstarWorkers()));
+		config.setProperty(ASP.PRUNE_ACTIONS_SETTING, Boolean.toString(this.isPruneActions()));
+		config.setProperty(ASP.PLANNER_SETTING, this.getPlanner().toString());
 		return config;
 	}
 
@@ -236,12 +1151,122 @@ public class ASP extends AbstractPlanner {
 		if (configuration.getProperty(ASP.WEIGHT_HEURISTIC_SETTING) == null) {
 			this.setHeuristicWeight(ASP.DEFAULT_WEIGHT_HEURISTIC);
 		} else {
-			this.setHeuristicWeight(Double.parseDouble(configuration.getProperty(ASP.WEIGHT_HEURISTIC_SETTING)));
+			this.setHeuristicWeight(Double.parseDouble(configuration.getProperty(ASP.WEIGHT_HEURISTIC_SETTING)));
+		}
+		if (configuration.getProperty(ASP.HEURISTIC_SETTING) == null) {
+			this.setHeuristic(ASP.DEFAULT_HEURISTIC);
+		} else {
+			this.setHeuristic(HeuristicName.valueOf(configuration.getProperty(ASP.HEURISTIC_SETTING)));
+		}
+		if (configuration.getProperty(ASP.WALK_WORKERS_SETTING) == null) {
+			this.setWalkWorkers(ASP.DEFAULT_WALK_WORKERS);
+		} else {
+			this.setWalkWorkers(Integer.parseInt(configuration.getProperty(ASP.WALK_WORKERS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.EVALUATION_SETTING) == null) {
+			this.setEvaluation(ASP.DEFAULT_EVALUATION);
+		} else {
+			this.setEvaluation(EvaluationPolicy.valueOf(configuration.getProperty(ASP.EVALUATION_SETTING)));
+		}
+		if (configuration.getProperty(ASP.EVALUATION_PERIOD_SETTING) == null) {
+			this.setEvaluationPeriod(ASP.DEFAULT_EVALUATION_PERIOD);
+		} else {
+			this.setEvaluationPeriod(Integer.parseInt(configuration.getProperty(ASP.EVALUATION_PERIOD_SETTING)));
+		}
+		if (configuration.getProperty(ASP.HEURISTIC_CACHE_SETTING) == null) {
+			this.setHeuristicCache(ASP.DEFAULT_HEURISTIC_CACHE);
+		} else {
+			this.setHeuristicCache(Integer.parseInt(configuration.getProperty(ASP.HEURISTIC_CACHE_SETTING)));
+		}
+		if (configuration.getProperty(ASP.EXHAUSTIVE_HELPFUL_ACTIONS_SETTING) == null) {
+			this.setExhaustiveHelpfulActions(ASP.DEFAULT_EXHAUSTIVE_HELPFUL_ACTIONS);
+		} else {
+			this.setExhaustiveHelpfulActions(Boolean.parseBoolean(configuration.getProperty(ASP.EXHAUSTIVE_HELPFUL_ACTIONS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.ANYTIME_SETTING) == null) {
+			this.setAnytime(ASP.DEFAULT_ANYTIME);
+		} else {
+			this.setAnytime(Boolean.parseBoolean(configuration.getProperty(ASP.ANYTIME_SETTING)));
+		}
+		if (configuration.getProperty(ASP.MCTS_MODE_SETTING) == null) {
+			this.setMctsMode(ASP.DEFAULT_MCTS_MODE);
+		} else {
+			this.setMctsMode(MctsMode.valueOf(configuration.getProperty(ASP.MCTS_MODE_SETTING)));
+		}
+		if (configuration.getProperty(ASP.REUSE_WALKS_SETTING) == null) {
+			this.setReuseWalks(ASP.DEFAULT_REUSE_WALKS);
+		} else {
+			this.setReuseWalks(Boolean.parseBoolean(configuration.getProperty(ASP.REUSE_WALKS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.STEP_HEURISTIC_SETTING) == null) {
+			this.setStepHeuristic(ASP.DEFAULT_STEP_HEURISTIC);
+		} else {
+			this.setStepHeuristic(StepHeuristic.valueOf(configuration.getProperty(ASP.STEP_HEURISTIC_SETTING)));
+		}
+		if (configuration.getProperty(ASP.TEMPERATURE_SETTING) == null) {
+			this.setTemperature(ASP.DEFAULT_TEMPERATURE);
+		} else {
+			this.setTemperature(Double.parseDouble(configuration.getProperty(ASP.TEMPERATURE_SETTING)));
+		}
+		if (configuration.getProperty(ASP.WALKS_SETTING) == null) {
+			this.setWalks(ASP.DEFAULT_WALKS);
+		} else {
+			this.setWalks(Integer.parseInt(configuration.getProperty(ASP.WALKS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.MIN_WALKS_SETTING) == null) {
+			this.setMinWalks(ASP.DEFAULT_MIN_WALKS);
+		} else {
+			this.setMinWalks(Integer.parseInt(configuration.getProperty(ASP.MIN_WALKS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.WALK_LENGTH_SETTING) == null) {
+			this.setWalkLength(ASP.DEFAULT_WALK_LENGTH);
+		} else {
+			this.setWalkLength(Integer.parseInt(configuration.getProperty(ASP.WALK_LENGTH_SETTING)));
+		}
+		if (configuration.getProperty(ASP.MAX_WALK_LENGTH_SETTING) == null) {
+			this.setMaxWalkLength(ASP.DEFAULT_MAX_WALK_LENGTH);
+		} else {
+			this.setMaxWalkLength(Integer.parseInt(configuration.getProperty(ASP.MAX_WALK_LENGTH_SETTING)));
+		}
+		if (configuration.getProperty(ASP.MAX_STEPS_SETTING) == null) {
+			this.setMaxSteps(ASP.DEFAULT_MAX_STEPS);
+		} else {
+			this.setMaxSteps(Integer.parseInt(configuration.getProperty(ASP.MAX_STEPS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.NOGOOD_FILTER_SETTING) == null) {
+			this.setNogoodFilter(ASP.DEFAULT_NOGOOD_FILTER);
+		} else {
+			this.setNogoodFilter(Integer.parseInt(configuration.getProperty(ASP.NOGOOD_FILTER_SETTING)));
 		}
-		if (configuration.getProperty(ASP.HEURISTIC_SETTING) == null) {
-			this.setHeuristic(ASP.DEFAULT_HEURISTIC);
+		if (configuration.getProperty(ASP.RESTART_POOL_SETTING) == null) {
+			this.setRestartPool(ASP.DEFAULT_RESTART_POOL);
+		} else {
+			this.setRestartPool(Integer.parseInt(configuration.getProperty(ASP.RESTART_POOL_SETTING)));
+		}
+		if (configuration.getProperty(ASP.RESTART_PROBABILITY_SETTING) == null) {
+			this.setRestartProbability(ASP.DEFAULT_RESTART_PROBABILITY);
+		} else {
+			this.setRestartProbability(Double.parseDouble(configuration.getProperty(ASP.RESTART_PROBABILITY_SETTING)));
+		}
+		if (configuration.getProperty(ASP.BEAM_WIDTH_SETTING) == null) {
+			this.setBeamWidth(ASP.DEFAULT_BEAM_WIDTH);
 		} else {
-			this.setHeuristic(StateHeuristic.Name.valueOf(configuration.getProperty(ASP.HEURISTIC_SETTING)));
+			this.setBeamWidth(Integer.parseInt(configuration.getProperty(ASP.BEAM_WIDTH_SETTING)));
+		}
+		if (configuration.getProperty(ASP.ASTAR_WORKERS_SETTING) == null) {
+			this.setAstarWorkers(ASP.DEFAULT_ASTAR_WORKERS);
+		} else {
+			this.setAstarWorkers(Integer.parseInt(configuration.getProperty(ASP.ASTAR_WORKERS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.PRUNE_ACTIONS_SETTING) == null) {
+			this.setPruneActions(ASP.DEFAULT_PRUNE_ACTIONS);
+		} else {
+			this.setPruneActions(Boolean.parseBoolean(configuration.getProperty(ASP.PRUNE_ACTIONS_SETTING)));
+		}
+		if (configuration.getProperty(ASP.PLANNER_SETTING) == null) {
+			this.setPlanner(ASP.DEFAULT_PLANNER);
+		} else {
+			this.setPlanner(PlannerMode.valueOf(configuration.getProperty(ASP.PLANNER_SETTING)));
 		}
 	}
 
@@ -255,6 +1280,28 @@ public class ASP extends AbstractPlanner {
 		PlannerConfiguration config = Planner.getDefaultConfiguration();
 		config.setProperty(ASP.HEURISTIC_SETTING, ASP.DEFAULT_HEURISTIC.toString());
 		config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, Double.toString(ASP.DEFAULT_WEIGHT_HEURISTIC));
+		config.setProperty(ASP.WALK_WORKERS_SETTING, Integer.toString(ASP.DEFAULT_WALK_WORKERS));
+		config.setProperty(ASP.EVALUATION_SETTING, ASP.DEFAULT_EVALUATION.toString());
+		config.setProperty(ASP.EVALUATION_PERIOD_SETTING, Integer.toString(ASP.DEFAULT_EVALUATION_PERIOD));
+		config.setProperty(ASP.HEURISTIC_CACHE_SETTING, Integer.toString(ASP.DEFAULT_HEURISTIC_CACHE));
+		config.setProperty(ASP.EXHAUSTIVE_HELPFUL_ACTIONS_SETTING, Boolean.toString(ASP.DEFAULT_EXHAUSTIVE_HELPFUL_ACTIONS));
+		config.setProperty(ASP.ANYTIME_SETTING, Boolean.toString(ASP.DEFAULT_ANYTIME));
+		config.setProperty(ASP.MCTS_MODE_SETTING, ASP.DEFAULT_MCTS_MODE.toString());
+		config.setProperty(ASP.REUSE_WALKS_SETTING, Boolean.toString(ASP.DEFAULT_REUSE_WALKS));
+		config.setProperty(ASP.STEP_HEURISTIC_SETTING, ASP.DEFAULT_STEP_HEURISTIC.toString());
+		config.setProperty(ASP.TEMPERATURE_SETTING, Double.toString(ASP.DEFAULT_TEMPERATURE));
+		config.setProperty(ASP.WALKS_SETTING, Integer.toString(ASP.DEFAULT_WALKS));
+		config.setProperty(ASP.MIN_WALKS_SETTING, Integer.toString(ASP.DEFAULT_MIN_WALKS));
+		config.setProperty(ASP.WALK_LENGTH_SETTING, Integer.toString(ASP.DEFAULT_WALK_LENGTH));
+		config.setProperty(ASP.MAX_WALK_LENGTH_SETTING, Integer.toString(ASP.DEFAULT_MAX_WALK_LENGTH));
+		config.setProperty(ASP.MAX_STEPS_SETTING, Integer.toString(ASP.DEFAULT_MAX_STEPS));
+		config.setProperty(ASP.NOGOOD_FILTER_SETTING, Integer.toString(ASP.DEFAULT_NOGOOD_FILTER));
+		config.setProperty(ASP.RESTART_POOL_SETTING, Integer.toString(ASP.DEFAULT_RESTART_POOL));
+		config.setProperty(ASP.RESTART_PROBABILITY_SETTING, Double.toString(ASP.DEFAULT_RESTART_PROBABILITY));
+		config.setProperty(ASP.BEAM_WIDTH_SETTING, Integer.toString(ASP.DEFAULT_BEAM_WIDTH));
+		config.setProperty(ASP.ASTAR_WORKERS_SETTING, Integer.toString(ASP.DEFAULT_ASTAR_WORKERS));
+		config.setProperty(ASP.PRUNE_ACTIONS_SETTING, Boolean.toString(ASP.DEFAULT_PRUNE_ACTIONS));
+		config.setProperty(ASP.PLANNER_SETTING, ASP.DEFAULT_PLANNER.toString());
 		return config;
 	}
 
@@ -262,13 +1309,46 @@ public class ASP extends AbstractPlanner {
 	 * Checks the planner configuration and returns if the configuration is valid. A
 	 * configuration is valid if (1) the domain and the problem files exist and can
 	 * be read, (2) the timeout is greater than 0, (3) the weight of the heuristic
-	 * is greater than 0 and (4) the heuristic is a not null.
+	 * is greater than 0, (4) the heuristic is a not null, (5) the number of walk
+	 * workers is greater than 0, (6) the evaluation policy is not null, (7) the
+	 * evaluation period is greater than 0, (8) the memory budget of the heuristic
+	 * caches is greater than or equal to 0, (9) the Monte Carlo search is not null,
+	 * (10) the step heuristic is not null, (11) the scale of the temperatures is
+	 * greater than or equal to 0, (12) the maximum number of walks of a jump is
+	 * greater than 0, (13) the minimum number of walks of a jump is greater than 0
+	 * and less than or equal to the maximum, (14) the initial length of the walks
+	 * is greater than 0, (15) the maximum length of the walks is greater than or
+	 * equal to the initial length, (16) the number of jumps without progress before
+	 * a restart is greater than or equal to 0, (17) the memory budget of the filter
+	 * of the dead ends is greater than or equal to 0, (18) the number of elite
+	 * nodes to restart from is greater than or equal to 0, (19) the probability to
+	 * restart from an elite node is in [0, 1], (20) the width of the beam of
+	 * endpoints is greater than 0, (21) the number of workers of the A* search is
+	 * greater than 0 and (22) the search engines are set.
 	 *
 	 * @return <code>true</code> if the configuration is valid <code>false</code>
 	 *         otherwise.
 	 */
 	public boolean hasValidConfiguration() {
-		return super.hasValidConfiguration() && this.getHeuristicWeight() > 0.0 && this.getHeuristic() != null;
+		return super.hasValidConfiguration() && this.getHeuristicWeight() > 0.0 && this.getHeuristic() != null
+				&& this.getWalkWorkers() > 0
+				&& this.getEvaluation() != null
+				&& this.getEvaluationPeriod() > 0
+				&& this.getHeuristicCache() >= 0
+				&& this.getMctsMode() != null
+				&& this.getStepHeuristic() != null
+				&& this.getTemperature() >= 0.0
+				&& this.getWalks() > 0
+				&& this.getMinWalks() > 0 && this.getMinWalks() <= this.getWalks()
+				&& this.getWalkLength() > 0
+				&& this.getMaxWalkLength() >= this.getWalkLength()
+				&& this.getMaxSteps() >= 0
+				&& this.getNogoodFilter() >= 0
+				&& this.getRestartPool() >= 0
+				&& this.getRestartProbability() >= 0.0 && this.getRestartProbability() <= 1.0
+				&& this.getBeamWidth() > 0
+				&& this.getAstarWorkers() > 0
+				&& this.getPlanner() != null;
 	}
 
 	/**
@@ -282,87 +1362,218 @@ public class ASP extends AbstractPlanner {
 	//////////////////////////////////////////////////////////////////////////////////////// 
 	////////////////////////////////////////////////////////////////////////////////////////
 
+	/**
+	 * The share of the maximum heap size that A* may use before it gives up.
+	 */
+	private static final double ASTAR_MEMORY_RATIO = 0.9;
+
+	/**
+	 * The share of its memory budget that A* may use when it runs in the portfolio,
+	 * the rest being left to the Monte Carlo search.
+	 */
+	private static final double PORTFOLIO_ASTAR_SHARE = 0.5;
+
+	/**
+	 * The number of expansions between two checks of the memory used by A*.
+	 */
+	private static final int ASTAR_MEMORY_CHECK = 1024;
+
+	/**
+	 * The share of the maximum heap size that the nodes of A* may use before their
+	 * oldest states are spilled to a file.
+	 */
+	private static final double ASTAR_SPILL_RATIO = 0.5;
+
 	/**
 	 * Search a solution plan for a planning problem using an A* search strategy.
+	 * <p>
+	 * The nodes are kept in a compact store ({@link NodeArena}) holding at most one
+	 * node per state, the best node reaching it found so far, and the open list is a
+	 * bucket queue of node ids ({@link BucketQueue}). A successor reaching a state
+	 * already stored with a lower cost updates the path of the stored node, which is
+	 * pushed again on the open list, so that a state already expanded is reopened.
+	 * The ids left in the open list by such an update are skipped when they are
+	 * polled (lazy deletion). The states whose goal is unreachable in the relaxed
+	 * problem are stored but never pushed. When the nodes use more than a share of
+	 * the maximum heap size, the states of the oldest nodes are spilled to a
+	 * memory-mapped file. The search stops when the timeout expires or the nodes
+	 * and the open list use more than a share of the maximum heap size. The memory
+	 * budget is measured on the structures of A* rather than on the heap used, so
+	 * that a search running concurrently does not stop it. With more than one
+	 * worker, the search is distributed between the workers ({@link #hdaStar}).
+	 * </p>
 	 *
 	 * @param problem the problem to solve.
 	 * @return a plan solution for the problem or null if there is no solution
 	 */
 	public Plan astar(Problem problem) {
+		return this.astar(problem, 1.0);
+	}
+
+	/**
+	 * Search a solution plan for a planning problem using an A* search strategy with
+	 * a share of the memory budget of A*.
+	 *
+	 * @param problem the problem to solve.
+	 * @param share   the share of the memory budget of A* the search may use.
+	 * @return a plan solution for the problem or null if there is no solution
+	 */
+	private Plan astar(final Problem problem, final double share) {
+		if (this.getAstarWorkers() > 1) {
+			return this.hdaStar(problem);
+		}
 
-		// First we create an instance of the heuristic to use to guide the search
-		final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), problem);
+		// First we create an instance of the heuristic to use to guide the search. A*
+		// never evaluates a state twice, so the heuristic is not cached
+		final StateHeuristic heuristic = this.getHeuristic().getInstance(problem);
+
+		// We get the successor generator and the compiled actions of the problem, the buffer
+		// of the applicable actions and the trail of the fluents changed by an action
+		final SuccessorGenerator successors = this.getSuccessorGenerator(problem);
+		final int[] applicable = new int[successors.size()];
+		final ActionTable actions = this.getActionTable(problem);
+		final int[] trail = new int[Math.max(1, actions.getMaxChanges())];
+
+		// We store the nodes compactly and keep the ids of the pending nodes in a bucket
+		// queue ordered by f, the ties being broken in favor of the nodes closer to the goal
+		final NodeArena nodes = new NodeArena(problem.getFluents().size());
+		final BucketQueue open = new BucketQueue();
+		final double weight = this.getHeuristicWeight();
 
-		// We get the initial state from the planning problem
-		final State init = new State(problem.getInitialState());
+		// We load the states of the nodes into a single scratch state, starting with the
+		// initial state from which the root node of the search is created
+		final Node state = new Node(new State(problem.getInitialState()));
+		final int h0 = heuristic.estimate(state, problem.getGoal());
+		final int root = nodes.add(state, -1, -1, 0, h0);
+		if (h0 < Integer.MAX_VALUE) {
+			open.push(root, (int) Math.round(weight * h0), h0);
+		}
+		Plan plan = null;
 
-		// We initialize the closed list of nodes (store the nodes explored)
-		final Set<Node> close = new HashSet<>();
+		// We set the timeout in ms allocated to the search and the memory it may use
+		final long timeout = this.getTimeout() * 1000L;
+		final long begin = System.currentTimeMillis();
+		final Runtime runtime = Runtime.getRuntime();
+		final long memory = (long) (runtime.maxMemory() * ASP.ASTAR_MEMORY_RATIO * share);
+		final long spill = (long) (runtime.maxMemory() * ASP.ASTAR_SPILL_RATIO * share);
+		long expanded = 0;
 
-		// We initialize the opened list to store the pending node according to function
-		// f
-		final double weight = this.getHeuristicWeight();
-		final PriorityQueue<Node> open = new PriorityQueue<>(100, new Comparator<Node>() {
-			public int compare(Node n1, Node n2) {
-				double f1 = weight * n1.getHeuristic() + n1.getCost();
-				double f2 = weight * n2.getHeuristic() + n2.getCost();
-				return Double.compare(f1, f2);
-			}
-		});
+		try {
+			// We start the search
+			while (!open.isEmpty()) {
+
+				// We pop the first node in the pending list open and skip it if a cheaper path
+				// to its state was found since it was pushed
+				final int current = open.pop();
+				final int g = nodes.getCost(current);
+				final int h = nodes.getHeuristic(current);
+				if (g + (int) Math.round(weight * h) != open.getPriority()) {
+					continue;
+				}
 
-		// We create the root node of the tree search
-		final Node root = new Node(init, null, -1, 0, heuristic.estimate(init, problem.getGoal()));
+				// If the goal is satisfied in the current node then extract the search and
+				// return it
+				nodes.load(current, state);
+				if (actions.isGoal(state)) {
+					plan = this.extractPlan(nodes, current, problem);
+					break;
+				}
 
-		// We add the root to the list of pending nodes
-		open.add(root);
-		Plan plan = null;
+				// We check the time and memory budgets of the search, spilling the oldest
+				// states before giving up
+				if (System.currentTimeMillis() - begin >= timeout) {
+					LOGGER.info("* A* search stopped by the timeout\n");
+					break;
+				}
+				if (this.cancelled.get()) {
+					LOGGER.info("* A* search cancelled\n");
+					break;
+				}
+				if (++expanded % ASP.ASTAR_MEMORY_CHECK == 0) {
+					if (nodes.getHeapBytes() + open.getHeapBytes() > spill) {
+						nodes.spill(spill / 2);
+					}
+					if (nodes.getHeapBytes() + open.getHeapBytes() > memory) {
+						LOGGER.info(String.format("* A* search stopped by the memory budget (%d nodes)%n",
+								nodes.size()));
+						break;
+					}
+				}
 
-		// We set the timeout in ms allocated to the search
-		final int timeout = this.getTimeout() * 1000;
-		long time = 0;
-
-		// We start the search
-		while (!open.isEmpty() && plan == null && time < timeout) {
-
-			// We pop the first node in the pending list open
-			final Node current = open.poll();
-			close.add(current);
-
-			// If the goal is satisfied in the current node then extract the search and
-			// return it
-			if (current.satisfy(problem.getGoal())) {
-				return this.extractPlan(current, problem);
-			} else { // Else we try to apply the actions of the problem to the current node
-				for (int i = 0; i < problem.getActions().size(); i++) {
-					// We get the actions of the problem
-					Action a = problem.getActions().get(i);
-					// If the action is applicable in the current node
-					if (a.isApplicable(current)) {
-						Node next = new Node(current);
-						// We apply the effect of the action
-						final List<ConditionalEffect> effects = a.getConditionalEffects();
-						for (ConditionalEffect ce : effects) {
-							if (current.satisfy(ce.getCondition())) {
-								next.apply(ce.getEffect());
-							}
+				// Else we try to apply the actions applicable in the current node
+				final int size = successors.getApplicableActions(state, applicable);
+				for (int k = 0; k < size; k++) {
+					// We apply the effect of the action to the scratch state
+					final int i = applicable[k];
+					final int top = actions.apply(i, state, trail, 0);
+					// We keep the successor only if it is the cheapest path to its state,
+					// reopening the state if it was already expanded
+					final int known = nodes.find(state);
+					if (known < 0) {
+						final int hs = heuristic.estimate(state, problem.getGoal());
+						final int next = nodes.add(state, current, i, g + 1, hs);
+						if (hs < Integer.MAX_VALUE) {
+							open.push(next, g + 1 + (int) Math.round(weight * hs), hs);
 						}
-						// We set the new child node information
-						final double g = current.getCost() + 1;
-						if (!close.contains(next)) {
-							next.setCost(g);
-							next.setParent(current);
-							next.setAction(i);
-							next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
-							open.add(next);
+					} else if (g + 1 < nodes.getCost(known)) {
+						nodes.setPath(known, current, i, g + 1);
+						final int hs = nodes.getHeuristic(known);
+						if (hs < Integer.MAX_VALUE) {
+							open.push(known, g + 1 + (int) Math.round(weight * hs), hs);
 						}
 					}
+					ActionTable.undo(state, trail, top, 0);
 				}
 			}
+		} finally {
+			LOGGER.info(String.format("* A* search: %d nodes expanded, %d states stored, %d states spilled%n",
+					expanded, nodes.size(), nodes.getSpilled()));
+			nodes.close();
 		}
 
 		// Finally, we return the search computed or null if no search was found
 		return plan;
 	}
+
+	/**
+	 * Search a solution plan for a planning problem using a hash-distributed
+	 * parallel A* search with one thread per A* worker. The plan found is optimal if
+	 * the heuristic is admissible and its weight is 1.
+	 *
+	 * @param problem the problem to solve.
+	 * @return a plan solution for the problem or null if there is no solution
+	 */
+	public Plan hdaStar(Problem problem) {
+		// Every worker evaluates the states it owns with its own heuristic, not cached
+		// since a state is evaluated once by its owner
+		final List<StateHeuristic> heuristics = new ArrayList<>(this.getAstarWorkers());
+		for (int w = 0; w < this.getAstarWorkers(); w++) {
+			heuristics.add(this.getHeuristic().getInstance(problem));
+		}
+		final HdaStar search = new HdaStar(problem, this.getSuccessorGenerator(problem),
+				this.getActionTable(problem), heuristics, this.getHeuristicWeight());
+
+		// We create the root node of the search and distribute the search from it
+		final State init = new State(problem.getInitialState());
+		final Node root = new Node(init, null, -1, 0, heuristics.get(0).estimate(init, problem.getGoal()));
+		final long begin = System.currentTimeMillis();
+		final Runtime runtime = Runtime.getRuntime();
+		final Node goal = search.search(root, begin + this.getTimeout() * 1000L,
+				(long) (runtime.maxMemory() * ASP.ASTAR_MEMORY_RATIO), ASP.ASTAR_MEMORY_CHECK, this.cancelled);
+		LOGGER.info(String.format("* HDA* search: %d workers, %d nodes expanded, %d nodes sent, %d states%s%n",
+				this.getAstarWorkers(), search.getExpanded(), search.getSent(), search.size(),
+				search.isOptimal() ? ", optimal" : ""));
+		if (goal == null) {
+			if (search.isOutOfMemory()) {
+				LOGGER.info("* HDA* search stopped by the memory budget\n");
+			} else if (this.cancelled.get()) {
+				LOGGER.info("* HDA* search cancelled\n");
+			} else if (System.currentTimeMillis() - begin >= this.getTimeout() * 1000L) {
+				LOGGER.info("* HDA* search stopped by the timeout\n");
+			}
+		}
+		return goal == null ? null : this.extractPlan(goal, problem);
+	}
 	////////////////////////////////////////////////////////////////////////////////////////
 
 	////////////////////////////////////////////////////////////////////////////////////////
@@ -370,17 +1581,22 @@ public class ASP extends AbstractPlanner {
 	//////////////////////////////////////////////////////////////////////////////////////// 
 	////////////////////////////////////////////////////////////////////////////////////////
 
-	private final int MAX_STEPS = 10;
-	private final double MDA_THRESHOLD = 0.3; // 30% dead-end threshold
-	private final double MHA_THRESHOLD = 100.0; // average branching factor threshold
-	private final int MIN_SAMPLES = 50;
-
-	// Performance optimization: cache action indices
-	private final Map<Action, Integer> actionIndexCache = new HashMap<>();
-
+	/**
+	 * Search a solution plan for a planning problem using Monte Carlo random walks.
+	 * The search stops when the timeout of the planner expires, the running walks
+	 * being cancelled. When the search gets stuck, it restarts either from the
+	 * initial state or, with the restart probability, from a node of the pool of
+	 * the best and most diverse nodes reached so far ({@link RestartPool}). In
+	 * anytime mode, the search restarts after each plan found and goes on until the
+	 * timeout, pruning the walks that cannot lead to a plan shorter than the best
+	 * plan found so far.
+	 *
+	 * @param problem the problem to solve.
+	 * @return the best plan found or null if no plan was found before the timeout.
+	 */
 	public Plan MCTS(Problem problem) {
-		// Initialize the heuristic
-		StateHeuristic heuristic = StateHeuristic.getInstance(getHeuristic(), problem);
+		// Initialize the heuristic, sharing the cache budget with the other walk workers
+		StateHeuristic heuristic = this.createWalkHeuristic(problem);
 
 		// Get the initial state of the problem
 		State initialState = new State(problem.getInitialState());
@@ -388,8 +1604,9 @@ public class ASP extends AbstractPlanner {
 		// Create the goal condition
 		final Goal goal = new Goal(problem.getGoal());
 
-		// Initialize the node associated with the initial state
-		Node currentNode = new Node(initialState, null, -1, 0, 0, heuristic.estimate(initialState, problem.getGoal()));
+		// Initialize the node associated with the initial state, kept to restart from
+		final Node root = new Node(initialState, null, -1, 0, 0, heuristic.estimate(initialState, problem.getGoal()));
+		Node currentNode = root;
 
 		// Get the heuristic value of the current node
 		double minHeuristic = currentNode.getHeuristic();
@@ -397,137 +1614,262 @@ public class ASP extends AbstractPlanner {
 		// Initialize the counter
 		int counter = 0;
 
-		// Keep iterating until the current node satisfies the goal condition
-		while (!currentNode.satisfy(goal)) {
-			// If the counter exceeds the maximum number of iterations or the current node
-			// is a dead end, reset the current node to the initial state and reset the
-			// counter
-			if (counter > MAX_STEPS || DeadEnd(currentNode, problem)) {
-				currentNode = new Node(initialState, null, -1, 0, 0,
-						heuristic.estimate(initialState, problem.getGoal()));
-				counter = 0;
-			}
-
-			// Find the best node from the current node based on the enhanced Monte Carlo
-			// Tree Search algorithm
-			currentNode = findBestNodeEnhanced(currentNode, problem, heuristic);
-			// If the heuristic value of the current node is less than the current minimum
-			// heuristic value, update the minimum heuristic value and reset the counter
-			if (currentNode.getHeuristic() < minHeuristic) {
-				minHeuristic = currentNode.getHeuristic();
-				counter = 0;
-			} else {
-				// If the heuristic value of the current node is not less than the current
-				// minimum heuristic value, increment the counter
-				counter++;
-			}
+		// Initialize the controller of the number and the length of the walks
+		final WalkController controller = new WalkController(this.getMinWalks(), this.getWalks(),
+				this.getWalkLength(), this.getMaxWalkLength());
+		int jumps = 0;
+
+		// Initialize the pool of elite nodes to restart from and the node the search last
+		// restarted from with the lowest heuristic value reached since
+		final RestartPool pool = new RestartPool(this.getRestartPool());
+		final Random random = new Random(ThreadLocalRandom.current().nextLong());
+		Node start = null;
+		double startMin = Double.MAX_VALUE;
+		int poolRestarts = 0;
+		int rootRestarts = 0;
+
+		// Initialize the beam of endpoints the jumps start from, if any
+		final EndpointBeam frontier = this.getBeamWidth() > 1 ? new EndpointBeam(this.getBeamWidth()) : null;
+		if (frontier != null) {
+			frontier.offer(currentNode);
 		}
 
-		// Extract and return the plan from the current node
-		return extractPlan(currentNode, problem);
-	}
-
-	public Node findBestNodeEnhanced(Node currentNode, Problem problem, StateHeuristic heuristic) {
-		// Number of iterations to perform for the Monte Carlo random walk
-		final int NUM_WALK = 2000;
-		// Length of each random walk
-		final int LENGTH_WALK = 10;
-
-		Node minNode = null;
-		// Initialize minimum heuristic value to a very high number
-		double minHeuristic = Double.MAX_VALUE;
-
-		// Check if we should use MDA or MHA
-		boolean useMDA = shouldUseMDA();
-		boolean useMHA = shouldUseMHA();
-
-		// Perform the Monte Carlo random walk numIterations times
-		for (int i = 0; i < NUM_WALK; i++) {
-			totalRandomWalks++;
-
-			// Track actions used in this walk for MDA
-			Set<Integer> actionsInWalk = new HashSet<>();
-			boolean walkHitDeadEnd = false;
+		// We set the time at which the search must stop
+		this.deadline = System.currentTimeMillis() + this.getTimeout() * 1000L;
+		this.incumbent = null;
 
-			// Start the random walk at the current node
-			Node testNode = currentNode;
-
-			// Perform the random walk for walkLength steps
-			for (int j = 0; j < LENGTH_WALK; j++) {
-				// Get a list of applicable actions for the current state
-				List<Action> applicableActions = getActions(testNode, problem);
-
-				// Update branching factor statistics
-				totalBranchingFactor += applicableActions.size();
-				branchingFactorSamples++;
+		try {
+			// Keep iterating until the timeout expires or the search is cancelled
+			while (System.currentTimeMillis() < this.deadline && !this.cancelled.get()) {
+				// If the current node satisfies the goal condition, keep it if it is the best
+				// plan found so far and either stop or restart the search in anytime mode
+				if (currentNode.satisfy(goal)) {
+					if (this.incumbent == null || currentNode.getCost() < this.incumbent.getCost()) {
+						this.incumbent = currentNode;
+						LOGGER.info(String.format("* MCTS found a plan of length %d%n", (int) currentNode.getCost()));
+					}
+					if (!this.isAnytime() || this.incumbent.getCost() <= 1) {
+						break;
+					}
+					counter = this.getMaxSteps() + 1;
+				}
 
-				// Check for dead-end
-				if (applicableActions.isEmpty()) {
-					walkHitDeadEnd = true;
-					deadEndWalks++;
-					break;
+				// If the counter exceeds the maximum number of iterations, the current node
+				// is a dead end or cannot lead to a plan shorter than the best plan found,
+				// restart from an elite node or from the initial state and reset the counter
+				if (counter > this.getMaxSteps() || this.isKnownDeadEnd(currentNode, problem)
+						|| (this.incumbent != null && currentNode.getCost() + 1 >= this.incumbent.getCost())) {
+					// An elite node the search got stuck from again is not worth restarting from
+					if (start != null && startMin >= start.getHeuristic()) {
+						pool.evict(start);
+					}
+					start = null;
+					if (random.nextDouble() < this.getRestartProbability()) {
+						final double bound = this.incumbent == null ? Double.MAX_VALUE : this.incumbent.getCost() - 1;
+						start = pool.draw(random, bound);
+						if (start != null && this.isKnownDeadEnd(start, problem)) {
+							pool.evict(start);
+							start = null;
+						}
+					}
+					if (start != null) {
+						currentNode = start;
+						startMin = Double.MAX_VALUE;
+						poolRestarts++;
+					} else {
+						currentNode = root;
+						rootRestarts++;
+					}
+					counter = 0;
+					controller.reset();
+					if (frontier != null) {
+						frontier.clear();
+						frontier.offer(currentNode);
+					}
 				}
 
-				// Select action based on strategy
-				Action selectedAction;
-				int actionIndex;
-
-				if (useMDA) {
-					// Use MDA strategy - select action with best Q(a) score
-					selectedAction = selectActionMDA(applicableActions, problem);
-					actionIndex = problem.getActions().indexOf(selectedAction);
-				} else if (useMHA) {
-					// Use MHA strategy - prefer helpful actions
-					selectedAction = selectActionMHA(applicableActions, problem, testNode, heuristic);
-					actionIndex = problem.getActions().indexOf(selectedAction);
+				// Find the best node from the current node based on the enhanced Monte Carlo
+				// Tree Search algorithm, and adapt the walks of the next jump to its progress
+				final int walks = controller.getWalks();
+				final int length = controller.getLength();
+				final double h = currentNode.getHeuristic();
+				if (frontier != null) {
+					currentNode = this.findBestNodeBeam(frontier, problem, heuristic, walks, length);
 				} else {
-					// Use pure random selection
-					Collections.shuffle(applicableActions);
-					selectedAction = applicableActions.get(0);
-					actionIndex = problem.getActions().indexOf(selectedAction);
+					currentNode = findBestNodeEnhanced(currentNode, problem, heuristic, walks, length);
 				}
-
-				// Track action for MDA
-				actionsInWalk.add(actionIndex);
-
-				// Get the list of conditional effects for the selected action
-				final List<ConditionalEffect> effects = selectedAction.getConditionalEffects();
-				// Create a new state based on the current node
-				State newState = new State(testNode);
-				// Apply the effects of the selected action to the new state
-				newState.apply(effects);
-				// Create a new child node based on the new state and the current node
-				Node childNode = new Node(newState, testNode, actionIndex,
-						testNode.getCost() + 1, testNode.getDepth() + 1, 0);
-				// Set the heuristic value for the child node
-				childNode.setHeuristic(heuristic.estimate(childNode, problem.getGoal()));
-				// Set the current node to the child node for the next iteration of the inner loop
-				testNode = childNode;
-
-				// If the current node satisfies the goal, update MDA statistics and return
-				if (testNode.satisfy(problem.getGoal())) {
-					updateMDAStatistics(actionsInWalk, false); // successful walk
-					updateMHAStatistics(testNode, problem, heuristic); // update helpful actions
-					return testNode;
+				controller.update(currentNode.getHeuristic() < h);
+				jumps++;
+				LOGGER.debug(String.format("* MCTS jump %d: %d walks of length %d, h %.0f -> %.0f%n", jumps, walks,
+						length, h, currentNode.getHeuristic()));
+				if (!currentNode.satisfy(goal)) {
+					pool.offer(currentNode);
+				}
+				startMin = Math.min(startMin, currentNode.getHeuristic());
+				// If the heuristic value of the current node is less than the current minimum
+				// heuristic value, update the minimum heuristic value and reset the counter
+				if (currentNode.getHeuristic() < minHeuristic) {
+					minHeuristic = currentNode.getHeuristic();
+					counter = 0;
+				} else {
+					// If the heuristic value of the current node is not less than the current
+					// minimum heuristic value, increment the counter
+					counter++;
 				}
 			}
+		} finally {
+			// Release the threads of the parallel walks, if any
+			this.logReusedWalks();
+			this.logNogoods();
+			LOGGER.info(String.format("* MCTS restarts: %d from the restart pool, %d from the initial state%n",
+					poolRestarts, rootRestarts));
+			this.releaseWalkWorkers();
+			this.logHeuristicCaches("MCTS");
+		}
+
+		// Extract and return the best plan found, if any
+		if (this.incumbent == null) {
+			LOGGER.info(this.cancelled.get() ? "* MCTS search cancelled\n" : "* MCTS search stopped by the timeout\n");
+			return null;
+		}
+		return extractPlan(this.incumbent, problem);
+	}
+
+	/**
+	 * Search a solution plan for a planning problem using an Upper Confidence bounds
+	 * applied to Trees (UCT) search. Unlike the random walks of {@link #MCTS}, the
+	 * search keeps every node it expands in a tree whose statistics guide the next
+	 * rollouts, until a plan is found or the timeout expires.
+	 *
+	 * @param problem the problem to solve.
+	 * @return a plan solution for the problem or null if no plan was found before the timeout.
+	 */
+	public Plan UCT(Problem problem) {
+		// Initialize the heuristic and the worker performing the rollouts
+		final StateHeuristic heuristic = this.createHeuristic(problem, 1);
+		final WalkWorker worker = new WalkWorker(problem, this.getSuccessorGenerator(problem),
+				this.getActionTable(problem), heuristic, this.getWalkStatistics(problem),
+				new Random(ThreadLocalRandom.current().nextLong()));
+		worker.setEvaluation(this.getEvaluation(), this.getEvaluationPeriod());
+		worker.setHelpfulActions(this.isExhaustiveHelpfulActions(),
+				this.getHeuristic().isFastForward());
+		worker.setGoalCounter(this.createGoalCounter(problem));
+		worker.setTemperature(this.getTemperature());
+
+		// Create the root of the tree from the initial state of the problem
+		final State initialState = new State(problem.getInitialState());
+		final Node root = new Node(initialState, null, -1, 0, 0, heuristic.estimate(initialState, problem.getGoal()));
+
+		// Grow the tree until a plan is found or the timeout expires
+		final UctSearch search = new UctSearch(problem, this.getSuccessorGenerator(problem), heuristic, worker,
+				new Random(ThreadLocalRandom.current().nextLong()));
+		final Node goal = search.search(root, System.currentTimeMillis() + this.getTimeout() * 1000L, this.cancelled);
+		LOGGER.info(String.format("* UCT tree: %d nodes, %d rollouts%n", search.size(), search.getRollouts()));
+		this.logHeuristicCaches("UCT");
+		return goal == null ? null : this.extractPlan(goal, problem);
+	}
 
-			// Update MDA statistics for this walk
-			updateMDAStatistics(actionsInWalk, walkHitDeadEnd);
+	/**
+	 * Search a solution plan for a planning problem using the Monte Carlo search set
+	 * by the Monte Carlo mode.
+	 *
+	 * @param problem the problem to solve.
+	 * @return a plan solution for the problem or null if no plan was found before the timeout.
+	 */
+	public Plan monteCarlo(Problem problem) {
+		return this.getMctsMode() == MctsMode.UCT ? this.UCT(problem) : this.MCTS(problem);
+	}
 
-			// Update MHA statistics if we have a valid endpoint
-			if (!walkHitDeadEnd) {
-				updateMHAStatistics(testNode, problem, heuristic);
+	/**
+	 * Search a solution plan for a planning problem running A* and the Monte Carlo
+	 * search concurrently, each on its own thread and with the timeout of the
+	 * planner. The first plan found is returned and the other search is cancelled;
+	 * a search failing without a plan leaves the other one running.
+	 *
+	 * @param problem the problem to solve.
+	 * @return the first plan found or null if no search found a plan before the timeout.
+	 */
+	public Plan portfolio(Problem problem) {
+		// Build the structures shared by the searches before they start
+		this.getSuccessorGenerator(problem);
+		this.getActionTable(problem);
+
+		final List<String> names = new ArrayList<>();
+		final List<Callable<Plan>> searches = new ArrayList<>();
+		names.add(this.getAstarWorkers() > 1 ? "HDA*" : "A*");
+		searches.add(() -> this.astar(problem, ASP.PORTFOLIO_ASTAR_SHARE));
+		names.add(this.getMctsMode() == MctsMode.UCT ? "UCT" : "MCTS");
+		searches.add(() -> this.monteCarlo(problem));
+
+		final ExecutorService pool = Executors.newFixedThreadPool(searches.size());
+		final CompletionService<Plan> results = new ExecutorCompletionService<>(pool);
+		final List<Future<Plan>> futures = new ArrayList<>(searches.size());
+		for (Callable<Plan> search : searches) {
+			futures.add(results.submit(search));
+		}
+		Plan plan = null;
+		try {
+			// Wait for the first plan, or for all the searches to fail
+			for (int i = 0; i < searches.size() && plan == null; i++) {
+				final Future<Plan> result = results.take();
+				final String name = names.get(futures.indexOf(result));
+				try {
+					plan = result.get();
+					if (plan != null) {
+						LOGGER.info(String.format("* Portfolio: %s found the plan first%n", name));
+					}
+				} catch (ExecutionException e) {
+					LOGGER.error(String.format("* Portfolio: %s failed: %s%n", name, e.getCause()));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// Cancel the searches still running and wait for them to release their resources
+			this.cancelled.set(true);
+			pool.shutdown();
+			try {
+				pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			}
+			this.cancelled.set(false);
+		}
+		return plan;
+	}
+
+	public Node findBestNodeEnhanced(Node currentNode, Problem problem, StateHeuristic heuristic) {
+		return this.findBestNodeEnhanced(currentNode, problem, heuristic, this.getWalks(), this.getWalkLength());
+	}
 
-			// If the heuristic value of the current node is less than the current minimum
-			// heuristic value, update the minimum node and heuristic value
-			if (testNode.getHeuristic() < minHeuristic) {
-				minNode = testNode;
-				minHeuristic = testNode.getHeuristic();
+	/**
+	 * Performs a batch of random walks from a node and returns the first node
+	 * satisfying the goal they reach, or their endpoint with the minimum heuristic
+	 * value, or the node itself if no walk completed.
+	 *
+	 * @param currentNode the node the walks start from.
+	 * @param problem     the problem to solve.
+	 * @param heuristic   the heuristic used to evaluate the endpoints of the walks.
+	 * @param walkCount   the number of walks to perform.
+	 * @param walkLength  the length of each walk.
+	 * @return the best node reached by the walks.
+	 */
+	public Node findBestNodeEnhanced(Node currentNode, Problem problem, StateHeuristic heuristic, int walkCount,
+			int walkLength) {
+		// The walks cannot be longer than needed to find a plan shorter than the best
+		// plan found so far
+		int length = walkLength;
+		if (this.incumbent != null) {
+			length = (int) Math.min(length, this.incumbent.getCost() - currentNode.getCost() - 1);
+			if (length < 1) {
+				return currentNode;
 			}
 		}
 
+		// The flag raised by the first walk reaching the goal to cancel the other walks
+		final AtomicBoolean stop = new AtomicBoolean(false);
+		final Node minNode = this.performWalks(currentNode, problem, heuristic, walkCount, length, stop, null);
+
 		// If no node was found that satisfies the goal, return the node with the
 		// minimum heuristic value. If no such node was found, return the current node.
 		if (minNode == null) {
@@ -536,6 +1878,126 @@ public class ASP extends AbstractPlanner {
 		return minNode;
 	}
 
+	/**
+	 * Performs a jump from a beam of endpoints: the walks are split between the nodes
+	 * of the beam in inverse proportion to their heuristic values and the best
+	 * distinct endpoints they reach form the next beam. The beam is reduced to its best
+	 * node once this node clearly dominates the others, i.e., the search commits to it.
+	 * The beam is left unchanged if no walk completed.
+	 *
+	 * @param frontier   the beam of endpoints the walks start from, updated by the jump.
+	 * @param problem    the problem to solve.
+	 * @param heuristic  the heuristic used to evaluate the endpoints of the walks.
+	 * @param walkCount  the number of walks to perform.
+	 * @param walkLength the length of each walk.
+	 * @return the first node satisfying the goal reached by the walks or the best node of the beam.
+	 */
+	public Node findBestNodeBeam(EndpointBeam frontier, Problem problem, StateHeuristic heuristic, int walkCount,
+			int walkLength) {
+		final EndpointBeam next = new EndpointBeam(this.getBeamWidth());
+		final AtomicBoolean stop = new AtomicBoolean(false);
+		final int[] shares = new int[frontier.size()];
+		frontier.split(walkCount, shares);
+		for (int i = 0; i < frontier.size() && !stop.get(); i++) {
+			final Node node = frontier.get(i);
+			// The walks cannot be longer than needed to find a plan shorter than the best
+			// plan found so far
+			int length = walkLength;
+			if (this.incumbent != null) {
+				length = (int) Math.min(length, this.incumbent.getCost() - node.getCost() - 1);
+			}
+			if (shares[i] == 0 || length < 1) {
+				continue;
+			}
+			final Node minNode = this.performWalks(node, problem, heuristic, shares[i], length, stop, next);
+			if (minNode != null && minNode.satisfy(problem.getGoal())) {
+				return minNode;
+			}
+			if (minNode != null) {
+				next.offer(minNode);
+			}
+		}
+		if (next.size() > 0) {
+			frontier.copy(next);
+			if (frontier.isDominated()) {
+				frontier.commit();
+			}
+		}
+		return frontier.best();
+	}
+
+	/**
+	 * Performs a batch of random walks from a node, split between the walk workers,
+	 * and returns the first node satisfying the goal they reach or their endpoint with
+	 * the minimum heuristic value.
+	 *
+	 * @param currentNode the node the walks start from.
+	 * @param problem     the problem to solve.
+	 * @param heuristic   the heuristic used to evaluate the endpoints of the walks.
+	 * @param walkCount   the number of walks to perform.
+	 * @param length      the length of each walk.
+	 * @param stop        the flag raised by the first walk reaching the goal.
+	 * @param endpoints   the beam the best endpoints of the walks are offered to or
+	 *                    null if only the best endpoint is needed.
+	 * @return the best node reached by the walks or null if no walk completed.
+	 */
+	private Node performWalks(final Node currentNode, final Problem problem, final StateHeuristic heuristic,
+			final int walkCount, final int length, final AtomicBoolean stop, final EndpointBeam endpoints) {
+		final List<WalkWorker> workers = this.getWalkWorkers(problem, heuristic);
+
+		Node minNode = null;
+		if (workers.size() == 1) {
+			// Perform the walks on the current thread and record them in the shared statistics
+			final WalkWorker worker = workers.get(0);
+			worker.setTask(currentNode, walkCount, length, stop, this.deadline);
+			minNode = worker.call();
+			if (endpoints != null && minNode != null) {
+				worker.getEndpoints(endpoints);
+			}
+		} else {
+			// Split the walks between the workers, each one with its own heuristic,
+			// random generator and statistics
+			for (int w = 0; w < workers.size(); w++) {
+				final int walks = walkCount / workers.size() + (w < walkCount % workers.size() ? 1 : 0);
+				workers.get(w).setTask(currentNode, walks, length, stop, this.deadline);
+			}
+			try {
+				final List<Future<Node>> results = this.walkPool.invokeAll(workers);
+				// Merge the best endpoints of the workers: a node satisfying the goal wins,
+				// otherwise the endpoint with the minimum heuristic value
+				double minHeuristic = Double.MAX_VALUE;
+				for (int w = 0; w < results.size(); w++) {
+					final Node node = results.get(w).get();
+					if (node == null) {
+						continue;
+					}
+					if (node.satisfy(problem.getGoal())) {
+						minNode = node;
+						break;
+					}
+					if (endpoints != null) {
+						workers.get(w).getEndpoints(endpoints);
+					}
+					if (node.getHeuristic() < minHeuristic) {
+						minNode = node;
+						minHeuristic = node.getHeuristic();
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				// The batch is over: merge the statistics of the workers
+				for (WalkWorker worker : workers) {
+					worker.getStatistics().merge();
+				}
+			}
+		}
+
+		return minNode;
+	}
+
 	/**
 	 * Determines if the given node is a dead end in the given problem.
 	 *
@@ -547,11 +2009,31 @@ public class ASP extends AbstractPlanner {
 	 * @return true if the node is a dead end, false otherwise
 	 */
 	public boolean DeadEnd(Node node, Problem problem) {
-		// Get a list of applicable actions for the current state
-		List<Action> applicableActions = getActions(node, problem);
-		// Return true if the list of applicable actions is empty (there are no
-		// actions that can be taken from the current state)
-		return applicableActions.isEmpty();
+		// Return true if there are no actions that can be taken from the current state
+		return !this.getSuccessorGenerator(problem).hasApplicableAction(node);
+	}
+
+	/**
+	 * Returns whether a node is a dead end or was recorded as a dead end by the walk
+	 * workers. A dead end found here is recorded in the filter of the dead ends.
+	 *
+	 * @param node    the node.
+	 * @param problem the problem.
+	 * @return <code>true</code> if the node is a known dead end, <code>false</code> otherwise.
+	 */
+	private boolean isKnownDeadEnd(final Node node, final Problem problem) {
+		if (this.nogoods == null) {
+			return this.DeadEnd(node, problem);
+		}
+		final long key = this.nogoods.key(node);
+		if (this.nogoods.contains(key) && !node.satisfy(problem.getGoal())) {
+			return true;
+		}
+		if (this.DeadEnd(node, problem) || node.getHeuristic() >= Integer.MAX_VALUE) {
+			this.nogoods.add(key);
+			return true;
+		}
+		return false;
 	}
 
 	/**
@@ -562,151 +2044,272 @@ public class ASP extends AbstractPlanner {
 	 * @param problem the problem the node belongs to
 	 * @return a list of applicable actions
 	 */
-	public static List<Action> getActions(Node node, Problem problem) {
-		// Initialize an empty list of applicable actions
-		List<Action> applicableActions = new ArrayList<>();
-		// Iterate through all actions in the problem
-		for (Action action : problem.getActions()) {
-			// If the action is applicable for the given node, add it to the list of
-			// applicable actions
-			if (action.isApplicable(node)) {
-				applicableActions.add(action);
-			}
-		}
-		return applicableActions;
+	public List<Action> getActions(Node node, Problem problem) {
+		// Query the precondition index of the problem instead of testing every action
+		return this.getSuccessorGenerator(problem).getApplicableActions(node);
 	}
 
 	/**
-	 * Check if MDA should be used (more than 50% of walks hit dead-ends)
+	 * Creates an instance of the heuristic of the Monte Carlo searches for a
+	 * specified problem. Unless the caches are disabled, the heuristic is put behind
+	 * a cache of heuristic values sized from a share of the memory budget of the
+	 * caches. A* does not use this method: it evaluates every state once.
+	 *
+	 * @param problem the problem.
+	 * @param shares  the number of heuristics sharing the memory budget of the caches.
+	 * @return the heuristic.
 	 */
-	private boolean shouldUseMDA() {
-		if (totalRandomWalks < 100)
-			return false;
-		return (double) deadEndWalks / totalRandomWalks > MDA_THRESHOLD;
+	protected StateHeuristic createHeuristic(final Problem problem, final int shares) {
+		final StateHeuristic heuristic = this.getHeuristic().getInstance(problem);
+		if (this.getHeuristicCache() == 0) {
+			return heuristic;
+		}
+		final CachedHeuristic cache = new CachedHeuristic(heuristic,
+				this.getHeuristicCache() * 1024L * 1024L / shares);
+		this.caches.get().add(cache);
+		return cache;
 	}
 
 	/**
-	 * Check if MHA should be used (average branching factor > 1000)
+	 * Creates an instance of the heuristic of a walk worker for a specified problem.
+	 * With Fast Forward, unless the helpful actions are found exhaustively, the
+	 * walks evaluate their states with the relaxed planning graph of their worker,
+	 * so that the heuristic is not cached.
+	 *
+	 * @param problem the problem.
+	 * @return the heuristic.
 	 */
-	private boolean shouldUseMHA() {
-		if (branchingFactorSamples < 100)
-			return false; // Need some samples first
-		return totalBranchingFactor / branchingFactorSamples > MHA_THRESHOLD;
+	private StateHeuristic createWalkHeuristic(final Problem problem) {
+		if (this.getHeuristic().isFastForward() && !this.isExhaustiveHelpfulActions()) {
+			return this.getHeuristic().getInstance(problem);
+		}
+		return this.createHeuristic(problem, this.getWalkWorkers());
 	}
 
 	/**
-	 * Select action using MDA strategy
+	 * Logs the hit rate of the caches of heuristic values created by the search
+	 * running on the current thread and forgets them.
+	 *
+	 * @param search the name of the search.
 	 */
-	private Action selectActionMDA(List<Action> applicableActions, Problem problem) {
-		Action bestAction = null;
-		double bestScore = Double.NEGATIVE_INFINITY;
-
-		for (Action action : applicableActions) {
-			int actionIndex = problem.getActions().indexOf(action);
-			double score = getMDAScore(actionIndex);
-
-			if (score > bestScore) {
-				bestScore = score;
-				bestAction = action;
-			}
+	private void logHeuristicCaches(final String search) {
+		final List<CachedHeuristic> caches = this.caches.get();
+		if (caches.isEmpty()) {
+			return;
 		}
-
-		// If all actions have the same score, select randomly
-		if (bestAction == null) {
-			Collections.shuffle(applicableActions);
-			bestAction = applicableActions.get(0);
+		long hits = 0;
+		long misses = 0;
+		for (CachedHeuristic cache : caches) {
+			hits += cache.getHits();
+			misses += cache.getMisses();
 		}
-
-		return bestAction;
+		caches.clear();
+		final long total = hits + misses;
+		LOGGER.info(String.format("* %s heuristic cache: %d hits, %d misses (hit rate %.1f%%)%n", search, hits,
+				misses, total == 0 ? 0.0 : 100.0 * hits / total));
 	}
 
 	/**
-	 * Select action using MHA strategy
+	 * Logs the number of dead ends recorded in the filter of the dead ends and the
+	 * number of walks it cut.
 	 */
-	private Action selectActionMHA(List<Action> applicableActions, Problem problem, Node node,
-			StateHeuristic heuristic) {
-		List<Action> helpfulActions = new ArrayList<>();
-
-		for (Action action : applicableActions) {
-			int actionIndex = problem.getActions().indexOf(action);
-			if (helpfulActionCounts.getOrDefault(actionIndex, 0) > 0) {
-				helpfulActions.add(action);
-			}
+	private void logNogoods() {
+		if (this.workers == null || this.nogoods == null) {
+			return;
 		}
-
-		// If we have helpful actions, select the most helpful one
-		if (!helpfulActions.isEmpty()) {
-			Action bestAction = null;
-			int maxHelpfulCount = 0;
-
-			for (Action action : helpfulActions) {
-				int actionIndex = problem.getActions().indexOf(action);
-				int count = helpfulActionCounts.getOrDefault(actionIndex, 0);
-				if (count > maxHelpfulCount) {
-					maxHelpfulCount = count;
-					bestAction = action;
-				}
-			}
-
-			if (bestAction != null) {
-				return bestAction;
-			}
+		long hits = 0;
+		for (WalkWorker worker : this.workers) {
+			hits += worker.getNogoodHits();
 		}
+		LOGGER.info(String.format("* Nogood filter: %d dead ends recorded, %d walks cut%n",
+				this.nogoods.getRecorded(), hits));
+	}
 
-		// Fall back to random selection
-		Collections.shuffle(applicableActions);
-		return applicableActions.get(0);
+	/**
+	 * Logs the number of retained walks that seeded the batches of the walk workers.
+	 */
+	private void logReusedWalks() {
+		if (this.workers == null || !this.isReuseWalks()) {
+			return;
+		}
+		long reused = 0;
+		for (WalkWorker worker : this.workers) {
+			reused += worker.getReusedSamples();
+		}
+		LOGGER.info(String.format("* MCTS reused %d retained walks%n", reused));
 	}
 
 	/**
-	 * Calculate MDA score for an action: Q(a) = -F(a)/(S(a) + F(a))
+	 * Returns the action pruning of a specified problem. The pruning is computed once
+	 * per problem.
+	 *
+	 * @param problem the problem.
+	 * @return the action pruning of the problem.
 	 */
-	private double getMDAScore(int actionIndex) {
-		int successful = successfulWalks.getOrDefault(actionIndex, 0);
-		int failed = failedWalks.getOrDefault(actionIndex, 0);
+	protected ActionPruning getActionPruning(final Problem problem) {
+		if (this.actionPruning == null || this.actionPruning.getProblem() != problem) {
+			this.actionPruning = new ActionPruning(problem);
+		}
+		return this.actionPruning;
+	}
 
-		if (successful + failed == 0) {
-			return 0.0;
+	/**
+	 * Returns the successor generator of a specified problem. The generator is built
+	 * once per problem and reused by all the searches on this problem. It indexes only
+	 * the actions kept by the action pruning if the pruning is enabled.
+	 *
+	 * @param problem the problem.
+	 * @return the successor generator of the problem.
+	 */
+	protected SuccessorGenerator getSuccessorGenerator(final Problem problem) {
+		if (this.successors == null || this.successors.getProblem() != problem) {
+			this.successors = this.isPruneActions()
+					? new SuccessorGenerator(problem, this.getActionPruning(problem).getKept())
+					: new SuccessorGenerator(problem);
 		}
+		return this.successors;
+	}
 
-		return -(double) failed / (successful + failed);
+	/**
+	 * Returns the compiled actions of a specified problem. The table is built once per
+	 * problem and reused by all the searches on this problem.
+	 *
+	 * @param problem the problem.
+	 * @return the compiled actions of the problem.
+	 */
+	protected ActionTable getActionTable(final Problem problem) {
+		if (this.actionTable == null || this.actionTable.getProblem() != problem) {
+			this.actionTable = new ActionTable(problem);
+		}
+		return this.actionTable;
 	}
 
 	/**
-	 * Update MDA statistics after a walk
+	 * Returns the landmarks of a specified problem. The landmarks are computed once
+	 * per problem and shared by all the walk workers.
+	 *
+	 * @param problem the problem.
+	 * @return the landmarks of the problem.
 	 */
-	private void updateMDAStatistics(Set<Integer> actionsInWalk, boolean walkFailed) {
-		for (int actionIndex : actionsInWalk) {
-			if (walkFailed) {
-				failedWalks.put(actionIndex, failedWalks.getOrDefault(actionIndex, 0) + 1);
-			} else {
-				successfulWalks.put(actionIndex, successfulWalks.getOrDefault(actionIndex, 0) + 1);
-			}
+	protected Landmarks getLandmarks(final Problem problem) {
+		if (this.landmarks == null || this.landmarks.getProblem() != problem) {
+			this.landmarks = new Landmarks(problem);
+			LOGGER.info(String.format("* %d landmarks found%n", this.landmarks.size()));
 		}
+		return this.landmarks;
 	}
 
 	/**
-	 * Update MHA statistics - identify helpful actions at endpoint
+	 * Creates the counter scoring the states reached within the random walks of a
+	 * worker, as defined by the step heuristic of the planner.
+	 *
+	 * @param problem the problem.
+	 * @return the counter or null if the states are evaluated with the heuristic.
 	 */
-	private void updateMHAStatistics(Node endpoint, Problem problem, StateHeuristic heuristic) {
+	private GoalCounter createGoalCounter(final Problem problem) {
+		switch (this.getStepHeuristic()) {
+			case GOAL_COUNT:
+				return new GoalCounter(problem, null);
+			case LANDMARK_COUNT:
+				return new GoalCounter(problem, this.getLandmarks(problem));
+			default:
+				return null;
+		}
+	}
 
-		List<Action> applicableActions = getActions(endpoint, problem);
+	/**
+	 * Returns the MDA/MHA statistics collected by the random walks on a specified
+	 * problem. The statistics are kept from one search to the next on the same
+	 * problem.
+	 *
+	 * @param problem the problem.
+	 * @return the statistics collected by the random walks on the problem.
+	 */
+	protected WalkStatistics getWalkStatistics(final Problem problem) {
+		if (this.statistics == null || this.statistics.getProblem() != problem) {
+			this.statistics = new WalkStatistics(problem);
+		}
+		return this.statistics;
+	}
 
-		for (Action action : applicableActions) {
-			State newState = new State(endpoint);
-			final List<ConditionalEffect> effects = action.getConditionalEffects();
-			for (ConditionalEffect ce : effects) {
-				if (endpoint.satisfy(ce.getCondition())) {
-					newState.apply(ce.getEffect());
+	/**
+	 * Returns the workers performing the random walks on a specified problem. The
+	 * workers are created once per problem: a single worker recording its walks in
+	 * the shared statistics, or one worker per thread of the walk pool, each with its
+	 * own heuristic instance, random generator and statistics merged after every
+	 * batch.
+	 *
+	 * @param problem   the problem.
+	 * @param heuristic the heuristic used by the first worker.
+	 * @return the workers performing the random walks on the problem.
+	 */
+	private List<WalkWorker> getWalkWorkers(final Problem problem, final StateHeuristic heuristic) {
+		if (this.workers == null || this.workers.get(0).getHeuristic() != heuristic) {
+			final SuccessorGenerator successors = this.getSuccessorGenerator(problem);
+			final ActionTable actions = this.getActionTable(problem);
+			final WalkStatistics statistics = this.getWalkStatistics(problem);
+			this.workers = new ArrayList<>();
+			if (this.getWalkWorkers() == 1) {
+				this.workers.add(new WalkWorker(problem, successors, actions, heuristic, statistics,
+						new Random(ThreadLocalRandom.current().nextLong())));
+				this.workers.get(0).setEvaluation(this.getEvaluation(), this.getEvaluationPeriod());
+			} else {
+				for (int w = 0; w < this.getWalkWorkers(); w++) {
+					final StateHeuristic h = w == 0 ? heuristic : this.createWalkHeuristic(problem);
+					this.workers.add(new WalkWorker(problem, successors, actions, h, new WalkStatistics(statistics),
+							new Random(ThreadLocalRandom.current().nextLong())));
+					this.workers.get(w).setEvaluation(this.getEvaluation(), this.getEvaluationPeriod());
+				}
+				if (this.walkPool == null) {
+					this.walkPool = new ForkJoinPool(this.getWalkWorkers());
 				}
 			}
-
-			double newHeuristic = heuristic.estimate(newState, problem.getGoal());
-			if (newHeuristic < endpoint.getHeuristic()) {
-				int actionIndex = problem.getActions().indexOf(action);
-				helpfulActionCounts.put(actionIndex, helpfulActionCounts.getOrDefault(actionIndex, 0) + 1);
+			final boolean fastForward = this.getHeuristic().isFastForward();
+			this.nogoods = this.getNogoodFilter() == 0 ? null : new NogoodFilter(problem,
+					this.getNogoodFilter() * 1024L * 1024L);
+			for (WalkWorker worker : this.workers) {
+				worker.setHelpfulActions(this.isExhaustiveHelpfulActions(), fastForward);
+				worker.setSampleReuse(this.isReuseWalks());
+				worker.setGoalCounter(this.createGoalCounter(problem));
+				worker.setTemperature(this.getTemperature());
+				worker.setNogoodFilter(this.nogoods);
+				worker.setBeamWidth(this.getBeamWidth() > 1 ? this.getBeamWidth() : 0);
 			}
 		}
+		return this.workers;
+	}
+
+	/**
+	 * Releases the workers performing the random walks and their pool.
+	 */
+	private void releaseWalkWorkers() {
+		this.workers = null;
+		this.nogoods = null;
+		if (this.walkPool != null) {
+			this.walkPool.shutdownNow();
+			this.walkPool = null;
+		}
+	}
+
+	/**
+	 * Forgets the state kept from the last problem solved: the MDA/MHA statistics of
+	 * the walks, the walk workers, the dead ends, the action pruning, the successor
+	 * generator, the compiled actions, the landmarks, the caches of heuristic values
+	 * of the current thread and the best plan found. The settings of the planner are
+	 * left unchanged. A planner solving a stream of unrelated problems is reset
+	 * between two problems so that it does not hold the structures of the previous
+	 * one.
+	 */
+	public void reset() {
+		this.releaseWalkWorkers();
+		this.statistics = null;
+		this.actionPruning = null;
+		this.successors = null;
+		this.actionTable = null;
+		this.landmarks = null;
+		this.caches.get().clear();
+		this.incumbent = null;
+		this.cancelled.set(false);
 	}
 
 	///////////////////////////////////////////////////////////////////////
@@ -729,10 +2332,27 @@ public class ASP extends AbstractPlanner {
 		return plan;
 	}
 
+	/**
+	 * Extracts the plan reaching a node of the compact store of A*.
+	 *
+	 * @param nodes   the store of the nodes.
+	 * @param node    the id of the node.
+	 * @param problem the problem.
+	 * @return the plan reaching the node.
+	 */
+	private Plan extractPlan(final NodeArena nodes, final int node, final Problem problem) {
+		final Plan plan = new SequentialPlan();
+		for (int n = node; nodes.getAction(n) != -1; n = nodes.getParent(n)) {
+			plan.add(0, problem.getActions().get(nodes.getAction(n)));
+		}
+		return plan;
+	}
+
 	public static void main(String[] args) {
 		try {
 			final ASP planner = new ASP();
 			CommandLine cmd = new CommandLine(planner);
+			cmd.setCaseInsensitiveEnumValuesAllowed(true);
 			planner.setTimeout(1000);
 			cmd.execute(args);
 		} catch (IllegalArgumentException e) {
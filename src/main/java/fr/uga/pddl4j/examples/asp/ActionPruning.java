@@ -0,0 +1,308 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class implements the pruning of the actions of a problem that cannot be part
+ * of a plan, computed once per problem before the search.
+ * <p>
+ * An action is unreachable if its precondition cannot hold in any state reachable
+ * from the initial state in the relaxed problem, i.e., ignoring the negative fluents
+ * and the delete effects. A conditional effect is reachable if its action is
+ * reachable and its condition can hold in the relaxed problem.
+ * </p>
+ * <p>
+ * An action is irrelevant if none of its reachable effects adds a fluent that is
+ * positively relevant nor deletes a fluent that is negatively relevant. The fluents
+ * of the goal are relevant with their sign and the fluents of the precondition of a
+ * relevant action are relevant with their sign. The fluents of the conditions of the
+ * effects of a relevant action are relevant with both signs, since changing them may
+ * trigger a delete effect. Removing the irrelevant actions from a plan leaves a plan.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class ActionPruning {
+
+    /**
+     * The problem the pruning was computed for.
+     */
+    private final Problem problem;
+
+    /**
+     * The actions kept, in increasing order.
+     */
+    private final int[] kept;
+
+    /**
+     * The number of unreachable actions.
+     */
+    private final int unreachable;
+
+    /**
+     * The number of reachable but irrelevant actions.
+     */
+    private final int irrelevant;
+
+    /**
+     * Computes the pruning of the actions of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public ActionPruning(final Problem problem) {
+        this.problem = problem;
+        final List<Action> actions = problem.getActions();
+        final boolean[] reachable = ActionPruning.reachable(problem);
+        final boolean[] relevant = ActionPruning.relevant(problem, reachable);
+        final int[] kept = new int[actions.size()];
+        int size = 0;
+        int unreachable = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            if (!reachable[a]) {
+                unreachable++;
+            } else if (relevant[a]) {
+                kept[size++] = a;
+            }
+        }
+        this.kept = Arrays.copyOf(kept, size);
+        this.unreachable = unreachable;
+        this.irrelevant = actions.size() - size - unreachable;
+    }
+
+    /**
+     * Returns the problem the pruning was computed for.
+     *
+     * @return the problem the pruning was computed for.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the actions kept, in increasing order.
+     *
+     * @return the actions kept.
+     */
+    public int[] getKept() {
+        return this.kept.clone();
+    }
+
+    /**
+     * Returns the number of unreachable actions.
+     *
+     * @return the number of unreachable actions.
+     */
+    public int getUnreachable() {
+        return this.unreachable;
+    }
+
+    /**
+     * Returns the number of reachable but irrelevant actions.
+     *
+     * @return the number of reachable but irrelevant actions.
+     */
+    public int getIrrelevant() {
+        return this.irrelevant;
+    }
+
+    /**
+     * Computes the actions reachable from the initial state in the relaxed problem.
+     * Every action and every conditional effect waits for the number of fluents of
+     * its precondition or condition not reached yet, the effects also waiting for
+     * their action, and the fluents are reached in breadth-first order.
+     *
+     * @param problem the problem.
+     * @return whether each action is reachable.
+     */
+    private static boolean[] reachable(final Problem problem) {
+        final List<Action> actions = problem.getActions();
+        final int fluents = problem.getFluents().size();
+
+        // Index the actions and the effects by the fluents they wait for
+        final List<List<Integer>> waiting = new ArrayList<>(fluents);
+        for (int f = 0; f < fluents; f++) {
+            waiting.add(new ArrayList<>());
+        }
+        final List<int[]> adds = new ArrayList<>();
+        final List<Integer> owners = new ArrayList<>();
+        final int[] missing = new int[actions.size()];
+        final List<Integer> effectMissing = new ArrayList<>();
+        for (int a = 0; a < actions.size(); a++) {
+            final int[] pre = SuccessorGenerator.toArray(actions.get(a).getPrecondition().getPositiveFluents());
+            missing[a] = pre.length;
+            for (int f : pre) {
+                waiting.get(f).add(a);
+            }
+            for (ConditionalEffect ce : actions.get(a).getConditionalEffects()) {
+                final int e = adds.size();
+                final int[] condition = SuccessorGenerator.toArray(ce.getCondition().getPositiveFluents());
+                adds.add(SuccessorGenerator.toArray(ce.getEffect().getPositiveFluents()));
+                owners.add(a);
+                effectMissing.add(condition.length + 1);
+                for (int f : condition) {
+                    waiting.get(f).add(actions.size() + e);
+                }
+            }
+        }
+        final int[] effectStart = new int[actions.size() + 1];
+        for (int e = 0; e < owners.size(); e++) {
+            effectStart[owners.get(e) + 1]++;
+        }
+        for (int a = 0; a < actions.size(); a++) {
+            effectStart[a + 1] += effectStart[a];
+        }
+
+        // Propagate the fluents of the initial state
+        final boolean[] reached = new boolean[fluents];
+        final boolean[] reachable = new boolean[actions.size()];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        final int[] init = SuccessorGenerator.toArray(problem.getInitialState().getPositiveFluents());
+        for (int f : init) {
+            reached[f] = true;
+            queue.add(f);
+        }
+        final Deque<Integer> ready = new ArrayDeque<>();
+        for (int a = 0; a < actions.size(); a++) {
+            if (missing[a] == 0) {
+                ready.add(a);
+            }
+        }
+        while (!ready.isEmpty() || !queue.isEmpty()) {
+            while (!ready.isEmpty()) {
+                final int unit = ready.poll();
+                if (unit < actions.size()) {
+                    // The action is reachable: its effects stop waiting for it
+                    reachable[unit] = true;
+                    for (int e = effectStart[unit]; e < effectStart[unit + 1]; e++) {
+                        if (ActionPruning.decrement(effectMissing, e)) {
+                            ready.add(actions.size() + e);
+                        }
+                    }
+                } else {
+                    // The effect is reachable: its fluents are reached
+                    for (int f : adds.get(unit - actions.size())) {
+                        if (!reached[f]) {
+                            reached[f] = true;
+                            queue.add(f);
+                        }
+                    }
+                }
+            }
+            if (!queue.isEmpty()) {
+                for (int unit : waiting.get(queue.poll())) {
+                    if (unit < actions.size() ? --missing[unit] == 0
+                        : ActionPruning.decrement(effectMissing, unit - actions.size())) {
+                        ready.add(unit);
+                    }
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Decrements the number of fluents an effect waits for.
+     *
+     * @param missing the number of fluents each effect waits for.
+     * @param effect  the index of the effect.
+     * @return <code>true</code> if the effect does not wait anymore, <code>false</code> otherwise.
+     */
+    private static boolean decrement(final List<Integer> missing, final int effect) {
+        final int value = missing.get(effect) - 1;
+        missing.set(effect, value);
+        return value == 0;
+    }
+
+    /**
+     * Computes the reachable actions relevant to the goal by iterating over the
+     * actions until no fluent becomes relevant.
+     *
+     * @param problem   the problem.
+     * @param reachable whether each action is reachable.
+     * @return whether each action is relevant.
+     */
+    private static boolean[] relevant(final Problem problem, final boolean[] reachable) {
+        final List<Action> actions = problem.getActions();
+        final int fluents = problem.getFluents().size();
+        final boolean[] positive = new boolean[fluents];
+        final boolean[] negative = new boolean[fluents];
+        for (int f : SuccessorGenerator.toArray(problem.getGoal().getPositiveFluents())) {
+            positive[f] = true;
+        }
+        for (int f : SuccessorGenerator.toArray(problem.getGoal().getNegativeFluents())) {
+            negative[f] = true;
+        }
+        final boolean[] relevant = new boolean[actions.size()];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int a = 0; a < actions.size(); a++) {
+                if (relevant[a] || !reachable[a] || !ActionPruning.contributes(actions.get(a), positive, negative)) {
+                    continue;
+                }
+                relevant[a] = true;
+                changed = true;
+                final Action action = actions.get(a);
+                ActionPruning.mark(SuccessorGenerator.toArray(action.getPrecondition().getPositiveFluents()), positive);
+                ActionPruning.mark(SuccessorGenerator.toArray(action.getPrecondition().getNegativeFluents()), negative);
+                for (ConditionalEffect ce : action.getConditionalEffects()) {
+                    final int[] pos = SuccessorGenerator.toArray(ce.getCondition().getPositiveFluents());
+                    final int[] neg = SuccessorGenerator.toArray(ce.getCondition().getNegativeFluents());
+                    ActionPruning.mark(pos, positive);
+                    ActionPruning.mark(pos, negative);
+                    ActionPruning.mark(neg, positive);
+                    ActionPruning.mark(neg, negative);
+                }
+            }
+        }
+        return relevant;
+    }
+
+    /**
+     * Returns whether an effect of an action adds a positively relevant fluent or
+     * deletes a negatively relevant fluent.
+     *
+     * @param action   the action.
+     * @param positive whether each fluent is positively relevant.
+     * @param negative whether each fluent is negatively relevant.
+     * @return <code>true</code> if the action contributes to a relevant fluent, <code>false</code> otherwise.
+     */
+    private static boolean contributes(final Action action, final boolean[] positive, final boolean[] negative) {
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            final int[] adds = SuccessorGenerator.toArray(ce.getEffect().getPositiveFluents());
+            for (int f : adds) {
+                if (positive[f]) {
+                    return true;
+                }
+            }
+            final int[] deletes = SuccessorGenerator.toArray(ce.getEffect().getNegativeFluents());
+            for (int f : deletes) {
+                if (negative[f]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks fluents.
+     *
+     * @param fluents the fluents to mark.
+     * @param marks   the marks of the fluents.
+     */
+    private static void mark(final int[] fluents, final boolean[] marks) {
+        for (int f : fluents) {
+            marks[f] = true;
+        }
+    }
+}
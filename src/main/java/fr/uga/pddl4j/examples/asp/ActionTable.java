@@ -0,0 +1,403 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class implements a table of the grounded actions of a problem compiled into
+ * arrays of fluent indices, so that the effects of an action can be applied to a
+ * state in place and undone without allocating any object.
+ * <p>
+ * The effects are applied with the usual STRIPS semantics: the conditions of the
+ * conditional effects are all checked in the state the action is applied to, then
+ * the negative fluents of the effects that fire are removed and their positive
+ * fluents added, so that an add wins over a delete of the same fluent. This is not
+ * what {@link State#apply(List)} does, which applies every effect without checking
+ * its condition. Every fluent whose value changes is pushed on a trail, so that the
+ * state can be rewound by flipping the fluents back.
+ * </p>
+ * <p>
+ * The actions without conditional effect, i.e., whose effects have no condition,
+ * are also compiled into word masks: for each 64-bit word of the state touched by
+ * the action, the fluents it deletes and the fluents it adds. Such an action is applied to a node word by word, the
+ * fluents changed being the bits of <code>w ^ ((w &amp; ~del) | add)</code>. The
+ * goal is compiled into word masks the same way. The actions with conditional
+ * effects keep the slow path testing the condition of each effect.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class ActionTable {
+
+    /**
+     * The problem the table was built for.
+     */
+    private final Problem problem;
+
+    /**
+     * The index of the first conditional effect of each action. The conditional
+     * effects of the action <code>a</code> are in
+     * <code>[effectStart[a], effectStart[a + 1])</code>.
+     */
+    private final int[] effectStart;
+
+    /**
+     * The positive fluents of the condition of each conditional effect.
+     */
+    private final int[][] conditionPositive;
+
+    /**
+     * The negative fluents of the condition of each conditional effect.
+     */
+    private final int[][] conditionNegative;
+
+    /**
+     * The fluents added by each conditional effect.
+     */
+    private final int[][] effectPositive;
+
+    /**
+     * The fluents deleted by each conditional effect.
+     */
+    private final int[][] effectNegative;
+
+    /**
+     * Whether each action has an effect with a condition and must be applied effect
+     * by effect.
+     */
+    private final boolean[] conditional;
+
+    /**
+     * The index of the first word mask of each action. The masks of the action
+     * <code>a</code> are in <code>[maskStart[a], maskStart[a + 1])</code>, empty if
+     * the action is conditional.
+     */
+    private final int[] maskStart;
+
+    /**
+     * The index in the state of the word of each mask.
+     */
+    private final int[] maskWord;
+
+    /**
+     * The fluents deleted by the action in the word of each mask.
+     */
+    private final long[] maskDelete;
+
+    /**
+     * The fluents added by the action in the word of each mask.
+     */
+    private final long[] maskAdd;
+
+    /**
+     * The index in the state of the words holding a fluent of the goal.
+     */
+    private final int[] goalWord;
+
+    /**
+     * The positive fluents of the goal in each word of <code>goalWord</code>.
+     */
+    private final long[] goalWordPositive;
+
+    /**
+     * The negative fluents of the goal in each word of <code>goalWord</code>.
+     */
+    private final long[] goalWordNegative;
+
+    /**
+     * The maximum number of fluents an action can change.
+     */
+    private final int maxChanges;
+
+    /**
+     * Creates a new action table for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public ActionTable(final Problem problem) {
+        this.problem = problem;
+        final List<Action> actions = problem.getActions();
+        this.effectStart = new int[actions.size() + 1];
+        int effects = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            this.effectStart[a] = effects;
+            effects += actions.get(a).getConditionalEffects().size();
+        }
+        this.effectStart[actions.size()] = effects;
+        this.conditionPositive = new int[effects][];
+        this.conditionNegative = new int[effects][];
+        this.effectPositive = new int[effects][];
+        this.effectNegative = new int[effects][];
+        int maxChanges = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            int changes = 0;
+            int e = this.effectStart[a];
+            for (ConditionalEffect ce : actions.get(a).getConditionalEffects()) {
+                this.conditionPositive[e] = SuccessorGenerator.toArray(ce.getCondition().getPositiveFluents());
+                this.conditionNegative[e] = SuccessorGenerator.toArray(ce.getCondition().getNegativeFluents());
+                this.effectPositive[e] = SuccessorGenerator.toArray(ce.getEffect().getPositiveFluents());
+                this.effectNegative[e] = SuccessorGenerator.toArray(ce.getEffect().getNegativeFluents());
+                changes += this.effectPositive[e].length + this.effectNegative[e].length;
+                e++;
+            }
+            maxChanges = Math.max(maxChanges, changes);
+        }
+        this.maxChanges = maxChanges;
+
+        // Compile the effects of the actions without conditional effect into word masks
+        this.conditional = new boolean[actions.size()];
+        this.maskStart = new int[actions.size() + 1];
+        final List<int[]> words = new ArrayList<>(actions.size());
+        final List<long[][]> masks = new ArrayList<>(actions.size());
+        int size = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            final Map<Integer, long[]> touched = new TreeMap<>();
+            for (int e = this.effectStart[a]; e < this.effectStart[a + 1] && !this.conditional[a]; e++) {
+                if (this.conditionPositive[e].length + this.conditionNegative[e].length > 0) {
+                    this.conditional[a] = true;
+                }
+                // The deletes are applied before the adds, whatever the effect
+                for (int f : this.effectNegative[e]) {
+                    touched.computeIfAbsent(f >>> 6, k -> new long[2])[0] |= 1L << f;
+                }
+                for (int f : this.effectPositive[e]) {
+                    touched.computeIfAbsent(f >>> 6, k -> new long[2])[1] |= 1L << f;
+                }
+            }
+            if (this.conditional[a]) {
+                touched.clear();
+            }
+            final int[] word = new int[touched.size()];
+            final long[][] mask = new long[touched.size()][];
+            int i = 0;
+            for (Map.Entry<Integer, long[]> entry : touched.entrySet()) {
+                word[i] = entry.getKey();
+                mask[i++] = entry.getValue();
+            }
+            words.add(word);
+            masks.add(mask);
+            this.maskStart[a] = size;
+            size += word.length;
+        }
+        this.maskStart[actions.size()] = size;
+        this.maskWord = new int[size];
+        this.maskDelete = new long[size];
+        this.maskAdd = new long[size];
+        for (int a = 0; a < actions.size(); a++) {
+            final int[] word = words.get(a);
+            final long[][] mask = masks.get(a);
+            for (int i = 0; i < word.length; i++) {
+                this.maskWord[this.maskStart[a] + i] = word[i];
+                this.maskDelete[this.maskStart[a] + i] = mask[i][0];
+                this.maskAdd[this.maskStart[a] + i] = mask[i][1];
+            }
+        }
+
+        // Compile the goal into word masks
+        final Condition goal = problem.getGoal();
+        final Map<Integer, long[]> touched = new TreeMap<>();
+        for (int f : SuccessorGenerator.toArray(goal.getPositiveFluents())) {
+            touched.computeIfAbsent(f >>> 6, k -> new long[2])[0] |= 1L << f;
+        }
+        for (int f : SuccessorGenerator.toArray(goal.getNegativeFluents())) {
+            touched.computeIfAbsent(f >>> 6, k -> new long[2])[1] |= 1L << f;
+        }
+        this.goalWord = new int[touched.size()];
+        this.goalWordPositive = new long[touched.size()];
+        this.goalWordNegative = new long[touched.size()];
+        int i = 0;
+        for (Map.Entry<Integer, long[]> entry : touched.entrySet()) {
+            this.goalWord[i] = entry.getKey();
+            this.goalWordPositive[i] = entry.getValue()[0];
+            this.goalWordNegative[i++] = entry.getValue()[1];
+        }
+    }
+
+    /**
+     * Returns the problem the table was built for.
+     *
+     * @return the problem the table was built for.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the number of actions of the table.
+     *
+     * @return the number of actions of the table.
+     */
+    public int size() {
+        return this.effectStart.length - 1;
+    }
+
+    /**
+     * Returns the maximum number of fluents an action can change, i.e., the room an
+     * action needs on a trail.
+     *
+     * @return the maximum number of fluents an action can change.
+     */
+    public int getMaxChanges() {
+        return this.maxChanges;
+    }
+
+    /**
+     * Returns whether an action has an effect with a condition, in which case it is
+     * applied effect by effect rather than with word masks.
+     *
+     * @param action the index of the action.
+     * @return <code>true</code> if the action has conditional effects, <code>false</code> otherwise.
+     */
+    public boolean isConditional(final int action) {
+        return this.conditional[action];
+    }
+
+    /**
+     * Applies the effects of an action to a node in place and pushes the fluents
+     * whose value changed on a trail. The trail must have room for at least
+     * {@link #getMaxChanges()} more fluents. The hash of the node is updated by the
+     * node itself from the fluents changed.
+     *
+     * @param action the index of the action.
+     * @param state  the node modified.
+     * @param trail  the trail.
+     * @param top    the number of fluents already on the trail.
+     * @return the number of fluents on the trail after the application.
+     */
+    public int apply(final int action, final Node state, final int[] trail, int top) {
+        if (this.conditional[action]) {
+            return this.applyEffects(action, state, trail, top);
+        }
+        for (int m = this.maskStart[action]; m < this.maskStart[action + 1]; m++) {
+            // The words of a node may grow when a fluent is set: read them for every mask
+            final int w = this.maskWord[m];
+            final long[] words = state.words();
+            final long word = w < words.length ? words[w] : 0L;
+            long changed = word ^ ((word & ~this.maskDelete[m]) | this.maskAdd[m]);
+            while (changed != 0) {
+                final int f = (w << 6) + Long.numberOfTrailingZeros(changed);
+                state.flip(f);
+                trail[top++] = f;
+                changed &= changed - 1;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Applies the effects of an action to a state, testing the condition of each one
+     * in the state before any effect is applied, and pushes the fluents whose value
+     * changed on a trail. A fluent deleted then added by the effects is pushed twice.
+     *
+     * @param action the index of the action.
+     * @param state  the state modified.
+     * @param trail  the trail.
+     * @param top    the number of fluents already on the trail.
+     * @return the number of fluents on the trail after the application.
+     */
+    private int applyEffects(final int action, final State state, final int[] trail, int top) {
+        final int first = this.effectStart[action];
+        final int last = this.effectStart[action + 1];
+        // The effects firing are kept in a word, or in an array for the rare actions
+        // with more than 64 conditional effects
+        long fired = 0L;
+        final boolean[] firing = last - first > Long.SIZE ? new boolean[last - first] : null;
+        for (int e = first; e < last; e++) {
+            if (ActionTable.satisfy(state, this.conditionPositive[e], this.conditionNegative[e])) {
+                if (firing == null) {
+                    fired |= 1L << (e - first);
+                } else {
+                    firing[e - first] = true;
+                }
+            }
+        }
+        for (int e = first; e < last; e++) {
+            if (firing == null ? (fired & 1L << (e - first)) != 0 : firing[e - first]) {
+                for (int f : this.effectNegative[e]) {
+                    if (state.get(f)) {
+                        state.clear(f);
+                        trail[top++] = f;
+                    }
+                }
+            }
+        }
+        for (int e = first; e < last; e++) {
+            if (firing == null ? (fired & 1L << (e - first)) != 0 : firing[e - first]) {
+                for (int f : this.effectPositive[e]) {
+                    if (!state.get(f)) {
+                        state.set(f);
+                        trail[top++] = f;
+                    }
+                }
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Rewinds a state by flipping back the fluents pushed on a trail above a mark.
+     *
+     * @param state the state modified.
+     * @param trail the trail.
+     * @param top   the number of fluents on the trail.
+     * @param mark  the number of fluents on the trail when the state to restore was reached.
+     * @return the mark, i.e., the number of fluents left on the trail.
+     */
+    public static int undo(final State state, final int[] trail, final int top, final int mark) {
+        for (int i = top - 1; i >= mark; i--) {
+            state.flip(trail[i]);
+        }
+        return mark;
+    }
+
+    /**
+     * Returns whether a node satisfies the goal of the problem.
+     *
+     * @param state the node.
+     * @return <code>true</code> if the node satisfies the goal, <code>false</code> otherwise.
+     */
+    public boolean isGoal(final Node state) {
+        final long[] words = state.words();
+        for (int i = 0; i < this.goalWord.length; i++) {
+            final int w = this.goalWord[i];
+            final long word = w < words.length ? words[w] : 0L;
+            if ((word & this.goalWordPositive[i]) != this.goalWordPositive[i]
+                    || (word & this.goalWordNegative[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a state contains a set of positive fluents and none of a set of
+     * negative fluents.
+     *
+     * @param state    the state.
+     * @param positive the positive fluents.
+     * @param negative the negative fluents.
+     * @return <code>true</code> if the state satisfies the fluents, <code>false</code> otherwise.
+     */
+    static boolean satisfy(final State state, final int[] positive, final int[] negative) {
+        for (int f : positive) {
+            if (!state.get(f)) {
+                return false;
+            }
+        }
+        for (int f : negative) {
+            if (state.get(f)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
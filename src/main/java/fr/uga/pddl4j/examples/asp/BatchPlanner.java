@@ -0,0 +1,397 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.Message;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.LogLevel;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a long-lived front end of the {@link ASP} planner solving a
+ * stream of jobs, so that the start of the JVM, the loading of the classes and the
+ * warm-up of the JIT are paid once for all the jobs rather than once per problem.
+ * <p>
+ * The jobs are read as JSON lines on the standard input or, if a port is set, on
+ * the connections to a socket bound to the loopback address. A job is an object
+ * with the paths of the <code>domain</code> and of the <code>problem</code>, an
+ * optional <code>id</code> and optional <code>options</code>, the settings of the
+ * planner (e.g., <code>{"PLANNER": "ASTAR", "TIME_OUT": 10}</code>) applied over the
+ * default configuration.
+ * </p>
+ * <p>
+ * The standard output only carries the results: it is redirected to the standard
+ * error before the loggers are created, so that the logs of the batch planner and
+ * of the planners, and anything else printed on {@link System#out}, are written on
+ * the standard error. The log level is global to
+ * the process, so it is set once for all the jobs with <code>--log-level</code>
+ * and a job setting <code>LOG_LEVEL</code> is rejected.
+ * </p>
+ * <p>
+ * The jobs are solved by a fixed pool of threads, each thread reusing its own
+ * planner reset between two jobs, and at most {@link #QUEUE_FACTOR} jobs per thread
+ * are read ahead. The result of a job is written as soon as it is solved, as a JSON
+ * line with the <code>id</code> of the job, its <code>status</code>
+ * (<code>solved</code>, <code>unsolved</code> or <code>error</code>), the
+ * <code>plan</code> found and the statistics of the job.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+@CommandLine.Command(name = "ASP-batch", version = "ASP 1.0", description = "Solves a stream of planning problems read as JSON lines on the standard input or on a local socket.", sortOptions = false, mixinStandardHelpOptions = true, headerHeading = "Usage:%n", synopsisHeading = "%n", descriptionHeading = "%nDescription:%n%n", parameterListHeading = "%nParameters:%n", optionListHeading = "%nOptions:%n")
+public final class BatchPlanner implements Callable<Integer> {
+
+    /**
+     * The number of jobs read ahead per thread solving the jobs.
+     */
+    public static final int QUEUE_FACTOR = 2;
+
+    /**
+     * The standard output the results are written on. It is initialized before the
+     * class logger, so that {@link System#out} is redirected before log4j starts.
+     */
+    private static final PrintStream RESULTS = BatchPlanner.redirectStandardOutput();
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BatchPlanner.class.getName());
+
+    /**
+     * The port of the socket the jobs are read on or 0 to read them on the standard input.
+     */
+    private int port;
+
+    /**
+     * The number of jobs solved in parallel.
+     */
+    private int jobs;
+
+    /**
+     * The log level of the planners, shared by all the jobs.
+     */
+    private LogLevel logLevel;
+
+    /**
+     * The pool of threads solving the jobs.
+     */
+    private ExecutorService pool;
+
+    /**
+     * The jobs that may still be read ahead.
+     */
+    private Semaphore slots;
+
+    /**
+     * The planner of each thread solving the jobs, kept warm from one job to the next.
+     */
+    private final ThreadLocal<ASP> planners = ThreadLocal.withInitial(ASP::new);
+
+    /**
+     * Sets the port of the socket the jobs are read on.
+     *
+     * @param port the port, 0 to read the jobs on the standard input.
+     * @throws IllegalArgumentException if the port is not in [0, 65535].
+     */
+    @CommandLine.Option(names = { "-p", "--port" }, defaultValue = "0", paramLabel = "<port>", description = "Read the jobs on the connections to a socket bound to the loopback address on the port, 0 to read them on the standard input (preset: 0).")
+    public void setPort(final int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Port not in [0, 65535]");
+        }
+        this.port = port;
+    }
+
+    /**
+     * Returns the port of the socket the jobs are read on.
+     *
+     * @return the port of the socket the jobs are read on, 0 for the standard input.
+     */
+    public int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Sets the number of jobs solved in parallel.
+     *
+     * @param jobs the number of jobs solved in parallel. The number must be greater than 0.
+     * @throws IllegalArgumentException if the number of jobs is less than 1.
+     */
+    @CommandLine.Option(names = { "-j", "--jobs" }, defaultValue = "1", paramLabel = "<jobs>", description = "Set the number of jobs solved in parallel, each by its own planner (preset: 1).")
+    public void setJobs(final int jobs) {
+        if (jobs <= 0) {
+            throw new IllegalArgumentException("Jobs <= 0");
+        }
+        this.jobs = jobs;
+    }
+
+    /**
+     * Returns the number of jobs solved in parallel.
+     *
+     * @return the number of jobs solved in parallel.
+     */
+    public int getJobs() {
+        return this.jobs;
+    }
+
+    /**
+     * Sets the log level of the planners, shared by all the jobs.
+     *
+     * @param logLevel the log level.
+     */
+    @CommandLine.Option(names = { "-l", "--log-level" }, defaultValue = "OFF", converter = LogLevel.class, paramLabel = "<level>", description = "Set the log level of the planners, written on the standard error: ALL, DEBUG, ERROR, FATAL, INFO, OFF, TRACE (preset: OFF).")
+    public void setLogLevel(final LogLevel logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * Returns the log level of the planners.
+     *
+     * @return the log level of the planners.
+     */
+    public LogLevel getLogLevel() {
+        return this.logLevel;
+    }
+
+    /**
+     * Reads and solves the jobs until the end of the standard input or, if a port is
+     * set, until the process is stopped.
+     *
+     * @return the exit code, 0.
+     * @throws IOException if the socket cannot be bound.
+     */
+    @Override
+    public Integer call() throws IOException {
+        this.pool = Executors.newFixedThreadPool(this.jobs);
+        this.slots = new Semaphore(this.jobs * BatchPlanner.QUEUE_FACTOR);
+        try {
+            if (this.port == 0) {
+                this.serve(System.in, BatchPlanner.RESULTS);
+            } else {
+                try (ServerSocket server = new ServerSocket(this.port, 0, InetAddress.getLoopbackAddress())) {
+                    LOGGER.info(String.format("* Batch planner listening on port %d with %d jobs in parallel%n",
+                            server.getLocalPort(), this.jobs));
+                    while (!server.isClosed()) {
+                        final Socket socket = server.accept();
+                        final Thread session = new Thread(() -> this.serve(socket), "batch-session");
+                        session.setDaemon(true);
+                        session.start();
+                    }
+                }
+            }
+        } finally {
+            this.pool.shutdown();
+            try {
+                this.pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Solves the jobs read on a connection and closes it.
+     *
+     * @param socket the socket of the connection.
+     */
+    private void serve(final Socket socket) {
+        try (Socket s = socket) {
+            this.serve(s.getInputStream(), s.getOutputStream());
+        } catch (IOException e) {
+            LOGGER.error(String.format("* Batch session closed: %s%n", e.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the jobs read on an input stream and writes their results on an output
+     * stream, in the order they are solved. The method returns once the end of the
+     * input stream is reached and all the jobs read are solved.
+     *
+     * @param in  the input stream.
+     * @param out the output stream.
+     */
+    private void serve(final InputStream in, final OutputStream out) {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        final PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out,
+                StandardCharsets.UTF_8)));
+        final Phaser pending = new Phaser(1);
+        try {
+            long index = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                final String job = line;
+                final long id = ++index;
+                this.slots.acquire();
+                pending.register();
+                this.pool.execute(() -> {
+                    try {
+                        final String result = JSONValue.toJSONString(this.solve(job, id));
+                        synchronized (writer) {
+                            writer.println(result);
+                            writer.flush();
+                        }
+                    } finally {
+                        this.slots.release();
+                        pending.arriveAndDeregister();
+                    }
+                });
+            }
+        } catch (IOException e) {
+            LOGGER.error(String.format("* Batch input closed: %s%n", e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.arriveAndAwaitAdvance();
+        }
+    }
+
+    /**
+     * Solves a job with the planner of the current thread and returns its result.
+     *
+     * @param line  the JSON line of the job.
+     * @param index the index of the job in its stream, its id if it has none.
+     * @return the result of the job.
+     */
+    private Map<String, Object> solve(final String line, final long index) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", index);
+        final long begin = System.currentTimeMillis();
+        final ASP planner = this.planners.get();
+        try {
+            final Object parsed = new JSONParser().parse(line);
+            if (!(parsed instanceof JSONObject)) {
+                throw new IllegalArgumentException("Job is not a JSON object");
+            }
+            final JSONObject job = (JSONObject) parsed;
+            if (job.get("id") != null) {
+                result.put("id", job.get("id"));
+            }
+            result.put("domain", job.get("domain"));
+            result.put("problem", job.get("problem"));
+
+            // Apply the options of the job over the default configuration
+            final PlannerConfiguration configuration = ASP.getDefaultConfiguration();
+            if (job.get("options") instanceof JSONObject) {
+                for (Object option : ((JSONObject) job.get("options")).entrySet()) {
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) option;
+                    if (Planner.LOG_LEVEL_SETTING.equals(String.valueOf(entry.getKey()))) {
+                        throw new IllegalArgumentException("LOG_LEVEL is set for all the jobs with --log-level");
+                    }
+                    configuration.setProperty(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+                }
+            }
+            configuration.setProperty(Planner.LOG_LEVEL_SETTING, this.logLevel.toString());
+            configuration.setProperty(Planner.DOMAIN_SETTING, String.valueOf(job.get("domain")));
+            configuration.setProperty(Planner.PROBLEM_SETTING, String.valueOf(job.get("problem")));
+            planner.reset();
+            planner.setConfiguration(configuration);
+            if (!planner.hasValidConfiguration()) {
+                throw new IllegalArgumentException("Invalid planner configuration");
+            }
+
+            // Parse, instantiate and solve the problem
+            long start = System.currentTimeMillis();
+            planner.getParserErrorManager().clear();
+            final DefaultParsedProblem parsedProblem = planner.parse();
+            final List<String> errors = new ArrayList<>();
+            for (Message message : planner.getParserErrorManager().getMessages()) {
+                if (message.getType().equals(Message.Type.LEXICAL_ERROR)
+                        || message.getType().equals(Message.Type.PARSER_ERROR)) {
+                    errors.add(message.toString().trim());
+                }
+            }
+            if (parsedProblem == null || !errors.isEmpty()) {
+                throw new IllegalArgumentException(String.join("; ", errors));
+            }
+            result.put("parse_ms", System.currentTimeMillis() - start);
+            start = System.currentTimeMillis();
+            final Problem problem = planner.instantiate(parsedProblem);
+            result.put("instantiate_ms", System.currentTimeMillis() - start);
+            result.put("actions", problem.getActions().size());
+            result.put("fluents", problem.getFluents().size());
+            start = System.currentTimeMillis();
+            final Plan plan = planner.solve(problem);
+            result.put("search_ms", System.currentTimeMillis() - start);
+            result.put("status", plan == null ? "unsolved" : "solved");
+            if (plan != null) {
+                final List<String> actions = new ArrayList<>(plan.size());
+                for (Action action : plan.actions()) {
+                    actions.add(problem.toShortString(action));
+                }
+                result.put("length", plan.size());
+                result.put("plan", actions);
+            }
+        } catch (IOException | ParseException | RuntimeException | OutOfMemoryError e) {
+            result.put("status", "error");
+            result.put("error", e.toString());
+        } finally {
+            planner.reset();
+        }
+        result.put("total_ms", System.currentTimeMillis() - begin);
+        result.put("worker", Thread.currentThread().getName());
+        return result;
+    }
+
+    /**
+     * Redirects the standard output to the standard error and returns the standard
+     * output.
+     *
+     * @return the standard output.
+     */
+    private static PrintStream redirectStandardOutput() {
+        final PrintStream out = System.out;
+        System.setOut(System.err);
+        return out;
+    }
+
+    /**
+     * The main method of the batch planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final CommandLine cmd = new CommandLine(new BatchPlanner());
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package fr.uga.pddl4j.examples.asp;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a priority queue of node ids with small integer priorities,
+ * the open list of the A* search. The ids are kept in one stack per pair
+ * <code>(f, h)</code>: the queue pops an id of lowest <code>f</code>, the ties
+ * being broken in favor of the lowest <code>h</code> and then of the last id
+ * pushed. Pushing and popping an id take constant amortized time and no object is
+ * created per id.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class BucketQueue {
+
+    /**
+     * The initial capacity of a stack.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The stacks of ids by <code>f</code> then <code>h</code>, null if not allocated.
+     */
+    private int[][][] stacks = new int[0][][];
+
+    /**
+     * The number of ids of each stack by <code>f</code> then <code>h</code>.
+     */
+    private int[][] sizes = new int[0][];
+
+    /**
+     * The number of ids by <code>f</code>.
+     */
+    private int[] counts = new int[0];
+
+    /**
+     * The lowest <code>h</code> that may have ids by <code>f</code>.
+     */
+    private int[] lowest = new int[0];
+
+    /**
+     * The lowest <code>f</code> that may have ids.
+     */
+    private int min;
+
+    /**
+     * The number of ids of the queue.
+     */
+    private int size;
+
+    /**
+     * The priority of the last id popped.
+     */
+    private int priority;
+
+    /**
+     * The number of ints allocated by the stacks.
+     */
+    private long allocated;
+
+    /**
+     * Returns whether the queue is empty.
+     *
+     * @return <code>true</code> if the queue is empty, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of ids of the queue.
+     *
+     * @return the number of ids of the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the priority <code>f</code> of the last id popped, so that an id pushed
+     * again with a lower priority can be recognized when its first copy is popped.
+     *
+     * @return the priority of the last id popped.
+     */
+    public int getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Returns the number of bytes of the heap used by the stacks of the queue.
+     *
+     * @return the number of bytes of the heap used by the stacks of the queue.
+     */
+    public long getHeapBytes() {
+        return this.allocated * Integer.BYTES;
+    }
+
+    /**
+     * Pushes an id.
+     *
+     * @param id the id.
+     * @param f  the priority of the id. The priority must be greater than or equal to 0.
+     * @param h  the priority used to break the ties. The priority must be greater than or equal to 0.
+     */
+    public void push(final int id, final int f, final int h) {
+        if (f >= this.counts.length) {
+            final int length = Math.max(f + 1, this.counts.length * 2);
+            this.stacks = Arrays.copyOf(this.stacks, length);
+            this.sizes = Arrays.copyOf(this.sizes, length);
+            this.counts = Arrays.copyOf(this.counts, length);
+            final int from = this.lowest.length;
+            this.lowest = Arrays.copyOf(this.lowest, length);
+            Arrays.fill(this.lowest, from, length, Integer.MAX_VALUE);
+        }
+        if (this.stacks[f] == null || h >= this.stacks[f].length) {
+            final int length = this.stacks[f] == null ? h + 1 : Math.max(h + 1, this.stacks[f].length * 2);
+            this.stacks[f] = this.stacks[f] == null ? new int[length][] : Arrays.copyOf(this.stacks[f], length);
+            this.sizes[f] = this.sizes[f] == null ? new int[length] : Arrays.copyOf(this.sizes[f], length);
+        }
+        int[] stack = this.stacks[f][h];
+        final int top = this.sizes[f][h];
+        if (stack == null || top == stack.length) {
+            final int length = stack == null ? BucketQueue.INITIAL_CAPACITY : stack.length * 2;
+            this.allocated += stack == null ? length : length - stack.length;
+            stack = stack == null ? new int[length] : Arrays.copyOf(stack, length);
+            this.stacks[f][h] = stack;
+        }
+        stack[top] = id;
+        this.sizes[f][h] = top + 1;
+        this.counts[f]++;
+        this.lowest[f] = Math.min(this.lowest[f], h);
+        if (this.size == 0 || f < this.min) {
+            this.min = f;
+        }
+        this.size++;
+    }
+
+    /**
+     * Pops an id of lowest priority. The queue must not be empty.
+     *
+     * @return the id popped.
+     */
+    public int pop() {
+        while (this.counts[this.min] == 0) {
+            this.min++;
+        }
+        final int f = this.min;
+        this.priority = f;
+        int h = this.lowest[f];
+        while (this.sizes[f][h] == 0) {
+            h++;
+        }
+        this.lowest[f] = h;
+        final int id = this.stacks[f][h][--this.sizes[f][h]];
+        if (--this.counts[f] == 0) {
+            // Release the stacks of the priority, rarely pushed again
+            for (int[] stack : this.stacks[f]) {
+                this.allocated -= stack == null ? 0 : stack.length;
+            }
+            this.stacks[f] = null;
+            this.sizes[f] = null;
+            this.lowest[f] = Integer.MAX_VALUE;
+        }
+        this.size--;
+        return id;
+    }
+}
@@ -0,0 +1,241 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+
+/**
+ * This class implements a bounded transposition cache in front of a heuristic. The
+ * heuristic values are stored in a set-associative table keyed by the hash of the
+ * states ({@link StateHash}) and sized from a memory budget. When the ways of a
+ * bucket are all used, the victim is chosen by the CLOCK policy: the hand of the
+ * bucket skips, and clears the reference bit of, every entry hit since its last
+ * visit.
+ * <p>
+ * The values are cached for the goal of the first estimate only; the estimates
+ * requested for another goal are forwarded to the heuristic. Like the heuristics of
+ * pddl4j, the cache is not thread-safe.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class CachedHeuristic implements StateHeuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of entries of a bucket.
+     */
+    private static final int WAYS = 4;
+
+    /**
+     * The number of bytes used by an entry: the key, the value and the reference bit.
+     */
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES + 1;
+
+    /**
+     * The heuristic whose values are cached.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The keys of the entries, 0 for an empty entry.
+     */
+    private final long[] keys;
+
+    /**
+     * The values of the entries.
+     */
+    private final int[] values;
+
+    /**
+     * The reference bits of the entries.
+     */
+    private final boolean[] referenced;
+
+    /**
+     * The position of the hand of each bucket.
+     */
+    private final byte[] hands;
+
+    /**
+     * The mask of the bucket index.
+     */
+    private final int mask;
+
+    /**
+     * The goal the values are cached for.
+     */
+    private Condition goal;
+
+    /**
+     * The number of estimates found in the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of estimates computed by the heuristic.
+     */
+    private long misses;
+
+    /**
+     * Creates a new cache in front of a heuristic.
+     *
+     * @param heuristic the heuristic whose values are cached.
+     * @param memory    the memory budget of the cache in bytes.
+     */
+    public CachedHeuristic(final StateHeuristic heuristic, final long memory) {
+        this.heuristic = heuristic;
+        final long buckets = Math.max(1, memory / (CachedHeuristic.ENTRY_BYTES * CachedHeuristic.WAYS));
+        final int size = Integer.highestOneBit((int) Math.min(buckets, 1 << 26));
+        this.mask = size - 1;
+        this.keys = new long[size * CachedHeuristic.WAYS];
+        this.values = new int[size * CachedHeuristic.WAYS];
+        this.referenced = new boolean[size * CachedHeuristic.WAYS];
+        this.hands = new byte[size];
+    }
+
+    /**
+     * Returns the heuristic whose values are cached.
+     *
+     * @return the heuristic whose values are cached.
+     */
+    public StateHeuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the number of estimates found in the cache.
+     *
+     * @return the number of estimates found in the cache.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of estimates computed by the heuristic.
+     *
+     * @return the number of estimates computed by the heuristic.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the ratio of the estimates found in the cache.
+     *
+     * @return the ratio of the estimates found in the cache.
+     */
+    public double getHitRate() {
+        final long total = this.hits + this.misses;
+        return total == 0 ? 0.0 : (double) this.hits / total;
+    }
+
+    /**
+     * Returns the number of entries of the cache.
+     *
+     * @return the number of entries of the cache.
+     */
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the estimated distance to a goal from a state, looked up in the cache
+     * or computed by the heuristic and cached. The hash of a node is the hash it
+     * carries, the hash of other states is computed.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal from the state.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final long hash = state instanceof Node ? ((Node) state).getHash() : StateHash.of(state);
+        return this.estimate(state, hash, goal);
+    }
+
+    /**
+     * Returns the estimated distance to a goal from a state whose hash is known,
+     * looked up in the cache or computed by the heuristic and cached.
+     *
+     * @param state the state.
+     * @param hash  the hash of the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal from the state.
+     */
+    public int estimate(final State state, final long hash, final Condition goal) {
+        if (this.goal == null) {
+            this.goal = goal;
+        } else if (this.goal != goal) {
+            return this.heuristic.estimate(state, goal);
+        }
+        final long key = hash == 0 ? 1 : hash;
+        final int bucket = (int) (key ^ (key >>> 32)) & this.mask;
+        final int first = bucket * CachedHeuristic.WAYS;
+        for (int i = first; i < first + CachedHeuristic.WAYS; i++) {
+            if (this.keys[i] == key) {
+                this.referenced[i] = true;
+                this.hits++;
+                return this.values[i];
+            }
+        }
+        this.misses++;
+        final int value = this.heuristic.estimate(state, goal);
+        final int victim = this.victim(bucket);
+        this.keys[victim] = key;
+        this.values[victim] = value;
+        this.referenced[victim] = false;
+        return value;
+    }
+
+    /**
+     * Returns the estimated distance to a goal from a search node of pddl4j.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal from the node.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns whether the heuristic is admissible.
+     *
+     * @return <code>true</code> if the heuristic is admissible, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return this.heuristic.isAdmissible();
+    }
+
+    /**
+     * Returns the entry of a bucket where a new value is stored: an empty entry if
+     * any, otherwise the first entry not referenced found by the hand of the bucket.
+     *
+     * @param bucket the bucket.
+     * @return the index of the entry.
+     */
+    private int victim(final int bucket) {
+        final int first = bucket * CachedHeuristic.WAYS;
+        for (int i = first; i < first + CachedHeuristic.WAYS; i++) {
+            if (this.keys[i] == 0) {
+                return i;
+            }
+        }
+        int hand = this.hands[bucket];
+        while (this.referenced[first + hand]) {
+            this.referenced[first + hand] = false;
+            hand = (hand + 1) % CachedHeuristic.WAYS;
+        }
+        this.hands[bucket] = (byte) ((hand + 1) % CachedHeuristic.WAYS);
+        return first + hand;
+    }
+}
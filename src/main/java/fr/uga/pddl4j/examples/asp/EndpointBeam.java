@@ -0,0 +1,187 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This class implements the beam of the endpoints of the random walks kept as the
+ * frontier of the jumps of MCTS. The beam holds the nodes with the lowest heuristic
+ * values offered to it, at most one per state, sorted by increasing heuristic value.
+ * <p>
+ * The walks of a jump are split between the nodes of the beam in inverse
+ * proportion to their heuristic values ({@link #split(int, int[])}), and the search
+ * commits to the best node of the beam only once it clearly dominates the others
+ * ({@link #isDominated()}), so that a bad jump does not throw the search off the
+ * other promising nodes.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class EndpointBeam {
+
+    /**
+     * The share of the heuristic value of the second node of the beam by which the
+     * best node must be better to dominate the beam.
+     */
+    public static final double DOMINANCE = 0.1;
+
+    /**
+     * The nodes of the beam sorted by increasing heuristic value.
+     */
+    private final Node[] nodes;
+
+    /**
+     * The number of nodes of the beam.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty beam.
+     *
+     * @param width the maximum number of nodes of the beam. The width must be greater than 0.
+     */
+    public EndpointBeam(final int width) {
+        this.nodes = new Node[width];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of nodes of the beam.
+     *
+     * @return the number of nodes of the beam.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the node of the beam at a specified rank.
+     *
+     * @param rank the rank of the node, 0 for the best node.
+     * @return the node of the beam at the rank.
+     */
+    public Node get(final int rank) {
+        return this.nodes[rank];
+    }
+
+    /**
+     * Returns the best node of the beam or null if the beam is empty.
+     *
+     * @return the best node of the beam or null if the beam is empty.
+     */
+    public Node best() {
+        return this.size == 0 ? null : this.nodes[0];
+    }
+
+    /**
+     * Removes all the nodes of the beam.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.nodes[i] = null;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Returns whether a node with a specified heuristic value would enter the beam,
+     * so that a node is built only when it may be kept.
+     *
+     * @param heuristic the heuristic value of the node.
+     * @return <code>true</code> if the node would enter the beam, <code>false</code> otherwise.
+     */
+    public boolean accepts(final double heuristic) {
+        return this.size < this.nodes.length || heuristic < this.nodes[this.size - 1].getHeuristic();
+    }
+
+    /**
+     * Offers a node to the beam. A node whose state is already in the beam replaces
+     * the node of this state if it is cheaper.
+     *
+     * @param node the node.
+     */
+    public void offer(final Node node) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.nodes[i].getHash() == node.getHash()) {
+                if (node.getCost() < this.nodes[i].getCost()) {
+                    this.nodes[i] = node;
+                }
+                return;
+            }
+        }
+        if (!this.accepts(node.getHeuristic())) {
+            return;
+        }
+        int i = this.size < this.nodes.length ? this.size++ : this.size - 1;
+        while (i > 0 && this.nodes[i - 1].getHeuristic() > node.getHeuristic()) {
+            this.nodes[i] = this.nodes[i - 1];
+            i--;
+        }
+        this.nodes[i] = node;
+    }
+
+    /**
+     * Replaces the nodes of the beam by the nodes of another beam.
+     *
+     * @param other the other beam.
+     */
+    public void copy(final EndpointBeam other) {
+        this.clear();
+        for (int i = 0; i < other.size && i < this.nodes.length; i++) {
+            this.nodes[i] = other.nodes[i];
+        }
+        this.size = Math.min(other.size, this.nodes.length);
+    }
+
+    /**
+     * Keeps the best node of the beam only.
+     */
+    public void commit() {
+        for (int i = 1; i < this.size; i++) {
+            this.nodes[i] = null;
+        }
+        this.size = Math.min(this.size, 1);
+    }
+
+    /**
+     * Returns whether the best node of the beam clearly dominates the others: its
+     * heuristic value is lower than the heuristic value of the second node by at
+     * least 1 and by at least {@link #DOMINANCE} of the value of the second node.
+     *
+     * @return <code>true</code> if the beam holds a single node or if its best node
+     *         dominates the others, <code>false</code> otherwise.
+     */
+    public boolean isDominated() {
+        if (this.size <= 1) {
+            return true;
+        }
+        final double best = this.nodes[0].getHeuristic();
+        final double second = this.nodes[1].getHeuristic();
+        return best + Math.max(1.0, EndpointBeam.DOMINANCE * second) <= second;
+    }
+
+    /**
+     * Splits a number of walks between the nodes of the beam in inverse proportion
+     * to their heuristic values plus 1. The walks left by the rounding go to the best
+     * nodes.
+     *
+     * @param walks  the number of walks to split.
+     * @param shares the number of walks of each node of the beam, by rank.
+     */
+    public void split(final int walks, final int[] shares) {
+        if (this.size == 0) {
+            return;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < this.size; i++) {
+            sum += 1.0 / (this.nodes[i].getHeuristic() + 1.0);
+        }
+        int left = walks;
+        for (int i = 0; i < this.size; i++) {
+            shares[i] = (int) (walks * (1.0 / (this.nodes[i].getHeuristic() + 1.0)) / sum);
+            left -= shares[i];
+        }
+        for (int i = 0; left > 0; i = (i + 1) % this.size) {
+            shares[i]++;
+            left--;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This enumeration defines when the states reached by a random walk are evaluated
+ * with the heuristic. Only the value of the endpoint of a walk is used to select the
+ * next node, so evaluating the intermediate states trades walks per second for
+ * nothing but the heuristic values stored on the chain of nodes returned. The goal
+ * test does not depend on the policy: it is performed after every step.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public enum EvaluationPolicy {
+
+    /**
+     * Only the endpoint of a walk is evaluated (Arvand-style).
+     */
+    ENDPOINT,
+
+    /**
+     * Every k-th state of a walk and its endpoint are evaluated.
+     */
+    PERIODIC,
+
+    /**
+     * Every state reached by a walk is evaluated.
+     */
+    EVERY_STEP;
+
+    /**
+     * Returns whether the state reached after a specified number of steps must be
+     * evaluated.
+     *
+     * @param step   the number of steps performed by the walk.
+     * @param length the length of the walk.
+     * @param period the evaluation period of the policy {@link #PERIODIC}.
+     * @return <code>true</code> if the state must be evaluated, <code>false</code> otherwise.
+     */
+    public boolean isEvaluated(final int step, final int length, final int period) {
+        switch (this) {
+            case EVERY_STEP:
+                return true;
+            case PERIODIC:
+                return step == length || step % period == 0;
+            default:
+                return step == length;
+        }
+    }
+}
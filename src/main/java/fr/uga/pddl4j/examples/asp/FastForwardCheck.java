@@ -0,0 +1,527 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import picocli.CommandLine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * This class implements a check that the relaxed planning graph of the planner
+ * ({@link RelaxedPlanningGraph}) and the heuristic built on it
+ * ({@link RelaxedPlanHeuristic}) compute the Fast Forward heuristic of pddl4j.
+ * <p>
+ * The states checked are the initial states of the problems of a directory and the
+ * states reached by random walks from them. For every state, the values of
+ * {@link RelaxedPlanHeuristic} and of {@link RelaxedPlanningGraph#estimate(State)}
+ * must be the value of the heuristic <code>FAST_FORWARD</code> of pddl4j. pddl4j does
+ * not expose its relaxed plan, so the helpful actions are checked against a plain
+ * extraction of the relaxed plan written after the one of pddl4j, on sets of
+ * fluents and with the same choice of the achievers, whose value must also be the
+ * value of pddl4j. The domain of a problem <code>pname.pddl</code> is
+ * <code>name.pddl</code>, the digits ending the name being ignored.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+@CommandLine.Command(name = "ASP-ff-check", version = "ASP 1.0", description = "Checks that the relaxed planning graph of the planner computes the Fast Forward heuristic of pddl4j.", sortOptions = false, mixinStandardHelpOptions = true, headerHeading = "Usage:%n", synopsisHeading = "%n", descriptionHeading = "%nDescription:%n%n", parameterListHeading = "%nParameters:%n", optionListHeading = "%nOptions:%n")
+public final class FastForwardCheck implements Callable<Integer> {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(FastForwardCheck.class.getName());
+
+    /**
+     * The directory of the problems checked.
+     */
+    @CommandLine.Option(names = { "-d", "--directory" }, defaultValue = "pddlproblems", paramLabel = "<directory>", description = "Set the directory of the domains and problems checked (preset: pddlproblems).")
+    private File directory;
+
+    /**
+     * The number of random walks per problem.
+     */
+    @CommandLine.Option(names = { "-w", "--walks" }, defaultValue = "100", paramLabel = "<walks>", description = "Set the number of random walks from the initial state of each problem (preset: 100).")
+    private int walks;
+
+    /**
+     * The number of steps of the random walks.
+     */
+    @CommandLine.Option(names = { "-l", "--length" }, defaultValue = "20", paramLabel = "<length>", description = "Set the number of steps of the random walks (preset: 20).")
+    private int length;
+
+    /**
+     * The seed of the random walks.
+     */
+    @CommandLine.Option(names = { "-s", "--seed" }, defaultValue = "0", paramLabel = "<seed>", description = "Set the seed of the random walks (preset: 0).")
+    private long seed;
+
+    /**
+     * Checks the problems of the directory.
+     *
+     * @return the exit code, 0 if every state checked matches, 1 otherwise.
+     * @throws IOException if a domain or a problem cannot be read.
+     */
+    @Override
+    public Integer call() throws IOException {
+        final File[] files = this.directory.listFiles((dir, name) -> name.matches("p.*\\d+\\.pddl"));
+        if (files == null || files.length == 0) {
+            throw new IllegalArgumentException("No problem in " + this.directory);
+        }
+        Arrays.sort(files);
+        int failures = 0;
+        for (File file : files) {
+            final String name = file.getName();
+            final File domain = new File(this.directory, name.substring(1).replaceAll("\\d+\\.pddl$", ".pddl"));
+            final DefaultParsedProblem parsed = new Parser().parse(domain, file);
+            if (parsed == null) {
+                throw new IllegalArgumentException("Cannot parse " + domain + " and " + file);
+            }
+            final Problem problem = new DefaultProblem(parsed);
+            problem.instantiate();
+            failures += this.check(name, problem);
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Checks the initial state of a problem and the states reached by random walks.
+     *
+     * @param name    the name of the problem.
+     * @param problem the problem.
+     * @return the number of states whose value or helpful actions differ.
+     */
+    private int check(final String name, final Problem problem) {
+        final StateHeuristic fastForward = StateHeuristic.getInstance(StateHeuristic.Name.FAST_FORWARD, problem);
+        final RelaxedPlanHeuristic heuristic = new RelaxedPlanHeuristic(problem);
+        final RelaxedPlanningGraph graph = new RelaxedPlanningGraph(problem);
+        final Reference reference = new Reference(problem);
+        final SuccessorGenerator successors = new SuccessorGenerator(problem);
+        final ActionTable actions = new ActionTable(problem);
+        final int[] applicable = new int[successors.size()];
+        final int[] helpful = new int[successors.size()];
+        final int[] trail = new int[Math.max(1, actions.getMaxChanges())];
+        final Random random = new Random(this.seed);
+        int states = 0;
+        int values = 0;
+        int helpfuls = 0;
+        for (int w = 0; w < this.walks; w++) {
+            final Node state = new Node(new State(problem.getInitialState()));
+            for (int step = 0; step <= this.length; step++) {
+                // Check the state
+                final int expected = fastForward.estimate(state, problem.getGoal());
+                final int value = heuristic.estimate(state, problem.getGoal());
+                final int graphValue = graph.estimate(state);
+                final int referenceValue = reference.estimate(state);
+                final int size = successors.getApplicableActions(state, applicable);
+                states++;
+                if (value != expected || graphValue != expected || referenceValue != expected) {
+                    values++;
+                    if (values == 1) {
+                        LOGGER.error(String.format("* %s: Fast Forward %d, heuristic %d, graph %d, reference %d%n",
+                                name, expected, value, graphValue, referenceValue));
+                    }
+                } else if (expected != Integer.MAX_VALUE) {
+                    final int count = graph.getHelpfulActions(state, applicable, size, helpful);
+                    final BitSet found = new BitSet();
+                    for (int i = 0; i < count; i++) {
+                        found.set(helpful[i]);
+                    }
+                    final BitSet wanted = reference.getHelpfulActions(state, applicable, size);
+                    if (!found.equals(wanted)) {
+                        helpfuls++;
+                        if (helpfuls == 1) {
+                            LOGGER.error(String.format("* %s: helpful actions %s, reference %s%n",
+                                    name, found, wanted));
+                        }
+                    }
+                }
+
+                // Move to a random successor
+                if (size == 0 || step == this.length) {
+                    break;
+                }
+                actions.apply(applicable[random.nextInt(size)], state, trail, 0);
+            }
+        }
+        LOGGER.info(String.format("* %s: %d states, %d value mismatches, %d helpful action mismatches%n",
+                name, states, values, helpfuls));
+        return values + helpfuls;
+    }
+
+    /**
+     * This class implements the reference extraction of the relaxed plan: the graph
+     * is expanded layer by layer on sets of fluents, every pair (action, conditional
+     * effect) being an operator, and the relaxed plan is extracted as pddl4j does,
+     * the achiever of a subgoal being the operator of a lower layer with the least
+     * difficulty, the first one in case of tie. As in pddl4j, the operators without
+     * precondition are triggered again at every layer, so that their layer is the
+     * last one expanded.
+     */
+    private static final class Reference {
+
+        /**
+         * The problem.
+         */
+        private final Problem problem;
+
+        /**
+         * The action of each operator.
+         */
+        private final List<Integer> owners = new ArrayList<>();
+
+        /**
+         * The positive precondition of each operator.
+         */
+        private final List<BitSet> prePositive = new ArrayList<>();
+
+        /**
+         * The negative precondition of each operator.
+         */
+        private final List<BitSet> preNegative = new ArrayList<>();
+
+        /**
+         * The positive effect of each operator.
+         */
+        private final List<BitSet> effPositive = new ArrayList<>();
+
+        /**
+         * The negative effect of each operator.
+         */
+        private final List<BitSet> effNegative = new ArrayList<>();
+
+        /**
+         * The positive subgoals of the first layer of the last relaxed plan.
+         */
+        private BitSet helpfulPositive = new BitSet();
+
+        /**
+         * The negative subgoals of the first layer of the last relaxed plan.
+         */
+        private BitSet helpfulNegative = new BitSet();
+
+        /**
+         * Creates the reference extraction of a problem.
+         *
+         * @param problem the problem.
+         */
+        Reference(final Problem problem) {
+            this.problem = problem;
+            final List<Action> actions = problem.getActions();
+            for (int a = 0; a < actions.size(); a++) {
+                final Action action = actions.get(a);
+                for (ConditionalEffect ce : action.getConditionalEffects()) {
+                    final BitSet pos = Reference.toBitSet(action.getPrecondition().getPositiveFluents());
+                    pos.or(Reference.toBitSet(ce.getCondition().getPositiveFluents()));
+                    final BitSet neg = Reference.toBitSet(action.getPrecondition().getNegativeFluents());
+                    neg.or(Reference.toBitSet(ce.getCondition().getNegativeFluents()));
+                    this.owners.add(a);
+                    this.prePositive.add(pos);
+                    this.preNegative.add(neg);
+                    this.effPositive.add(Reference.toBitSet(ce.getEffect().getPositiveFluents()));
+                    this.effNegative.add(Reference.toBitSet(ce.getEffect().getNegativeFluents()));
+                }
+            }
+        }
+
+        /**
+         * Returns the length of the relaxed plan of a state.
+         *
+         * @param state the state.
+         * @return the length of the relaxed plan or <code>Integer.MAX_VALUE</code> if the
+         *         goal is unreachable in the relaxed problem.
+         */
+        int estimate(final State state) {
+            final int fluents = this.problem.getFluents().size();
+            final int operators = this.owners.size();
+            final int[] posLevel = new int[fluents];
+            final int[] negLevel = new int[fluents];
+            final int[] opLevel = new int[operators];
+            final int[] difficulty = new int[operators];
+            Arrays.fill(posLevel, Integer.MAX_VALUE);
+            Arrays.fill(negLevel, Integer.MAX_VALUE);
+            Arrays.fill(opLevel, Integer.MAX_VALUE);
+            Arrays.fill(difficulty, Integer.MAX_VALUE);
+            final BitSet goalPositive = Reference.toBitSet(this.problem.getGoal().getPositiveFluents());
+            final BitSet goalNegative = Reference.toBitSet(this.problem.getGoal().getNegativeFluents());
+            this.helpfulPositive = new BitSet();
+            this.helpfulNegative = new BitSet();
+
+            // Expand the graph until the goal is reached or no fluent is new
+            final BitSet pos = new BitSet();
+            final BitSet neg = new BitSet();
+            for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+                pos.set(p);
+            }
+            neg.set(0, fluents);
+            neg.andNot(pos);
+            int level = 0;
+            Reference.reach(pos, posLevel, 0);
+            Reference.reach(neg, negLevel, 0);
+            while (!Reference.reached(goalPositive, posLevel) || !Reference.reached(goalNegative, negLevel)) {
+                final BitSet newPos = new BitSet();
+                final BitSet newNeg = new BitSet();
+                for (int op = 0; op < operators; op++) {
+                    final boolean unconditioned = this.prePositive.get(op).isEmpty() && this.preNegative.get(op).isEmpty();
+                    if (unconditioned || opLevel[op] == Integer.MAX_VALUE
+                            && Reference.reached(this.prePositive.get(op), posLevel)
+                            && Reference.reached(this.preNegative.get(op), negLevel)) {
+                        opLevel[op] = level;
+                        difficulty[op] = Reference.sum(this.prePositive.get(op), posLevel)
+                            + Reference.sum(this.preNegative.get(op), negLevel);
+                        newPos.or(this.effPositive.get(op));
+                        newNeg.or(this.effNegative.get(op));
+                    }
+                }
+                for (int p = newPos.nextSetBit(0); p >= 0; p = newPos.nextSetBit(p + 1)) {
+                    if (posLevel[p] != Integer.MAX_VALUE) {
+                        newPos.clear(p);
+                    }
+                }
+                for (int p = newNeg.nextSetBit(0); p >= 0; p = newNeg.nextSetBit(p + 1)) {
+                    if (negLevel[p] != Integer.MAX_VALUE) {
+                        newNeg.clear(p);
+                    }
+                }
+                if (newPos.isEmpty() && newNeg.isEmpty()) {
+                    return Integer.MAX_VALUE;
+                }
+                level++;
+                Reference.reach(newPos, posLevel, level);
+                Reference.reach(newNeg, negLevel, level);
+            }
+
+            // Extract the relaxed plan backward from the goal
+            final BitSet[] positive = new BitSet[level + 1];
+            final BitSet[] negative = new BitSet[level + 1];
+            for (int k = 0; k <= level; k++) {
+                positive[k] = new BitSet();
+                negative[k] = new BitSet();
+            }
+            for (int p = goalPositive.nextSetBit(0); p >= 0; p = goalPositive.nextSetBit(p + 1)) {
+                positive[posLevel[p]].set(p);
+            }
+            for (int p = goalNegative.nextSetBit(0); p >= 0; p = goalNegative.nextSetBit(p + 1)) {
+                negative[negLevel[p]].set(p);
+            }
+            int value = 0;
+            for (int k = level; k > 0; k--) {
+                if (k == 1) {
+                    this.helpfulPositive = (BitSet) positive[1].clone();
+                    this.helpfulNegative = (BitSet) negative[1].clone();
+                }
+                for (int p = positive[k].nextSetBit(0); p >= 0; p = positive[k].nextSetBit(p + 1)) {
+                    final int op = this.select(this.effPositive, p, k, opLevel, difficulty);
+                    if (op != -1) {
+                        this.achieve(op, k, positive, negative, posLevel, negLevel);
+                        value++;
+                    } else {
+                        positive[k - 1].clear(p);
+                        positive[k].clear(p);
+                    }
+                }
+                for (int p = negative[k].nextSetBit(0); p >= 0; p = negative[k].nextSetBit(p + 1)) {
+                    final int op = this.select(this.effNegative, p, k, opLevel, difficulty);
+                    if (op != -1) {
+                        this.achieve(op, k, positive, negative, posLevel, negLevel);
+                        value++;
+                    } else {
+                        negative[k - 1].set(p);
+                        negative[k].clear(p);
+                    }
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Returns the helpful actions of the state last estimated: the applicable
+         * actions with an operator applicable in the state that achieves a subgoal of
+         * the first layer of the relaxed plan.
+         *
+         * @param state      the state last estimated.
+         * @param applicable the actions applicable in the state.
+         * @param size       the number of actions applicable in the state.
+         * @return the helpful actions.
+         */
+        BitSet getHelpfulActions(final State state, final int[] applicable, final int size) {
+            final BitSet actions = new BitSet();
+            for (int i = 0; i < size; i++) {
+                actions.set(applicable[i]);
+            }
+            final BitSet helpful = new BitSet();
+            for (int op = 0; op < this.owners.size(); op++) {
+                if (actions.get(this.owners.get(op)) && Reference.holds(state, this.prePositive.get(op), true)
+                        && Reference.holds(state, this.preNegative.get(op), false)
+                        && (this.effPositive.get(op).intersects(this.helpfulPositive)
+                        || this.effNegative.get(op).intersects(this.helpfulNegative))) {
+                    helpful.set(this.owners.get(op));
+                }
+            }
+            return helpful;
+        }
+
+        /**
+         * Selects the achiever of a subgoal of a layer: the operator of a lower layer
+         * with the least difficulty, the first one in case of tie.
+         *
+         * @param effects    the effects of the operators.
+         * @param p          the subgoal.
+         * @param k          the layer.
+         * @param opLevel    the layer of each operator.
+         * @param difficulty the difficulty of each operator.
+         * @return the achiever or -1 if there is none.
+         */
+        private int select(final List<BitSet> effects, final int p, final int k, final int[] opLevel,
+                           final int[] difficulty) {
+            int best = -1;
+            int min = Integer.MAX_VALUE;
+            for (int op = 0; op < effects.size(); op++) {
+                if (effects.get(op).get(p) && opLevel[op] < k && difficulty[op] < min) {
+                    min = difficulty[op];
+                    best = op;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Adds an operator to the relaxed plan.
+         *
+         * @param op       the operator.
+         * @param k        the layer of the subgoal achieved.
+         * @param positive the positive subgoals of each layer.
+         * @param negative the negative subgoals of each layer.
+         * @param posLevel the layer of each positive fluent.
+         * @param negLevel the layer of each negative fluent.
+         */
+        private void achieve(final int op, final int k, final BitSet[] positive, final BitSet[] negative,
+                             final int[] posLevel, final int[] negLevel) {
+            final BitSet pre = this.prePositive.get(op);
+            for (int q = pre.nextSetBit(0); q >= 0; q = pre.nextSetBit(q + 1)) {
+                if (posLevel[q] != 0 && !positive[k - 1].get(q)) {
+                    positive[posLevel[q]].set(q);
+                }
+            }
+            final BitSet npre = this.preNegative.get(op);
+            for (int q = npre.nextSetBit(0); q >= 0; q = npre.nextSetBit(q + 1)) {
+                if (negLevel[q] != 0 && !negative[k - 1].get(q)) {
+                    negative[negLevel[q]].set(q);
+                }
+            }
+            positive[k].andNot(this.effPositive.get(op));
+            positive[k - 1].andNot(this.effPositive.get(op));
+            negative[k].andNot(this.effNegative.get(op));
+            negative[k - 1].andNot(this.effNegative.get(op));
+        }
+
+        /**
+         * Sets the layer of the fluents of a set.
+         *
+         * @param fluents the fluents.
+         * @param levels  the layer of each fluent.
+         * @param level   the layer.
+         */
+        private static void reach(final BitSet fluents, final int[] levels, final int level) {
+            for (int p = fluents.nextSetBit(0); p >= 0; p = fluents.nextSetBit(p + 1)) {
+                levels[p] = level;
+            }
+        }
+
+        /**
+         * Returns whether all the fluents of a set are reached.
+         *
+         * @param fluents the fluents.
+         * @param levels  the layer of each fluent.
+         * @return <code>true</code> if all the fluents are reached, <code>false</code> otherwise.
+         */
+        private static boolean reached(final BitSet fluents, final int[] levels) {
+            for (int p = fluents.nextSetBit(0); p >= 0; p = fluents.nextSetBit(p + 1)) {
+                if (levels[p] == Integer.MAX_VALUE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the sum of the layers of the fluents of a set.
+         *
+         * @param fluents the fluents.
+         * @param levels  the layer of each fluent.
+         * @return the sum of the layers.
+         */
+        private static int sum(final BitSet fluents, final int[] levels) {
+            int sum = 0;
+            for (int p = fluents.nextSetBit(0); p >= 0; p = fluents.nextSetBit(p + 1)) {
+                sum += levels[p];
+            }
+            return sum;
+        }
+
+        /**
+         * Returns whether the fluents of a set all have a value in a state.
+         *
+         * @param state   the state.
+         * @param fluents the fluents.
+         * @param value   the value.
+         * @return <code>true</code> if the fluents all have the value, <code>false</code> otherwise.
+         */
+        private static boolean holds(final State state, final BitSet fluents, final boolean value) {
+            for (int p = fluents.nextSetBit(0); p >= 0; p = fluents.nextSetBit(p + 1)) {
+                if (state.get(p) != value) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Copies the fluents of a pddl4j bit vector into a bit set.
+         *
+         * @param vector the bit vector.
+         * @return the bit set.
+         */
+        private static BitSet toBitSet(final fr.uga.pddl4j.util.BitVector vector) {
+            final BitSet set = new BitSet();
+            for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+                set.set(p);
+            }
+            return set;
+        }
+    }
+
+    /**
+     * The main method of the check.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            // Keep the trace of the parser and of the instantiation out of the report
+            Configurator.setRootLevel(Level.INFO);
+            final CommandLine cmd = new CommandLine(new FastForwardCheck());
+            System.exit(cmd.execute(args));
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.util.BitVector;
+
+/**
+ * This class implements the incremental goal count and landmark count of the states
+ * reached by the random walks of a worker.
+ * <p>
+ * The value of a state is the number of fluents of the goal it does not satisfy,
+ * plus, when landmarks are given, the number of landmarks not accepted yet. As in
+ * the landmark count heuristic (Richter, Helmert and Westphal, 2008), a landmark is
+ * accepted once it was true in a state of the path leading to the state: the path
+ * from the initial state to the root of the walks, then the walk itself. The value
+ * is updated from the fluents an action changed, as pushed on the trail of the
+ * worker by {@link ActionTable#apply}, and the acceptances of the walk are pushed
+ * on a trail of their own, so that both are undone with the scratch state.
+ * </p>
+ * <p>
+ * The counter is not thread-safe: every walk worker owns its counter.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class GoalCounter {
+
+    /**
+     * The polarity of each fluent in the goal: 1 for a positive fluent of the goal,
+     * -1 for a negative one and 0 for the other fluents.
+     */
+    private final byte[] goal;
+
+    /**
+     * The landmarks counted.
+     */
+    private final int[] landmarks;
+
+    /**
+     * Whether each fluent is a landmark counted.
+     */
+    private final boolean[] landmark;
+
+    /**
+     * Whether each landmark is accepted.
+     */
+    private final boolean[] accepted;
+
+    /**
+     * The landmarks accepted by the current walk, in order of acceptance.
+     */
+    private final int[] acceptances;
+
+    /**
+     * Whether each fluent was seen by the backward pass over a trail.
+     */
+    private final boolean[] toggled;
+
+    /**
+     * The number of landmarks accepted by the current walk.
+     */
+    private int top;
+
+    /**
+     * The number of fluents of the goal not satisfied.
+     */
+    private int goals;
+
+    /**
+     * The number of landmarks not accepted.
+     */
+    private int unaccepted;
+
+    /**
+     * Creates a new counter for a specified problem.
+     *
+     * @param problem   the problem.
+     * @param landmarks the landmarks counted or null to count the fluents of the goal only.
+     */
+    public GoalCounter(final Problem problem, final Landmarks landmarks) {
+        final int size = problem.getFluents().size();
+        this.goal = new byte[size];
+        final BitVector positive = problem.getGoal().getPositiveFluents();
+        for (int f = positive.nextSetBit(0); f >= 0; f = positive.nextSetBit(f + 1)) {
+            this.goal[f] = 1;
+        }
+        final BitVector negative = problem.getGoal().getNegativeFluents();
+        for (int f = negative.nextSetBit(0); f >= 0; f = negative.nextSetBit(f + 1)) {
+            this.goal[f] = -1;
+        }
+        this.landmarks = landmarks == null ? new int[0] : landmarks.getFluents();
+        this.landmark = new boolean[size];
+        for (int f : this.landmarks) {
+            this.landmark[f] = true;
+        }
+        this.accepted = new boolean[size];
+        this.acceptances = new int[this.landmarks.length];
+        this.toggled = new boolean[size];
+    }
+
+    /**
+     * Returns the value of the current state: the number of fluents of the goal not
+     * satisfied plus the number of landmarks not accepted.
+     *
+     * @return the value of the current state.
+     */
+    public int getValue() {
+        return this.goals + this.unaccepted;
+    }
+
+    /**
+     * Returns whether the current state satisfies the goal.
+     *
+     * @return <code>true</code> if every fluent of the goal is satisfied, <code>false</code> otherwise.
+     */
+    public boolean isGoal() {
+        return this.goals == 0;
+    }
+
+    /**
+     * Returns the number of landmarks accepted by the current walk, to be passed to
+     * {@link #undo} to rewind the acceptances.
+     *
+     * @return the number of landmarks accepted by the current walk.
+     */
+    public int mark() {
+        return this.top;
+    }
+
+    /**
+     * Sets the counter to the root of the walks: counts the fluents of the goal the
+     * root does not satisfy and accepts the landmarks true on the path from the
+     * initial state to the root.
+     *
+     * @param root the root of the walks.
+     */
+    public void reset(final Node root) {
+        this.goals = 0;
+        for (int f = 0; f < this.goal.length; f++) {
+            if (this.goal[f] != 0 && root.get(f) != (this.goal[f] > 0)) {
+                this.goals++;
+            }
+        }
+        this.top = 0;
+        this.unaccepted = this.landmarks.length;
+        for (int f : this.landmarks) {
+            this.accepted[f] = false;
+        }
+        for (Node node = root; node != null && this.unaccepted > 0; node = node.getParent()) {
+            for (int f : this.landmarks) {
+                if (!this.accepted[f] && node.get(f)) {
+                    this.accepted[f] = true;
+                    this.unaccepted--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the counter after an action was applied to the current state.
+     *
+     * @param state the state reached.
+     * @param trail the trail of the fluents changed.
+     * @param from  the number of fluents on the trail before the action was applied.
+     * @param to    the number of fluents on the trail after the action was applied.
+     */
+    public void update(final State state, final int[] trail, final int from, final int to) {
+        this.count(state, trail, from, to);
+        for (int i = from; i < to; i++) {
+            final int f = trail[i];
+            if (this.landmark[f] && !this.accepted[f] && state.get(f)) {
+                this.accepted[f] = true;
+                this.acceptances[this.top++] = f;
+                this.unaccepted--;
+            }
+        }
+    }
+
+    /**
+     * Updates the counter after the fluents changed by some actions were flipped
+     * back, and rewinds the landmarks accepted since a mark.
+     *
+     * @param state the state restored.
+     * @param trail the trail of the fluents changed.
+     * @param from  the number of fluents on the trail once restored.
+     * @param to    the number of fluents on the trail before the state was restored.
+     * @param mark  the number of landmarks accepted when the state restored was reached.
+     */
+    public void undo(final State state, final int[] trail, final int from, final int to, final int mark) {
+        this.count(state, trail, from, to);
+        while (this.top > mark) {
+            this.accepted[this.acceptances[--this.top]] = false;
+            this.unaccepted++;
+        }
+    }
+
+    /**
+     * Updates the number of fluents of the goal not satisfied from the fluents
+     * flipped in a state. A fluent may have been flipped several times by the
+     * conditional effects of an action: the trail is scanned backward, from the
+     * current value of every fluent, so that each flip accounts for the value it set.
+     *
+     * @param state the state after the flips.
+     * @param trail the trail of the fluents flipped.
+     * @param from  the index of the first fluent flipped.
+     * @param to    the index after the last fluent flipped.
+     */
+    private void count(final State state, final int[] trail, final int from, final int to) {
+        for (int i = to - 1; i >= from; i--) {
+            final int f = trail[i];
+            if (this.goal[f] != 0) {
+                final boolean value = state.get(f) != this.toggled[f];
+                this.goals += value == (this.goal[f] > 0) ? -1 : 1;
+                this.toggled[f] = !this.toggled[f];
+            }
+        }
+        for (int i = from; i < to; i++) {
+            this.toggled[trail[i]] = false;
+        }
+    }
+}
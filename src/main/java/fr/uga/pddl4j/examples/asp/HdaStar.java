@@ -0,0 +1,548 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements a hash-distributed parallel A* search (HDA*, Kishimoto,
+ * Fukunaga and Botea, 2009).
+ * <p>
+ * Every worker owns the states whose hash maps to it and keeps the open list and
+ * the index of the best nodes of its states, as {@link ASP#astar} does. A worker
+ * sends the successors it generates to their owners through lock-free queues, in
+ * batches of {@link #BATCH} nodes, and the owner evaluates and pushes the nodes that
+ * reach their state with a lower cost than the node it indexed.
+ * </p>
+ * <p>
+ * If the heuristic is admissible and not weighted, the search goes on after the
+ * first plan found, pruning the nodes whose cost plus heuristic value is not lower
+ * than the cost of the best plan found, until every worker is idle and no batch is
+ * in flight, so that the plan returned is optimal. The workers detect this state
+ * without lock: the number of nodes sent and not yet received is counted, and every
+ * worker waking up from idleness increments an epoch, so that a worker finding all
+ * the workers idle and no node in flight between two equal reads of the epoch knows
+ * that no work is left. Otherwise, the search stops with the first plan found.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class HdaStar {
+
+    /**
+     * The number of nodes sent to a worker in a batch.
+     */
+    public static final int BATCH = 64;
+
+    /**
+     * The time in ns an idle worker waits before polling its queue again.
+     */
+    private static final long IDLE_WAIT = 50_000L;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The successor generator of the problem.
+     */
+    private final SuccessorGenerator successors;
+
+    /**
+     * The compiled actions of the problem.
+     */
+    private final ActionTable actions;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * Whether the search proves that the plan it returns is optimal.
+     */
+    private final boolean optimal;
+
+    /**
+     * The workers of the search.
+     */
+    private final List<Worker> workers;
+
+    /**
+     * The best node satisfying the goal found so far or null.
+     */
+    private final AtomicReference<Node> incumbent = new AtomicReference<>();
+
+    /**
+     * The flag raised to stop the workers.
+     */
+    private final AtomicBoolean stop = new AtomicBoolean();
+
+    /**
+     * The number of nodes sent to a worker and not yet received.
+     */
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * The number of idle workers.
+     */
+    private final AtomicInteger idle = new AtomicInteger();
+
+    /**
+     * The number of times a worker woke up from idleness.
+     */
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * Whether the search was stopped by the memory budget.
+     */
+    private volatile boolean outOfMemory;
+
+    /**
+     * Creates a new search.
+     *
+     * @param problem    the problem to solve.
+     * @param successors the successor generator of the problem.
+     * @param actions    the compiled actions of the problem.
+     * @param heuristics the heuristic of each worker.
+     * @param weight     the weight of the heuristic.
+     */
+    public HdaStar(final Problem problem, final SuccessorGenerator successors, final ActionTable actions,
+                   final List<StateHeuristic> heuristics, final double weight) {
+        this.problem = problem;
+        this.successors = successors;
+        this.actions = actions;
+        this.weight = weight;
+        this.optimal = weight == 1.0 && heuristics.get(0).isAdmissible();
+        this.workers = new ArrayList<>(heuristics.size());
+        for (int w = 0; w < heuristics.size(); w++) {
+            this.workers.add(new Worker(w, heuristics.get(w)));
+        }
+    }
+
+    /**
+     * Returns whether the search proves that the plan it returns is optimal.
+     *
+     * @return <code>true</code> if the plan returned is optimal, <code>false</code> otherwise.
+     */
+    public boolean isOptimal() {
+        return this.optimal;
+    }
+
+    /**
+     * Returns whether the last search was stopped by the memory budget.
+     *
+     * @return <code>true</code> if the last search was stopped by the memory budget, <code>false</code> otherwise.
+     */
+    public boolean isOutOfMemory() {
+        return this.outOfMemory;
+    }
+
+    /**
+     * Returns the number of nodes expanded by the workers.
+     *
+     * @return the number of nodes expanded by the workers.
+     */
+    public long getExpanded() {
+        long expanded = 0;
+        for (Worker worker : this.workers) {
+            expanded += worker.expanded;
+        }
+        return expanded;
+    }
+
+    /**
+     * Returns the number of nodes sent by the workers to the other workers.
+     *
+     * @return the number of nodes sent by the workers to the other workers.
+     */
+    public long getSent() {
+        long sent = 0;
+        for (Worker worker : this.workers) {
+            sent += worker.sent;
+        }
+        return sent;
+    }
+
+    /**
+     * Returns the number of states indexed by the workers.
+     *
+     * @return the number of states indexed by the workers.
+     */
+    public long size() {
+        long size = 0;
+        for (Worker worker : this.workers) {
+            size += worker.nodes.size();
+        }
+        return size;
+    }
+
+    /**
+     * Searches a plan from a node.
+     *
+     * @param root        the root node of the search, evaluated.
+     * @param deadline    the time in ms at which the search stops.
+     * @param memory      the memory in bytes the search may use.
+     * @param memoryCheck the number of expansions between two checks of the memory used.
+     * @param cancelled   the flag set to cancel the search.
+     * @return the node satisfying the goal reached by the best plan found or null.
+     */
+    public Node search(final Node root, final long deadline, final long memory, final int memoryCheck,
+                       final AtomicBoolean cancelled) {
+        this.workers.get(this.owner(root)).receive(root);
+        final ExecutorService pool = Executors.newFixedThreadPool(this.workers.size());
+        try {
+            final List<Future<?>> results = new ArrayList<>(this.workers.size());
+            for (Worker worker : this.workers) {
+                worker.deadline = deadline;
+                worker.cancelled = cancelled;
+                worker.memory = memory;
+                worker.memoryCheck = memoryCheck;
+                results.add(pool.submit(worker));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            this.stop.set(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            this.stop.set(true);
+            pool.shutdownNow();
+        }
+        return this.incumbent.get();
+    }
+
+    /**
+     * Returns the index of the worker owning the state of a node.
+     *
+     * @param node the node.
+     * @return the index of the worker owning the state of the node.
+     */
+    private int owner(final Node node) {
+        // The high bits of the hash are mixed in, the low bits also index the hash tables
+        final long hash = node.getHash();
+        return (int) Long.remainderUnsigned(hash ^ (hash >>> 29), this.workers.size());
+    }
+
+    /**
+     * Records a node satisfying the goal if it is cheaper than the best one found so far.
+     *
+     * @param node the node satisfying the goal.
+     */
+    private void offer(final Node node) {
+        Node best = this.incumbent.get();
+        while ((best == null || node.getCost() < best.getCost()) && !this.incumbent.compareAndSet(best, node)) {
+            best = this.incumbent.get();
+        }
+        if (!this.optimal) {
+            this.stop.set(true);
+        }
+    }
+
+    /**
+     * Returns whether a node cannot lead to a plan cheaper than the best plan found
+     * so far, which only holds if the search is optimal.
+     *
+     * @param node the node.
+     * @return <code>true</code> if the node can be pruned, <code>false</code> otherwise.
+     */
+    private boolean isPruned(final Node node) {
+        final Node best = this.incumbent.get();
+        return best != null && node.getCost() + node.getHeuristic() >= best.getCost();
+    }
+
+    /**
+     * Returns whether the search is over: all the workers are idle and no node is
+     * in flight, the epoch being read before and after to detect a worker waking up
+     * in between.
+     *
+     * @return <code>true</code> if the search is over, <code>false</code> otherwise.
+     */
+    private boolean isOver() {
+        final long before = this.epoch.get();
+        return this.idle.get() == this.workers.size() && this.pending.get() == 0 && this.epoch.get() == before;
+    }
+
+    /**
+     * This class implements a worker of the search, owning a partition of the states.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The index of the worker.
+         */
+        private final int index;
+
+        /**
+         * The heuristic of the worker.
+         */
+        private final StateHeuristic heuristic;
+
+        /**
+         * The open list of the worker.
+         */
+        private final PriorityQueue<Node> open;
+
+        /**
+         * The best node reaching each state owned by the worker (open or closed).
+         */
+        private final Map<Node, Node> nodes = new HashMap<>();
+
+        /**
+         * The batches of nodes sent to the worker.
+         */
+        private final ConcurrentLinkedQueue<List<Node>> inbox = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The batch of nodes to send to each worker.
+         */
+        private final List<List<Node>> outbox;
+
+        /**
+         * The buffer of the applicable actions.
+         */
+        private final int[] applicable;
+
+        /**
+         * The buffer of the fluents changed by an action.
+         */
+        private final int[] changes;
+
+        /**
+         * The number of nodes expanded by the worker.
+         */
+        private long expanded;
+
+        /**
+         * The number of nodes sent by the worker to the other workers.
+         */
+        private long sent;
+
+        /**
+         * Whether the worker is counted as idle.
+         */
+        private boolean idle;
+
+        /**
+         * The time in ms at which the search stops.
+         */
+        private long deadline;
+
+        /**
+         * The flag set to cancel the search.
+         */
+        private AtomicBoolean cancelled;
+
+        /**
+         * The memory in bytes the search may use.
+         */
+        private long memory;
+
+        /**
+         * The number of expansions between two checks of the memory used.
+         */
+        private int memoryCheck;
+
+        /**
+         * Creates a new worker.
+         *
+         * @param index     the index of the worker.
+         * @param heuristic the heuristic of the worker.
+         */
+        private Worker(final int index, final StateHeuristic heuristic) {
+            this.index = index;
+            this.heuristic = heuristic;
+            final double weight = HdaStar.this.weight;
+            this.open = new PriorityQueue<>(100, new Comparator<Node>() {
+                public int compare(Node n1, Node n2) {
+                    double f1 = weight * n1.getHeuristic() + n1.getCost();
+                    double f2 = weight * n2.getHeuristic() + n2.getCost();
+                    final int cmp = Double.compare(f1, f2);
+                    return cmp != 0 ? cmp : Double.compare(n1.getHeuristic(), n2.getHeuristic());
+                }
+            });
+            this.outbox = new ArrayList<>(HdaStar.this.workers.size());
+            this.applicable = new int[HdaStar.this.successors.size()];
+            this.changes = new int[HdaStar.this.actions.getMaxChanges()];
+        }
+
+        /**
+         * Expands the nodes of the worker until the search is over. A worker failing
+         * stops the whole search, since the nodes it holds would never be expanded and
+         * the other workers would wait for them.
+         */
+        @Override
+        public void run() {
+            try {
+                this.expand();
+            } catch (Throwable t) {
+                HdaStar.this.stop.set(true);
+                throw t;
+            }
+        }
+
+        /**
+         * Marks the worker as busy if it was idle.
+         */
+        private void wake() {
+            if (this.idle) {
+                HdaStar.this.idle.decrementAndGet();
+                HdaStar.this.epoch.incrementAndGet();
+                this.idle = false;
+            }
+        }
+
+        /**
+         * Expands the nodes of the worker until the search is over.
+         */
+        private void expand() {
+            for (int w = 0; w < HdaStar.this.workers.size(); w++) {
+                this.outbox.add(new ArrayList<>(HdaStar.BATCH));
+            }
+            final Runtime runtime = Runtime.getRuntime();
+            while (!HdaStar.this.stop.get()) {
+                // Receive the nodes sent to the worker, waking it up before the nodes
+                // stop being counted as in flight so that the search never looks over
+                // while it holds them
+                List<Node> batch;
+                while ((batch = this.inbox.poll()) != null) {
+                    this.wake();
+                    for (Node node : batch) {
+                        this.receive(node);
+                    }
+                    HdaStar.this.pending.addAndGet(-batch.size());
+                }
+
+                // Pop the best node that is still the best node reaching its state
+                Node current = this.open.poll();
+                while (current != null && (this.nodes.get(current) != current || HdaStar.this.isPruned(current))) {
+                    current = this.open.poll();
+                }
+                if (current == null) {
+                    // Send the pending batches before idling
+                    this.flush();
+                    if (!this.idle) {
+                        HdaStar.this.idle.incrementAndGet();
+                        this.idle = true;
+                    }
+                    if (HdaStar.this.isOver() || System.currentTimeMillis() >= this.deadline
+                            || this.cancelled.get()) {
+                        HdaStar.this.stop.set(true);
+                    } else {
+                        LockSupport.parkNanos(HdaStar.IDLE_WAIT);
+                    }
+                    continue;
+                }
+                this.wake();
+
+                if (HdaStar.this.actions.isGoal(current)) {
+                    HdaStar.this.offer(current);
+                    continue;
+                }
+
+                // Check the time and memory budgets of the search
+                if (System.currentTimeMillis() >= this.deadline || this.cancelled.get()) {
+                    HdaStar.this.stop.set(true);
+                    break;
+                }
+                if (++this.expanded % this.memoryCheck == 0 && this.index == 0
+                        && runtime.totalMemory() - runtime.freeMemory() > this.memory) {
+                    HdaStar.this.outOfMemory = true;
+                    HdaStar.this.stop.set(true);
+                    break;
+                }
+
+                // Generate the successors and hand them to their owners
+                final int size = HdaStar.this.successors.getApplicableActions(current, this.applicable);
+                for (int k = 0; k < size; k++) {
+                    final int i = this.applicable[k];
+                    final Node next = new Node(current);
+                    HdaStar.this.actions.apply(i, next, this.changes, 0);
+                    next.setCost(current.getCost() + 1);
+                    next.setParent(current);
+                    next.setAction(i);
+                    next.setHeuristic(Double.NaN);
+                    final int owner = HdaStar.this.owner(next);
+                    if (owner == this.index) {
+                        this.receive(next);
+                    } else {
+                        final List<Node> out = this.outbox.get(owner);
+                        out.add(next);
+                        if (out.size() >= HdaStar.BATCH) {
+                            this.send(owner);
+                        }
+                    }
+                }
+                // Do not hold the partial batches too long while the other workers wait
+                if (this.expanded % HdaStar.BATCH == 0) {
+                    this.flush();
+                }
+            }
+        }
+
+        /**
+         * Receives a node: the node is evaluated and pushed on the open list if it is
+         * the cheapest node reaching its state, reopening the state if it was
+         * already expanded.
+         *
+         * @param node the node.
+         */
+        private void receive(final Node node) {
+            final Node known = this.nodes.get(node);
+            if (known == null || node.getCost() < known.getCost()) {
+                node.setHeuristic(known != null ? known.getHeuristic()
+                    : Double.isNaN(node.getHeuristic())
+                        ? this.heuristic.estimate(node, HdaStar.this.problem.getGoal()) : node.getHeuristic());
+                this.nodes.put(node, node);
+                if (!HdaStar.this.isPruned(node)) {
+                    this.open.add(node);
+                }
+            }
+        }
+
+        /**
+         * Sends the batch of nodes of a worker.
+         *
+         * @param owner the index of the worker.
+         */
+        private void send(final int owner) {
+            final List<Node> out = this.outbox.get(owner);
+            HdaStar.this.pending.addAndGet(out.size());
+            this.sent += out.size();
+            HdaStar.this.workers.get(owner).inbox.add(out);
+            this.outbox.set(owner, new ArrayList<>(HdaStar.BATCH));
+        }
+
+        /**
+         * Sends the non-empty batches of nodes of all the workers.
+         */
+        private void flush() {
+            for (int w = 0; w < this.outbox.size(); w++) {
+                if (!this.outbox.get(w).isEmpty()) {
+                    this.send(w);
+                }
+            }
+        }
+    }
+}
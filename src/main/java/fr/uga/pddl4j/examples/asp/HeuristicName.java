@@ -0,0 +1,104 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+
+/**
+ * This enumeration defines the heuristics the planner can use: the heuristics of
+ * pddl4j and the Fast Forward heuristic of the planner, which computes the same
+ * values as the one of pddl4j on a bit-parallel relaxed planning graph.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public enum HeuristicName {
+
+    /**
+     * The adjusted sum heuristic of pddl4j.
+     */
+    AJUSTED_SUM(StateHeuristic.Name.AJUSTED_SUM),
+
+    /**
+     * The adjusted sum 2 heuristic of pddl4j.
+     */
+    AJUSTED_SUM2(StateHeuristic.Name.AJUSTED_SUM2),
+
+    /**
+     * The adjusted sum 2M heuristic of pddl4j.
+     */
+    AJUSTED_SUM2M(StateHeuristic.Name.AJUSTED_SUM2M),
+
+    /**
+     * The combo heuristic of pddl4j.
+     */
+    COMBO(StateHeuristic.Name.COMBO),
+
+    /**
+     * The max heuristic of pddl4j.
+     */
+    MAX(StateHeuristic.Name.MAX),
+
+    /**
+     * The Fast Forward heuristic of pddl4j.
+     */
+    FAST_FORWARD(StateHeuristic.Name.FAST_FORWARD),
+
+    /**
+     * The Fast Forward heuristic of the planner ({@link RelaxedPlanHeuristic}).
+     */
+    FAST_FORWARD_BITSET(null),
+
+    /**
+     * The set-level heuristic of pddl4j.
+     */
+    SET_LEVEL(StateHeuristic.Name.SET_LEVEL),
+
+    /**
+     * The sum heuristic of pddl4j.
+     */
+    SUM(StateHeuristic.Name.SUM),
+
+    /**
+     * The sum mutex heuristic of pddl4j.
+     */
+    SUM_MUTEX(StateHeuristic.Name.SUM_MUTEX);
+
+    /**
+     * The name of the heuristic in pddl4j or null if the heuristic is implemented by
+     * the planner.
+     */
+    private final StateHeuristic.Name name;
+
+    /**
+     * Creates a new heuristic name.
+     *
+     * @param name the name of the heuristic in pddl4j or null.
+     */
+    HeuristicName(final StateHeuristic.Name name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns whether the values of the heuristic are the lengths of the relaxed plans
+     * of Fast Forward.
+     *
+     * @return <code>true</code> if the heuristic is a Fast Forward heuristic,
+     *         <code>false</code> otherwise.
+     */
+    public boolean isFastForward() {
+        return this == HeuristicName.FAST_FORWARD || this == HeuristicName.FAST_FORWARD_BITSET;
+    }
+
+    /**
+     * Creates an instance of the heuristic for a specified problem.
+     *
+     * @param problem the problem.
+     * @return the heuristic.
+     */
+    public StateHeuristic getInstance(final Problem problem) {
+        if (this.name == null) {
+            return new RelaxedPlanHeuristic(problem);
+        }
+        return StateHeuristic.getInstance(this.name, problem);
+    }
+}
@@ -0,0 +1,206 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements the fact landmarks of a problem, i.e., the fluents that are
+ * true in some state of every plan, computed once per problem on the relaxed
+ * problem.
+ * <p>
+ * The landmarks are found by propagating labels over the relaxed planning graph
+ * (Zhu and Givan, 2003): the label of a fluent of the initial state is the fluent
+ * itself, and the label of any other fluent is the intersection, over the operators
+ * adding it, of the union of the labels of their preconditions, plus the fluent
+ * itself. The propagation is iterated until no label changes, and the landmarks are
+ * the fluents of the labels of the positive fluents of the goal. As in the relaxed
+ * planning graph, every pair (action, conditional effect) is an operator whose
+ * precondition is the precondition of the action and the condition of the effect,
+ * and the negative fluents are ignored.
+ * </p>
+ * <p>
+ * A label is a set of fluents, so the propagation needs one set per fluent. No
+ * landmark is computed for the problems with more than {@link #MAX_FLUENTS} fluents.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class Landmarks {
+
+    /**
+     * The maximum number of fluents of a problem whose landmarks are computed.
+     */
+    public static final int MAX_FLUENTS = 16384;
+
+    /**
+     * The problem the landmarks were computed for.
+     */
+    private final Problem problem;
+
+    /**
+     * The landmarks that are not fluents of the goal.
+     */
+    private final int[] fluents;
+
+    /**
+     * Computes the landmarks of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public Landmarks(final Problem problem) {
+        this.problem = problem;
+        final int size = problem.getFluents().size();
+        this.fluents = size > Landmarks.MAX_FLUENTS ? new int[0] : Landmarks.compute(problem, size);
+    }
+
+    /**
+     * Returns the problem the landmarks were computed for.
+     *
+     * @return the problem the landmarks were computed for.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the landmarks of the problem that are not positive fluents of the goal.
+     *
+     * @return the landmarks of the problem that are not positive fluents of the goal.
+     */
+    public int[] getFluents() {
+        return this.fluents;
+    }
+
+    /**
+     * Returns the number of landmarks of the problem that are not positive fluents of
+     * the goal.
+     *
+     * @return the number of landmarks.
+     */
+    public int size() {
+        return this.fluents.length;
+    }
+
+    /**
+     * Propagates the labels of the fluents of a problem until no label changes and
+     * returns the landmarks of the goal that are not positive fluents of the goal.
+     *
+     * @param problem the problem.
+     * @param size    the number of fluents of the problem.
+     * @return the landmarks, or no landmark if the goal is unreachable in the relaxed
+     *         problem.
+     */
+    private static int[] compute(final Problem problem, final int size) {
+        final int words = (size + 63) >>> 6;
+        final List<Action> actions = problem.getActions();
+        int operators = 0;
+        for (Action action : actions) {
+            operators += action.getConditionalEffects().size();
+        }
+        final int[][] preconditions = new int[operators][];
+        final int[][] effects = new int[operators][];
+        int op = 0;
+        for (Action action : actions) {
+            for (ConditionalEffect ce : action.getConditionalEffects()) {
+                final BitVector precondition = new BitVector(action.getPrecondition().getPositiveFluents());
+                precondition.or(ce.getCondition().getPositiveFluents());
+                preconditions[op] = SuccessorGenerator.toArray(precondition);
+                effects[op] = SuccessorGenerator.toArray(ce.getEffect().getPositiveFluents());
+                op++;
+            }
+        }
+
+        // The label of a fluent is null until the fluent is reached
+        final long[][] labels = new long[size][];
+        final BitVector init = problem.getInitialState().getPositiveFluents();
+        for (int f = init.nextSetBit(0); f >= 0 && f < size; f = init.nextSetBit(f + 1)) {
+            labels[f] = new long[words];
+            labels[f][f >>> 6] |= 1L << f;
+        }
+        final long[] union = new long[words];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (op = 0; op < operators; op++) {
+                if (!Landmarks.union(preconditions[op], labels, union)) {
+                    continue;
+                }
+                for (int f : effects[op]) {
+                    if (init.get(f)) {
+                        continue;
+                    }
+                    if (labels[f] == null) {
+                        labels[f] = union.clone();
+                        labels[f][f >>> 6] |= 1L << f;
+                        changed = true;
+                    } else {
+                        final long[] label = labels[f];
+                        for (int w = 0; w < words; w++) {
+                            final long word = label[w] & (union[w] | (w == f >>> 6 ? 1L << f : 0L));
+                            if (word != label[w]) {
+                                label[w] = word;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // The landmarks are the labels of the goal minus the goal itself
+        final BitVector goal = problem.getGoal().getPositiveFluents();
+        final long[] landmarks = new long[words];
+        for (int g = goal.nextSetBit(0); g >= 0; g = goal.nextSetBit(g + 1)) {
+            if (labels[g] == null) {
+                return new int[0];
+            }
+            for (int w = 0; w < words; w++) {
+                landmarks[w] |= labels[g][w];
+            }
+        }
+        for (int g = goal.nextSetBit(0); g >= 0; g = goal.nextSetBit(g + 1)) {
+            landmarks[g >>> 6] &= ~(1L << g);
+        }
+        int count = 0;
+        for (long word : landmarks) {
+            count += Long.bitCount(word);
+        }
+        final int[] fluents = new int[count];
+        int i = 0;
+        for (int w = 0; w < words; w++) {
+            for (long word = landmarks[w]; word != 0; word &= word - 1) {
+                fluents[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return fluents;
+    }
+
+    /**
+     * Computes the union of the labels of the preconditions of an operator.
+     *
+     * @param precondition the preconditions of the operator.
+     * @param labels       the labels of the fluents.
+     * @param union        the set receiving the union.
+     * @return <code>false</code> if a precondition is not reached yet, <code>true</code>
+     *         otherwise.
+     */
+    private static boolean union(final int[] precondition, final long[][] labels, final long[] union) {
+        Arrays.fill(union, 0L);
+        for (int p : precondition) {
+            final long[] label = labels[p];
+            if (label == null) {
+                return false;
+            }
+            for (int w = 0; w < union.length; w++) {
+                union[w] |= label[w];
+            }
+        }
+        return true;
+    }
+}
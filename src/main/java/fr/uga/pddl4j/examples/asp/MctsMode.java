@@ -0,0 +1,23 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This enumeration defines the Monte Carlo search performed by the planner.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public enum MctsMode {
+
+    /**
+     * Monte Carlo random walks: the search jumps to the best endpoint of a batch of
+     * walks and restarts from the initial state when it stops making progress.
+     */
+    WALK,
+
+    /**
+     * Upper Confidence bounds applied to Trees: the search grows a persistent tree
+     * selected with UCB1, evaluated by random-walk rollouts and updated by backing
+     * up the rewards of the rollouts.
+     */
+    UCT
+}
@@ -2,9 +2,19 @@ package fr.uga.pddl4j.examples.asp;
 
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.BitSet;
 
 /**
  * This class implements a node of the tree search.
+ * <p>
+ * A node carries the 64-bit hash of its state ({@link StateHash}). The hash is
+ * computed once when the node is created from a state and then updated
+ * incrementally by the methods modifying the state, e.g., when the effects of an
+ * action are applied, from the fluents added and deleted only. The hash code of
+ * a node is derived from this hash and two nodes are only compared fluent by
+ * fluent when their hashes are equal. Hash-based collections should therefore
+ * not mix nodes and other states as keys.
+ * </p>
  *
  * @author D. Pellier
  * @version 1.0 - 02.12.2021
@@ -36,6 +46,16 @@ public final class Node extends State {
      */
     private int depth;
 
+    /**
+     * The 64-bit hash of the state of the node.
+     */
+    private long hash;
+
+    /**
+     * Whether the hash of the node is maintained, i.e., the node is fully created.
+     */
+    private boolean hashed;
+
     /**
      * Creates a new node from a specified state.
      *
@@ -43,6 +63,7 @@ public final class Node extends State {
      */
     public Node(State state) {
         super(state);
+        this.initHash(state);
     }
 
     /**
@@ -57,6 +78,7 @@ public final class Node extends State {
      */
     public Node(State state, Node parent, int action, double cost, double heuristic) {
         super(state);
+        this.initHash(state);
         this.parent = parent;
         this.action = action;
         this.cost = cost;
@@ -77,6 +99,7 @@ public final class Node extends State {
      */
     public Node(State state, Node parent, int action, double cost, int depth, double heuristic) {
         super(state);
+        this.initHash(state);
         this.parent = parent;
         this.action = action;
         this.cost = cost;
@@ -84,6 +107,37 @@ public final class Node extends State {
         this.heuristic = heuristic;
     }
 
+    /**
+     * Initializes the hash of the node from the state it was created from. The hash
+     * of a node is copied, the hash of other states is computed.
+     *
+     * @param state the state the node was created from.
+     */
+    private void initHash(final State state) {
+        this.hash = state instanceof Node ? ((Node) state).hash : StateHash.of(state);
+        this.hashed = true;
+    }
+
+    /**
+     * Returns the 64-bit hash of the state of the node.
+     *
+     * @return the 64-bit hash of the state of the node.
+     */
+    public final long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Returns the words of the state of the node. The words beyond the end of the
+     * array are 0. The array must not be modified and may be replaced when a fluent
+     * is set.
+     *
+     * @return the words of the state of the node.
+     */
+    final long[] words() {
+        return this.words;
+    }
+
     /**
      * Returns the action applied to reach the node.
      *
@@ -185,11 +239,195 @@ public final class Node extends State {
     public final double getValueF(double weight) {
         return weight * this.heuristic + this.cost;
     }
-    ////////////////////////////////////////
-    
 
+    /**
+     * Sets a fluent of the state and updates the hash of the node.
+     *
+     * @param fluent the fluent.
+     */
+    @Override
+    public void set(final int fluent) {
+        if (this.hashed && !this.get(fluent)) {
+            this.hash ^= StateHash.key(fluent);
+        }
+        super.set(fluent);
+    }
+
+    /**
+     * Sets a range of fluents of the state and updates the hash of the node.
+     *
+     * @param from the first fluent of the range.
+     * @param to   the fluent after the last fluent of the range.
+     */
+    @Override
+    public void set(final int from, final int to) {
+        if (this.hashed) {
+            for (int f = this.nextClearBit(from); f < to; f = this.nextClearBit(f + 1)) {
+                this.hash ^= StateHash.key(f);
+            }
+        }
+        super.set(from, to);
+    }
+
+    /**
+     * Clears a fluent of the state and updates the hash of the node.
+     *
+     * @param fluent the fluent.
+     */
+    @Override
+    public void clear(final int fluent) {
+        if (this.hashed && this.get(fluent)) {
+            this.hash ^= StateHash.key(fluent);
+        }
+        super.clear(fluent);
+    }
+
+    /**
+     * Clears a range of fluents of the state and updates the hash of the node.
+     *
+     * @param from the first fluent of the range.
+     * @param to   the fluent after the last fluent of the range.
+     */
+    @Override
+    public void clear(final int from, final int to) {
+        if (this.hashed) {
+            for (int f = this.nextSetBit(from); f >= 0 && f < to; f = this.nextSetBit(f + 1)) {
+                this.hash ^= StateHash.key(f);
+            }
+        }
+        super.clear(from, to);
+    }
+
+    /**
+     * Clears all the fluents of the state and resets the hash of the node.
+     */
+    @Override
+    public void clear() {
+        this.hash = 0;
+        super.clear();
+    }
 
-    
-    
+    /**
+     * Flips a fluent of the state and updates the hash of the node.
+     *
+     * @param fluent the fluent.
+     */
+    @Override
+    public void flip(final int fluent) {
+        if (this.hashed) {
+            this.hash ^= StateHash.key(fluent);
+        }
+        super.flip(fluent);
+    }
 
+    /**
+     * Flips a range of fluents of the state and updates the hash of the node.
+     *
+     * @param from the first fluent of the range.
+     * @param to   the fluent after the last fluent of the range.
+     */
+    @Override
+    public void flip(final int from, final int to) {
+        if (this.hashed) {
+            for (int f = from; f < to; f++) {
+                this.hash ^= StateHash.key(f);
+            }
+        }
+        super.flip(from, to);
+    }
+
+    /**
+     * Adds the fluents of a set to the state, e.g., the positive effects of an
+     * action, and updates the hash of the node.
+     *
+     * @param set the set of fluents.
+     */
+    @Override
+    public void or(final BitSet set) {
+        if (this.hashed) {
+            for (int f = set.nextSetBit(0); f >= 0; f = set.nextSetBit(f + 1)) {
+                if (!this.get(f)) {
+                    this.hash ^= StateHash.key(f);
+                }
+            }
+        }
+        super.or(set);
+    }
+
+    /**
+     * Removes the fluents of a set from the state, e.g., the negative effects of an
+     * action, and updates the hash of the node.
+     *
+     * @param set the set of fluents.
+     */
+    @Override
+    public void andNot(final BitSet set) {
+        if (this.hashed) {
+            for (int f = set.nextSetBit(0); f >= 0; f = set.nextSetBit(f + 1)) {
+                if (this.get(f)) {
+                    this.hash ^= StateHash.key(f);
+                }
+            }
+        }
+        super.andNot(set);
+    }
+
+    /**
+     * Keeps only the fluents of the state belonging to a set and updates the hash of
+     * the node.
+     *
+     * @param set the set of fluents.
+     */
+    @Override
+    public void and(final BitSet set) {
+        if (this.hashed) {
+            for (int f = this.nextSetBit(0); f >= 0; f = this.nextSetBit(f + 1)) {
+                if (!set.get(f)) {
+                    this.hash ^= StateHash.key(f);
+                }
+            }
+        }
+        super.and(set);
+    }
+
+    /**
+     * Flips the fluents of the state belonging to a set and updates the hash of the
+     * node.
+     *
+     * @param set the set of fluents.
+     */
+    @Override
+    public void xor(final BitSet set) {
+        if (this.hashed) {
+            for (int f = set.nextSetBit(0); f >= 0; f = set.nextSetBit(f + 1)) {
+                this.hash ^= StateHash.key(f);
+            }
+        }
+        super.xor(set);
+    }
+
+    /**
+     * Returns the hash code of the node, derived from the hash of its state.
+     *
+     * @return the hash code of the node.
+     */
+    @Override
+    public int hashCode() {
+        return (int) (this.hash ^ (this.hash >>> 32));
+    }
+
+    /**
+     * Returns whether the node has the same state as a specified object. The states
+     * of two nodes are only compared when their hashes are equal.
+     *
+     * @param obj the object to compare.
+     * @return <code>true</code> if the object has the same state as the node, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof Node && ((Node) obj).hash != this.hash) {
+            return false;
+        }
+        return super.equals(obj);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,460 @@
+package fr.uga.pddl4j.examples.asp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * This class implements a compact store of the nodes of an A* search. A node is an
+ * integer id indexing primitive tables: the words of its state, the hash of its
+ * state, the id of its parent, the action reaching it, its cost and its heuristic
+ * value. The store also indexes its nodes by state in an open-addressing hash table,
+ * so that it holds at most one node per state.
+ * <p>
+ * The tables are split in slabs of {@link #SLAB_STATES} nodes, allocated as the
+ * store grows. The hashes, the costs and the heuristic values of the nodes are
+ * read whenever a state is generated. The words of the states, the parents and the
+ * actions are kept apart in cold slabs: they are mostly read when the nodes are
+ * expanded, i.e., shortly after they are created, and then only to confirm a match
+ * of a hash or to extract the plan. When the heap is short, the oldest cold slabs
+ * can thus be spilled to a memory-mapped file ({@link #spill(long)}): they leave
+ * the heap and are read and written in the file from then on.
+ * </p>
+ * <p>
+ * A mapped file cannot be unmapped explicitly: on some systems it cannot be deleted
+ * until its mappings are collected. The file of a closed store is thus deleted if
+ * possible and otherwise handed over to the next store that spills, so that a
+ * planner solving many problems keeps at most one file per store open at a time.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class NodeArena {
+
+    /**
+     * The number of states of a slab, a power of two.
+     */
+    public static final int SLAB_STATES = 1 << 16;
+
+    /**
+     * The initial number of slots of the hash table.
+     */
+    private static final int INITIAL_TABLE = 1 << 12;
+
+    /**
+     * The files of the closed stores that could not be deleted, reused by the next
+     * stores that spill.
+     */
+    private static final Deque<File> FILES = new ArrayDeque<>();
+
+    /**
+     * The number of words of a state.
+     */
+    private final int width;
+
+    /**
+     * The number of longs of a node in a cold slab: the words of its state, then its
+     * parent and its action packed in a long.
+     */
+    private final int stride;
+
+    /**
+     * The cold slabs kept in the heap, null for the slabs spilled.
+     */
+    private long[][] slabs = new long[0][];
+
+    /**
+     * The cold slabs spilled to the file, null for the slabs kept in the heap.
+     */
+    private LongBuffer[] mapped = new LongBuffer[0];
+
+    /**
+     * The slabs of the hashes of the states of the nodes.
+     */
+    private long[][] hashes = new long[0][];
+
+    /**
+     * The slabs of the costs of the nodes.
+     */
+    private int[][] costs = new int[0][];
+
+    /**
+     * The slabs of the heuristic values of the nodes.
+     */
+    private int[][] heuristics = new int[0][];
+
+    /**
+     * The hash table of the nodes: the id of a node plus 1 or 0 for an empty slot.
+     */
+    private int[] table = new int[NodeArena.INITIAL_TABLE];
+
+    /**
+     * The number of nodes.
+     */
+    private int size;
+
+    /**
+     * The number of slabs spilled to the file.
+     */
+    private int spilled;
+
+    /**
+     * Whether the file the slabs are spilled to could not be written.
+     */
+    private boolean failed;
+
+    /**
+     * The file the slabs are spilled to or null if no slab was spilled.
+     */
+    private File file;
+
+    /**
+     * The channel of the file the slabs are spilled to or null if no slab was spilled.
+     */
+    private RandomAccessFile channel;
+
+    /**
+     * Whether the file the slabs are spilled to is a file of a closed store.
+     */
+    private boolean reused;
+
+    /**
+     * Creates a new empty store.
+     *
+     * @param fluents the number of fluents of the states.
+     */
+    public NodeArena(final int fluents) {
+        this.width = Math.max(1, (fluents + Long.SIZE - 1) / Long.SIZE);
+        this.stride = this.width + 1;
+    }
+
+    /**
+     * Returns the number of nodes of the store.
+     *
+     * @return the number of nodes of the store.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of states spilled to the file.
+     *
+     * @return the number of states spilled to the file.
+     */
+    public long getSpilled() {
+        return (long) this.spilled * NodeArena.SLAB_STATES;
+    }
+
+    /**
+     * Returns the number of bytes of the heap used by the store.
+     *
+     * @return the number of bytes of the heap used by the store.
+     */
+    public long getHeapBytes() {
+        final long cold = (long) (this.slabs.length - this.spilled) * NodeArena.SLAB_STATES * this.stride * Long.BYTES;
+        final long hot = (long) this.hashes.length * NodeArena.SLAB_STATES * (Long.BYTES + 2 * Integer.BYTES);
+        return cold + hot + (long) this.table.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the id of the parent of a node.
+     *
+     * @param node the id of the node.
+     * @return the id of the parent of the node or -1.
+     */
+    public int getParent(final int node) {
+        return (int) (this.word(node, this.width) >> 32);
+    }
+
+    /**
+     * Returns the action reaching a node from its parent.
+     *
+     * @param node the id of the node.
+     * @return the action reaching the node from its parent or -1.
+     */
+    public int getAction(final int node) {
+        return (int) this.word(node, this.width);
+    }
+
+    /**
+     * Returns the cost of a node.
+     *
+     * @param node the id of the node.
+     * @return the cost of the node.
+     */
+    public int getCost(final int node) {
+        return this.costs[node / NodeArena.SLAB_STATES][node % NodeArena.SLAB_STATES];
+    }
+
+    /**
+     * Returns the heuristic value of a node.
+     *
+     * @param node the id of the node.
+     * @return the heuristic value of the node.
+     */
+    public int getHeuristic(final int node) {
+        return this.heuristics[node / NodeArena.SLAB_STATES][node % NodeArena.SLAB_STATES];
+    }
+
+    /**
+     * Sets the path reaching a node, when a cheaper path to its state is found.
+     *
+     * @param node   the id of the node.
+     * @param parent the id of the parent of the node.
+     * @param action the action reaching the node from its parent.
+     * @param cost   the cost of the node.
+     */
+    public void setPath(final int node, final int parent, final int action, final int cost) {
+        final int slab = node / NodeArena.SLAB_STATES;
+        final int offset = (node % NodeArena.SLAB_STATES) * this.stride + this.width;
+        final long path = NodeArena.path(parent, action);
+        if (this.slabs[slab] != null) {
+            this.slabs[slab][offset] = path;
+        } else {
+            this.mapped[slab].put(offset, path);
+        }
+        this.costs[slab][node % NodeArena.SLAB_STATES] = cost;
+    }
+
+    /**
+     * Returns the id of the node of a state.
+     *
+     * @param state the state.
+     * @return the id of the node of the state or -1 if the store holds no node of the state.
+     */
+    public int find(final Node state) {
+        final long hash = state.getHash();
+        final int mask = this.table.length - 1;
+        for (int i = NodeArena.index(hash) & mask; this.table[i] != 0; i = (i + 1) & mask) {
+            final int node = this.table[i] - 1;
+            if (this.hash(node) == hash && this.matches(node, state)) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the node of a state not in the store.
+     *
+     * @param state     the state.
+     * @param parent    the id of the parent of the node or -1.
+     * @param action    the action reaching the node from its parent or -1.
+     * @param cost      the cost of the node.
+     * @param heuristic the heuristic value of the node.
+     * @return the id of the node.
+     */
+    public int add(final Node state, final int parent, final int action, final int cost, final int heuristic) {
+        final int node = this.size++;
+        final int slab = node / NodeArena.SLAB_STATES;
+        if (slab == this.slabs.length) {
+            this.slabs = Arrays.copyOf(this.slabs, slab + 1);
+            this.mapped = Arrays.copyOf(this.mapped, slab + 1);
+            this.hashes = Arrays.copyOf(this.hashes, slab + 1);
+            this.costs = Arrays.copyOf(this.costs, slab + 1);
+            this.heuristics = Arrays.copyOf(this.heuristics, slab + 1);
+            this.slabs[slab] = new long[NodeArena.SLAB_STATES * this.stride];
+            this.hashes[slab] = new long[NodeArena.SLAB_STATES];
+            this.costs[slab] = new int[NodeArena.SLAB_STATES];
+            this.heuristics[slab] = new int[NodeArena.SLAB_STATES];
+        }
+        final int index = node % NodeArena.SLAB_STATES;
+        final long[] words = state.words();
+        System.arraycopy(words, 0, this.slabs[slab], index * this.stride, Math.min(words.length, this.width));
+        this.slabs[slab][index * this.stride + this.width] = NodeArena.path(parent, action);
+        this.hashes[slab][index] = state.getHash();
+        this.costs[slab][index] = cost;
+        this.heuristics[slab][index] = heuristic;
+        this.insert(node);
+        return node;
+    }
+
+    /**
+     * Loads the state of a node into a node used as scratch state.
+     *
+     * @param node  the id of the node.
+     * @param state the scratch state.
+     */
+    public void load(final int node, final Node state) {
+        state.clear();
+        for (int w = 0; w < this.width; w++) {
+            long word = this.word(node, w);
+            while (word != 0) {
+                state.set((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Spills the oldest slabs of states kept in the heap to a memory-mapped file until
+     * the store uses at most a number of bytes of the heap. The slab being filled is
+     * never spilled. If the file cannot be written, nothing is spilled anymore.
+     *
+     * @param target the number of bytes of the heap the store may use.
+     * @return the number of slabs spilled.
+     */
+    public int spill(final long target) {
+        final long bytes = (long) NodeArena.SLAB_STATES * this.stride * Long.BYTES;
+        int count = 0;
+        if (this.failed) {
+            return count;
+        }
+        try {
+            if (this.file == null) {
+                synchronized (NodeArena.FILES) {
+                    this.file = NodeArena.FILES.poll();
+                }
+                this.reused = this.file != null;
+                if (this.file == null) {
+                    this.file = File.createTempFile("asp-nodes", ".bin");
+                }
+                this.channel = new RandomAccessFile(this.file, "rw");
+            }
+            while (this.spilled < this.slabs.length - 1 && this.getHeapBytes() > target) {
+                final int slab = this.spilled;
+                final LongBuffer buffer = this.channel.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, slab * bytes, bytes).asLongBuffer();
+                buffer.put(this.slabs[slab]);
+                this.mapped[slab] = buffer;
+                this.slabs[slab] = null;
+                this.spilled++;
+                count++;
+            }
+        } catch (IOException e) {
+            // The slabs are kept in the heap, the search stops with the memory budget
+            this.failed = true;
+        }
+        return count;
+    }
+
+    /**
+     * Releases the file the slabs were spilled to, if any: the file is deleted or, if
+     * it is still mapped, kept for the next store that spills and deleted on exit.
+     * The store must not be used anymore.
+     */
+    public void close() {
+        // Drop the mappings first, so that the file may be deleted
+        this.slabs = new long[0][];
+        this.mapped = new LongBuffer[0];
+        try {
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        } catch (IOException e) {
+            // The file is released below anyway
+        }
+        if (this.file != null && !this.file.delete()) {
+            if (!this.reused) {
+                this.file.deleteOnExit();
+            }
+            synchronized (NodeArena.FILES) {
+                NodeArena.FILES.add(this.file);
+            }
+        }
+        this.channel = null;
+        this.file = null;
+    }
+
+    /**
+     * Returns a long of a node in its cold slab, read from the heap or from the file:
+     * a word of its state or its packed parent and action.
+     *
+     * @param node the id of the node.
+     * @param w    the index of the long.
+     * @return the long of the node.
+     */
+    private long word(final int node, final int w) {
+        final int slab = node / NodeArena.SLAB_STATES;
+        final int offset = (node % NodeArena.SLAB_STATES) * this.stride + w;
+        final long[] words = this.slabs[slab];
+        return words != null ? words[offset] : this.mapped[slab].get(offset);
+    }
+
+    /**
+     * Returns whether the state of a node is a specified state.
+     *
+     * @param node  the id of the node.
+     * @param state the state.
+     * @return <code>true</code> if the state of the node is the state, <code>false</code> otherwise.
+     */
+    private boolean matches(final int node, final Node state) {
+        final long[] words = state.words();
+        for (int w = 0; w < this.width; w++) {
+            if (this.word(node, w) != (w < words.length ? words[w] : 0L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash of the state of a node.
+     *
+     * @param node the id of the node.
+     * @return the hash of the state of the node.
+     */
+    private long hash(final int node) {
+        return this.hashes[node / NodeArena.SLAB_STATES][node % NodeArena.SLAB_STATES];
+    }
+
+    /**
+     * Inserts a node in the hash table, doubling the table beyond a load of 3/4.
+     *
+     * @param node the id of the node.
+     */
+    private void insert(final int node) {
+        if (4L * this.size > 3L * this.table.length) {
+            final int[] old = this.table;
+            this.table = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    this.place(entry - 1);
+                }
+            }
+        }
+        this.place(node);
+    }
+
+    /**
+     * Places a node in the first empty slot of its probe sequence.
+     *
+     * @param node the id of the node.
+     */
+    private void place(final int node) {
+        final int mask = this.table.length - 1;
+        int i = NodeArena.index(this.hash(node)) & mask;
+        while (this.table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        this.table[i] = node + 1;
+    }
+
+    /**
+     * Packs the parent and the action of a node in a long.
+     *
+     * @param parent the id of the parent of the node or -1.
+     * @param action the action reaching the node from its parent or -1.
+     * @return the parent and the action packed.
+     */
+    private static long path(final int parent, final int action) {
+        return ((long) parent << 32) | (action & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the index of a hash in the hash table, mixing its high bits in.
+     *
+     * @param hash the hash.
+     * @return the index of the hash.
+     */
+    private static int index(final long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
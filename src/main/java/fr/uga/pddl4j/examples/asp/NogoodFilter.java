@@ -0,0 +1,204 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class implements a bounded store of the dead ends met by the random walks:
+ * the states without applicable action and the states from which the goal is
+ * unreachable in the relaxed problem. The states are recorded by their hash
+ * ({@link StateHash}) in a Bloom filter sized from a memory budget, so that a walk
+ * can test in constant time whether the state it reached is a known dead end.
+ * <p>
+ * A state is recorded as the partial state of its relevant fluents, i.e., the
+ * fluents of a precondition, of the condition of an effect or of the goal. The
+ * other fluents cannot change which actions are applicable nor whether the goal
+ * holds, so two states with the same relevant fluents are both dead ends or both
+ * not. The key of the partial state is the hash of the state with the keys of its
+ * irrelevant fluents removed: a walk keeps it up to date by removing the key of
+ * every irrelevant fluent it flips ({@link #projection(int)}).
+ * </p>
+ * <p>
+ * Each state sets {@link #PROBES} bits of the filter derived from its hash. A
+ * false positive cuts a walk short. A walk queries the filter at every state it
+ * evaluates, up to 160 times with the default evaluation policy and maximum walk
+ * length, so the false positives add up over a walk. The filter is cleared once it
+ * holds {@link #LOAD} states per bit, which keeps the rate of false positives under
+ * 0.005% per query, i.e., under 1% per walk of 160 queries. The bits are updated
+ * atomically, so that the walk workers share the filter.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class NogoodFilter {
+
+    /**
+     * The number of bits set by a state.
+     */
+    public static final int PROBES = 8;
+
+    /**
+     * The maximum number of states recorded per bit of the filter before it is cleared.
+     */
+    public static final double LOAD = 1.0 / 24.0;
+
+    /**
+     * The key of each irrelevant fluent and 0 for the relevant fluents.
+     */
+    private final long[] projections;
+
+    /**
+     * The bits of the filter.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * The mask of the index of a bit.
+     */
+    private final long mask;
+
+    /**
+     * The number of states recorded before the filter is cleared.
+     */
+    private final int capacity;
+
+    /**
+     * The number of states recorded since the filter was last cleared.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The number of states recorded since the filter was created.
+     */
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    /**
+     * Creates a new filter for a specified problem.
+     *
+     * @param problem the problem.
+     * @param budget  the memory budget of the filter in bytes.
+     */
+    public NogoodFilter(final Problem problem, final long budget) {
+        final BitVector relevant = new BitVector(problem.getGoal());
+        for (Action action : problem.getActions()) {
+            relevant.or(action.getPrecondition().getPositiveFluents());
+            relevant.or(action.getPrecondition().getNegativeFluents());
+            for (ConditionalEffect ce : action.getConditionalEffects()) {
+                relevant.or(ce.getCondition().getPositiveFluents());
+                relevant.or(ce.getCondition().getNegativeFluents());
+            }
+        }
+        this.projections = new long[problem.getFluents().size()];
+        for (int f = 0; f < this.projections.length; f++) {
+            if (!relevant.get(f)) {
+                this.projections[f] = StateHash.key(f);
+            }
+        }
+
+        // The number of words is the largest power of two within the budget
+        int words = 1;
+        while (words <= Integer.MAX_VALUE / 2 && (long) words * 2 * Long.BYTES <= budget) {
+            words *= 2;
+        }
+        this.words = new AtomicLongArray(words);
+        this.mask = (long) words * Long.SIZE - 1;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, (long) (words * (double) Long.SIZE * NogoodFilter.LOAD));
+    }
+
+    /**
+     * Returns the number of states recorded since the filter was created.
+     *
+     * @return the number of states recorded since the filter was created.
+     */
+    public int getRecorded() {
+        return this.recorded.get();
+    }
+
+    /**
+     * Returns the value to exclusive-or with the key of a partial state when a fluent
+     * is flipped: the key of the fluent if it is irrelevant and 0 otherwise.
+     *
+     * @param fluent the fluent flipped.
+     * @return the key of the fluent if it is irrelevant and 0 otherwise.
+     */
+    public long projection(final int fluent) {
+        return this.projections[fluent];
+    }
+
+    /**
+     * Returns the key of the partial state of the relevant fluents of a node.
+     *
+     * @param node the node.
+     * @return the key of the partial state of the node.
+     */
+    public long key(final Node node) {
+        long key = node.getHash();
+        for (int f = node.nextSetBit(0); f >= 0 && f < this.projections.length; f = node.nextSetBit(f + 1)) {
+            key ^= this.projections[f];
+        }
+        return key;
+    }
+
+    /**
+     * Returns whether a state was recorded as a dead end, or is a false positive.
+     *
+     * @param key the key of the partial state of the state.
+     * @return <code>true</code> if the state may be a dead end, <code>false</code> if it was not recorded.
+     */
+    public boolean contains(final long key) {
+        long h = key;
+        for (int i = 0; i < NogoodFilter.PROBES; i++) {
+            final long bit = h & this.mask;
+            if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            h = NogoodFilter.next(h);
+        }
+        return true;
+    }
+
+    /**
+     * Records a state as a dead end.
+     *
+     * @param key the key of the partial state of the state.
+     */
+    public void add(final long key) {
+        if (this.contains(key)) {
+            return;
+        }
+        if (this.size.incrementAndGet() > this.capacity) {
+            for (int i = 0; i < this.words.length(); i++) {
+                this.words.set(i, 0L);
+            }
+            this.size.set(1);
+        }
+        this.recorded.incrementAndGet();
+        long h = key;
+        for (int i = 0; i < NogoodFilter.PROBES; i++) {
+            final long bit = h & this.mask;
+            final int w = (int) (bit >>> 6);
+            long word = this.words.get(w);
+            while ((word & (1L << bit)) == 0 && !this.words.compareAndSet(w, word, word | (1L << bit))) {
+                word = this.words.get(w);
+            }
+            h = NogoodFilter.next(h);
+        }
+    }
+
+    /**
+     * Derives the hash of the next probe from the hash of a probe.
+     *
+     * @param hash the hash of the probe.
+     * @return the hash of the next probe.
+     */
+    private static long next(final long hash) {
+        final long h = (hash ^ (hash >>> 31)) * 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+}
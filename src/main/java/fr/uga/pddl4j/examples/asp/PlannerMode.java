@@ -0,0 +1,27 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This enumeration defines the search engines the planner runs to solve a problem.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public enum PlannerMode {
+
+    /**
+     * A* search, hash-distributed between several workers if more than one worker is
+     * set.
+     */
+    ASTAR,
+
+    /**
+     * Monte Carlo search, random walks or UCT depending on the Monte Carlo mode.
+     */
+    MCTS,
+
+    /**
+     * A* and Monte Carlo searches run concurrently: the first plan found is returned
+     * and the other search is cancelled.
+     */
+    PORTFOLIO
+}
@@ -0,0 +1,75 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+
+/**
+ * This class implements the Fast Forward heuristic on top of the bit-parallel
+ * relaxed planning graph of the planner ({@link RelaxedPlanningGraph}). Its values
+ * are the values of the heuristic <code>FAST_FORWARD</code> of pddl4j, but the graph
+ * is expanded a word of fluents at a time and its buffers are reused from one
+ * estimate to the next. Like the heuristics of pddl4j, it is not admissible and not
+ * thread-safe.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class RelaxedPlanHeuristic implements StateHeuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The relaxed planning graph expanded by the estimates.
+     */
+    private final RelaxedPlanningGraph graph;
+
+    /**
+     * Creates a new heuristic for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public RelaxedPlanHeuristic(final Problem problem) {
+        this.graph = new RelaxedPlanningGraph(problem);
+    }
+
+    /**
+     * Returns the length of the relaxed plan of a state for a specified goal.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the length of the relaxed plan or <code>Integer.MAX_VALUE</code> if the
+     *         goal is unreachable in the relaxed problem.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        return this.graph.estimate(state, goal);
+    }
+
+    /**
+     * Returns the length of the relaxed plan of a node for a specified goal.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the length of the relaxed plan or <code>Integer.MAX_VALUE</code> if the
+     *         goal is unreachable in the relaxed problem.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.Node node, final Condition goal) {
+        return this.graph.estimate(node, goal);
+    }
+
+    /**
+     * Returns <code>false</code>: the length of a relaxed plan is not admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+}
@@ -0,0 +1,858 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class implements the relaxed planning graph of the Fast Forward heuristic and
+ * extracts from it the relaxed plan of a state together with its helpful actions.
+ * <p>
+ * The graph is expanded and the relaxed plan extracted exactly as the Fast Forward
+ * heuristic of pddl4j does, so that {@link #estimate(State)} returns the same value
+ * as the heuristic <code>FAST_FORWARD</code>. pddl4j does not expose the relaxed plan
+ * it computes, hence this class. The helpful actions of a state are the actions
+ * applicable in the state that achieve a subgoal of the first layer of its relaxed
+ * plan (Hoffmann and Nebel, 2001). They are collected while the relaxed plan is
+ * extracted, so that a single expansion of the graph gives both the heuristic value
+ * of the state and its helpful actions.
+ * </p>
+ * <p>
+ * Every pair (action, conditional effect) is an operator of the graph whose
+ * precondition is the precondition of the action and the condition of the effect.
+ * The graph is not thread-safe: every walk worker owns its graph.
+ * </p>
+ * <p>
+ * The layers of the graph and the subgoals of the relaxed plan are sets of fluents
+ * stored as arrays of 64-bit words and updated a word at a time: the effects of an
+ * operator are precompiled into word masks or-ed into the next layer, and a layer
+ * is reduced to its new fluents with a word-wise <code>andNot</code>. An operator
+ * is triggered when the counter of its precondition fluents reached is complete.
+ * The buffers are allocated once and an expansion only resets the entries written
+ * by the previous one. The layers of the negative fluents are only recorded when
+ * an operator has a negative precondition or the goal a negative fluent, since
+ * they cannot change the relaxed plan otherwise.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class RelaxedPlanningGraph {
+
+    /**
+     * The problem the graph was built for.
+     */
+    private final Problem problem;
+
+    /**
+     * The number of fluents of the problem.
+     */
+    private final int fluents;
+
+    /**
+     * The index of the first operator of each action. The operators of the action
+     * <code>a</code> are in <code>[operatorStart[a], operatorStart[a + 1])</code>.
+     */
+    private final int[] operatorStart;
+
+    /**
+     * The positive fluents of the precondition of each operator.
+     */
+    private final int[][] preconditionPositive;
+
+    /**
+     * The negative fluents of the precondition of each operator.
+     */
+    private final int[][] preconditionNegative;
+
+    /**
+     * The number of fluents of the precondition of each operator.
+     */
+    private final int[] preconditionCardinality;
+
+    /**
+     * The fluents added by each operator.
+     */
+    private final int[][] effectPositive;
+
+    /**
+     * The fluents deleted by each operator.
+     */
+    private final int[][] effectNegative;
+
+    /**
+     * The index of the first word mask of the fluents added by each operator. The
+     * masks of the operator <code>op</code> are in
+     * <code>[positiveMaskStart[op], positiveMaskStart[op + 1])</code>.
+     */
+    private final int[] positiveMaskStart;
+
+    /**
+     * The index of the word of each mask of the fluents added.
+     */
+    private final int[] positiveMaskWord;
+
+    /**
+     * The fluents added in the word of each mask.
+     */
+    private final long[] positiveMask;
+
+    /**
+     * The index of the first word mask of the fluents deleted by each operator. The
+     * masks of the operator <code>op</code> are in
+     * <code>[negativeMaskStart[op], negativeMaskStart[op + 1])</code>.
+     */
+    private final int[] negativeMaskStart;
+
+    /**
+     * The index of the word of each mask of the fluents deleted.
+     */
+    private final int[] negativeMaskWord;
+
+    /**
+     * The fluents deleted in the word of each mask.
+     */
+    private final long[] negativeMask;
+
+    /**
+     * Whether an operator has a negative precondition.
+     */
+    private final boolean negativePreconditions;
+
+    /**
+     * The operators without precondition. As in pddl4j, they are triggered every
+     * time a layer of the graph contains a new fluent.
+     */
+    private final int[] unconditioned;
+
+    /**
+     * The operators having each fluent in their positive precondition.
+     */
+    private final int[][] positivePreconditionEdges;
+
+    /**
+     * The operators having each fluent in their negative precondition.
+     */
+    private final int[][] negativePreconditionEdges;
+
+    /**
+     * The operators adding each fluent, in increasing order.
+     */
+    private final int[][] positiveEffectEdges;
+
+    /**
+     * The operators deleting each fluent, in increasing order.
+     */
+    private final int[][] negativeEffectEdges;
+
+    /**
+     * The goal of the last estimate.
+     */
+    private Condition goal;
+
+    /**
+     * The positive fluents of the goal.
+     */
+    private int[] goalPositive;
+
+    /**
+     * The negative fluents of the goal.
+     */
+    private int[] goalNegative;
+
+    /**
+     * Whether the layers of the negative fluents are recorded by the current expansion.
+     */
+    private boolean negatives;
+
+    /**
+     * Whether the layers of the negative fluents were recorded by the last expansion.
+     */
+    private boolean negativeLevelled;
+
+    /**
+     * The layer where each fluent first becomes true.
+     */
+    private final int[] positiveLevel;
+
+    /**
+     * The layer where each fluent first becomes false.
+     */
+    private final int[] negativeLevel;
+
+    /**
+     * The layer where each operator is applied.
+     */
+    private final int[] operatorLevel;
+
+    /**
+     * The difficulty of each operator, i.e., the sum of the layers of its precondition.
+     */
+    private final int[] operatorDifficulty;
+
+    /**
+     * The number of fluents of the precondition of each operator reached so far.
+     */
+    private final int[] preconditionCounter;
+
+    /**
+     * The operators whose counter was incremented by the last expansion.
+     */
+    private final int[] touched;
+
+    /**
+     * The number of operators whose counter was incremented by the last expansion.
+     */
+    private int touchedSize;
+
+    /**
+     * The fluents becoming true in the current layer.
+     */
+    private final long[] positiveLayer;
+
+    /**
+     * The fluents becoming false in the current layer.
+     */
+    private final long[] negativeLayer;
+
+    /**
+     * The fluents true in one of the layers expanded so far.
+     */
+    private final long[] positiveReached;
+
+    /**
+     * The fluents false in one of the layers expanded so far.
+     */
+    private final long[] negativeReached;
+
+    /**
+     * The operators applied in the current layer.
+     */
+    private final long[] triggered;
+
+    /**
+     * The positive subgoals of each layer of the relaxed plan.
+     */
+    private long[][] positiveGoals = new long[0][];
+
+    /**
+     * The negative subgoals of each layer of the relaxed plan.
+     */
+    private long[][] negativeGoals = new long[0][];
+
+    /**
+     * The positive subgoals of the first layer of the last relaxed plan extracted.
+     */
+    private final long[] positiveHelpful;
+
+    /**
+     * The negative subgoals of the first layer of the last relaxed plan extracted.
+     */
+    private final long[] negativeHelpful;
+
+    /**
+     * Whether the first layer of the last relaxed plan extracted has subgoals.
+     */
+    private boolean helpful;
+
+    /**
+     * The number of goal fluents reached by the graph.
+     */
+    private int goalCounter;
+
+    /**
+     * Creates a new relaxed planning graph for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public RelaxedPlanningGraph(final Problem problem) {
+        this.problem = problem;
+        final List<Action> actions = problem.getActions();
+        this.fluents = problem.getFluents().size();
+        this.operatorStart = new int[actions.size() + 1];
+        int operators = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            this.operatorStart[a] = operators;
+            operators += actions.get(a).getConditionalEffects().size();
+        }
+        this.operatorStart[actions.size()] = operators;
+        this.preconditionPositive = new int[operators][];
+        this.preconditionNegative = new int[operators][];
+        this.preconditionCardinality = new int[operators];
+        this.effectPositive = new int[operators][];
+        this.effectNegative = new int[operators][];
+        final int[] positivePreconditionCount = new int[this.fluents];
+        final int[] negativePreconditionCount = new int[this.fluents];
+        final int[] positiveEffectCount = new int[this.fluents];
+        final int[] negativeEffectCount = new int[this.fluents];
+        final BitSet unconditioned = new BitSet();
+        boolean negativePreconditions = false;
+        for (int a = 0; a < actions.size(); a++) {
+            int op = this.operatorStart[a];
+            for (ConditionalEffect ce : actions.get(a).getConditionalEffects()) {
+                final BitVector positive = new BitVector(actions.get(a).getPrecondition().getPositiveFluents());
+                final BitVector negative = new BitVector(actions.get(a).getPrecondition().getNegativeFluents());
+                positive.or(ce.getCondition().getPositiveFluents());
+                negative.or(ce.getCondition().getNegativeFluents());
+                this.preconditionPositive[op] = SuccessorGenerator.toArray(positive);
+                this.preconditionNegative[op] = SuccessorGenerator.toArray(negative);
+                this.preconditionCardinality[op] = positive.cardinality() + negative.cardinality();
+                this.effectPositive[op] = SuccessorGenerator.toArray(ce.getEffect().getPositiveFluents());
+                this.effectNegative[op] = SuccessorGenerator.toArray(ce.getEffect().getNegativeFluents());
+                if (this.preconditionCardinality[op] == 0) {
+                    unconditioned.set(op);
+                }
+                negativePreconditions |= this.preconditionNegative[op].length > 0;
+                RelaxedPlanningGraph.count(this.preconditionPositive[op], positivePreconditionCount);
+                RelaxedPlanningGraph.count(this.preconditionNegative[op], negativePreconditionCount);
+                RelaxedPlanningGraph.count(this.effectPositive[op], positiveEffectCount);
+                RelaxedPlanningGraph.count(this.effectNegative[op], negativeEffectCount);
+                op++;
+            }
+        }
+        this.negativePreconditions = negativePreconditions;
+        this.unconditioned = unconditioned.stream().toArray();
+        this.positivePreconditionEdges = RelaxedPlanningGraph.edges(this.preconditionPositive,
+            positivePreconditionCount);
+        this.negativePreconditionEdges = RelaxedPlanningGraph.edges(this.preconditionNegative,
+            negativePreconditionCount);
+        this.positiveEffectEdges = RelaxedPlanningGraph.edges(this.effectPositive, positiveEffectCount);
+        this.negativeEffectEdges = RelaxedPlanningGraph.edges(this.effectNegative, negativeEffectCount);
+
+        // Compile the effects of the operators into word masks
+        this.positiveMaskStart = new int[operators + 1];
+        this.negativeMaskStart = new int[operators + 1];
+        final int positiveMasks = RelaxedPlanningGraph.masks(this.effectPositive, this.positiveMaskStart);
+        final int negativeMasks = RelaxedPlanningGraph.masks(this.effectNegative, this.negativeMaskStart);
+        this.positiveMaskWord = new int[positiveMasks];
+        this.positiveMask = new long[positiveMasks];
+        this.negativeMaskWord = new int[negativeMasks];
+        this.negativeMask = new long[negativeMasks];
+        RelaxedPlanningGraph.masks(this.effectPositive, this.positiveMaskStart, this.positiveMaskWord,
+            this.positiveMask);
+        RelaxedPlanningGraph.masks(this.effectNegative, this.negativeMaskStart, this.negativeMaskWord,
+            this.negativeMask);
+
+        // Allocate the buffers of the expansions
+        final int words = (this.fluents + 63) >>> 6;
+        this.positiveLevel = new int[this.fluents];
+        this.negativeLevel = new int[this.fluents];
+        this.operatorLevel = new int[operators];
+        this.operatorDifficulty = new int[operators];
+        this.preconditionCounter = new int[operators];
+        this.touched = new int[operators];
+        Arrays.fill(this.positiveLevel, Integer.MAX_VALUE);
+        Arrays.fill(this.negativeLevel, Integer.MAX_VALUE);
+        Arrays.fill(this.operatorLevel, Integer.MAX_VALUE);
+        Arrays.fill(this.operatorDifficulty, Integer.MAX_VALUE);
+        this.positiveLayer = new long[words];
+        this.negativeLayer = new long[words];
+        this.positiveReached = new long[words];
+        this.negativeReached = new long[words];
+        this.triggered = new long[(operators + 63) >>> 6];
+        this.positiveHelpful = new long[words];
+        this.negativeHelpful = new long[words];
+    }
+
+    /**
+     * Returns the problem the graph was built for.
+     *
+     * @return the problem the graph was built for.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Expands the relaxed planning graph of a state and returns the number of
+     * actions of its relaxed plan, i.e., the value of the Fast Forward heuristic for
+     * the goal of the problem, or {@link Integer#MAX_VALUE} if the goal is not
+     * reachable in the relaxed problem. The helpful actions of the state can then be
+     * queried with {@link #getHelpfulActions(State, int[], int, int[])}.
+     *
+     * @param state the state.
+     * @return the number of actions of the relaxed plan of the state.
+     */
+    public int estimate(final State state) {
+        return this.estimate(state, this.problem.getGoal());
+    }
+
+    /**
+     * Expands the relaxed planning graph of a state and returns the number of
+     * actions of its relaxed plan for a specified goal, or {@link Integer#MAX_VALUE}
+     * if the goal is not reachable in the relaxed problem.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the number of actions of the relaxed plan of the state.
+     */
+    public int estimate(final State state, final Condition goal) {
+        if (goal != this.goal) {
+            this.goal = goal;
+            this.goalPositive = SuccessorGenerator.toArray(goal.getPositiveFluents());
+            this.goalNegative = SuccessorGenerator.toArray(goal.getNegativeFluents());
+        }
+        this.negatives = this.negativePreconditions || this.goalNegative.length > 0;
+        this.helpful = false;
+        final int level = this.expand(state);
+        return this.goalCounter == this.goalPositive.length + this.goalNegative.length ? this.extract(level)
+            : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Filters the helpful actions of the state last estimated among the actions
+     * applicable in this state. An action is helpful if one of its conditional
+     * effects applicable in the state achieves a subgoal of the first layer of the
+     * relaxed plan. The buffer may be the array of the applicable actions itself.
+     *
+     * @param state      the state last estimated.
+     * @param applicable the actions applicable in the state.
+     * @param size       the number of actions applicable in the state.
+     * @param buffer     the buffer where the indices of the helpful actions are stored.
+     * @return the number of helpful actions.
+     */
+    public int getHelpfulActions(final State state, final int[] applicable, final int size, final int[] buffer) {
+        int helpful = 0;
+        if (!this.helpful) {
+            return helpful;
+        }
+        for (int i = 0; i < size; i++) {
+            final int a = applicable[i];
+            for (int op = this.operatorStart[a]; op < this.operatorStart[a + 1]; op++) {
+                if (ActionTable.satisfy(state, this.preconditionPositive[op], this.preconditionNegative[op])
+                        && (RelaxedPlanningGraph.intersects(this.effectPositive[op], this.positiveHelpful)
+                        || RelaxedPlanningGraph.intersects(this.effectNegative[op], this.negativeHelpful))) {
+                    buffer[helpful++] = a;
+                    break;
+                }
+            }
+        }
+        return helpful;
+    }
+
+    /**
+     * Resets the entries written by the last expansion.
+     */
+    private void reset() {
+        for (int i = 0; i < this.touchedSize; i++) {
+            final int op = this.touched[i];
+            this.preconditionCounter[op] = 0;
+            this.operatorLevel[op] = Integer.MAX_VALUE;
+            this.operatorDifficulty[op] = Integer.MAX_VALUE;
+        }
+        this.touchedSize = 0;
+        for (int op : this.unconditioned) {
+            this.operatorLevel[op] = Integer.MAX_VALUE;
+            this.operatorDifficulty[op] = Integer.MAX_VALUE;
+        }
+        // The fluents whose layer was recorded are the fluents reached and the last layer
+        for (int w = 0; w < this.positiveLayer.length; w++) {
+            long bits = this.positiveReached[w] | this.positiveLayer[w];
+            while (bits != 0) {
+                this.positiveLevel[(w << 6) + Long.numberOfTrailingZeros(bits)] = Integer.MAX_VALUE;
+                bits &= bits - 1;
+            }
+        }
+        if (this.negativeLevelled) {
+            Arrays.fill(this.negativeLevel, Integer.MAX_VALUE);
+        }
+        this.negativeLevelled = this.negatives;
+        Arrays.fill(this.positiveReached, 0L);
+        Arrays.fill(this.negativeReached, 0L);
+    }
+
+    /**
+     * Expands the relaxed planning graph of a state until all the fluents of the goal
+     * are reached or no new fluent can be reached.
+     *
+     * @param state the state.
+     * @return the number of layers of the graph.
+     */
+    private int expand(final State state) {
+        this.reset();
+        this.goalCounter = 0;
+        int level = 0;
+        Arrays.fill(this.positiveLayer, 0L);
+        for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+            this.positiveLayer[p >>> 6] |= 1L << p;
+        }
+        for (int w = 0; w < this.negativeLayer.length; w++) {
+            this.negativeLayer[w] = ~this.positiveLayer[w];
+        }
+        if ((this.fluents & 63) != 0) {
+            this.negativeLayer[this.negativeLayer.length - 1] &= (1L << this.fluents) - 1;
+        }
+        this.reach(level);
+        final int goalCardinality = this.goalPositive.length + this.goalNegative.length;
+        while (this.goalCounter != goalCardinality
+                && !(RelaxedPlanningGraph.isEmpty(this.positiveLayer)
+                && RelaxedPlanningGraph.isEmpty(this.negativeLayer))) {
+            Arrays.fill(this.triggered, 0L);
+            this.trigger(this.positiveLayer, this.positiveReached, this.positivePreconditionEdges);
+            if (this.negatives) {
+                this.trigger(this.negativeLayer, this.negativeReached, this.negativePreconditionEdges);
+            } else {
+                // Without negative precondition, the negative layers only decide when the
+                // expansion stops
+                for (int w = 0; w < this.negativeLayer.length; w++) {
+                    this.negativeReached[w] |= this.negativeLayer[w];
+                }
+            }
+            for (int op : this.unconditioned) {
+                this.triggered[op >>> 6] |= 1L << op;
+            }
+            Arrays.fill(this.positiveLayer, 0L);
+            Arrays.fill(this.negativeLayer, 0L);
+            for (int w = 0; w < this.triggered.length; w++) {
+                long bits = this.triggered[w];
+                while (bits != 0) {
+                    final int op = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    this.operatorLevel[op] = level;
+                    for (int m = this.positiveMaskStart[op]; m < this.positiveMaskStart[op + 1]; m++) {
+                        this.positiveLayer[this.positiveMaskWord[m]] |= this.positiveMask[m];
+                    }
+                    for (int m = this.negativeMaskStart[op]; m < this.negativeMaskStart[op + 1]; m++) {
+                        this.negativeLayer[this.negativeMaskWord[m]] |= this.negativeMask[m];
+                    }
+                    int difficulty = 0;
+                    for (int p : this.preconditionPositive[op]) {
+                        difficulty += this.positiveLevel[p];
+                    }
+                    for (int p : this.preconditionNegative[op]) {
+                        difficulty += this.negativeLevel[p];
+                    }
+                    this.operatorDifficulty[op] = difficulty;
+                }
+            }
+            for (int w = 0; w < this.positiveLayer.length; w++) {
+                this.positiveLayer[w] &= ~this.positiveReached[w];
+                this.negativeLayer[w] &= ~this.negativeReached[w];
+            }
+            level++;
+            this.reach(level);
+        }
+        return level;
+    }
+
+    /**
+     * Counts the operators whose precondition contains the fluents of a layer and
+     * marks the ones whose precondition is complete as triggered.
+     *
+     * @param layer   the fluents of the layer.
+     * @param reached the fluents of the layers already expanded.
+     * @param edges   the operators having each fluent in their precondition.
+     */
+    private void trigger(final long[] layer, final long[] reached, final int[][] edges) {
+        for (int w = 0; w < layer.length; w++) {
+            long bits = layer[w];
+            reached[w] |= bits;
+            while (bits != 0) {
+                final int p = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int op : edges[p]) {
+                    if (this.preconditionCounter[op]++ == 0) {
+                        this.touched[this.touchedSize++] = op;
+                    }
+                    if (this.preconditionCounter[op] == this.preconditionCardinality[op]) {
+                        this.triggered[op >>> 6] |= 1L << op;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the layer of the fluents of the current layer and counts the goal
+     * fluents among them.
+     *
+     * @param level the current layer.
+     */
+    private void reach(final int level) {
+        for (int w = 0; w < this.positiveLayer.length; w++) {
+            long bits = this.positiveLayer[w];
+            while (bits != 0) {
+                this.positiveLevel[(w << 6) + Long.numberOfTrailingZeros(bits)] = level;
+                bits &= bits - 1;
+            }
+        }
+        for (int p : this.goalPositive) {
+            if (this.positiveLevel[p] == level) {
+                this.goalCounter++;
+            }
+        }
+        if (!this.negatives) {
+            return;
+        }
+        for (int w = 0; w < this.negativeLayer.length; w++) {
+            long bits = this.negativeLayer[w];
+            while (bits != 0) {
+                this.negativeLevel[(w << 6) + Long.numberOfTrailingZeros(bits)] = level;
+                bits &= bits - 1;
+            }
+        }
+        for (int p : this.goalNegative) {
+            if (this.negativeLevel[p] == level) {
+                this.goalCounter++;
+            }
+        }
+    }
+
+    /**
+     * Extracts the relaxed plan from the graph expanded and returns its number of
+     * actions. The subgoals of the first layer are kept to compute the helpful
+     * actions.
+     *
+     * @param level the number of layers of the graph.
+     * @return the number of actions of the relaxed plan.
+     */
+    private int extract(final int level) {
+        if (this.positiveGoals.length <= level) {
+            final int size = this.positiveGoals.length;
+            this.positiveGoals = Arrays.copyOf(this.positiveGoals, level + 1);
+            this.negativeGoals = Arrays.copyOf(this.negativeGoals, level + 1);
+            for (int k = size; k <= level; k++) {
+                this.positiveGoals[k] = new long[this.positiveLayer.length];
+                this.negativeGoals[k] = new long[this.negativeLayer.length];
+            }
+        }
+        for (int k = 0; k <= level; k++) {
+            Arrays.fill(this.positiveGoals[k], 0L);
+            Arrays.fill(this.negativeGoals[k], 0L);
+        }
+        for (int p : this.goalPositive) {
+            this.positiveGoals[this.positiveLevel[p]][p >>> 6] |= 1L << p;
+        }
+        for (int p : this.goalNegative) {
+            this.negativeGoals[this.negativeLevel[p]][p >>> 6] |= 1L << p;
+        }
+        int value = 0;
+        for (int k = level; k > 0; k--) {
+            final long[] positive = this.positiveGoals[k];
+            final long[] negative = this.negativeGoals[k];
+            final long[] positiveBelow = this.positiveGoals[k - 1];
+            final long[] negativeBelow = this.negativeGoals[k - 1];
+            if (k == 1) {
+                System.arraycopy(positive, 0, this.positiveHelpful, 0, positive.length);
+                System.arraycopy(negative, 0, this.negativeHelpful, 0, negative.length);
+                this.helpful = !RelaxedPlanningGraph.isEmpty(positive) || !RelaxedPlanningGraph.isEmpty(negative);
+            }
+            for (int p = RelaxedPlanningGraph.next(positive, 0); p >= 0;
+                 p = RelaxedPlanningGraph.next(positive, p + 1)) {
+                final int op = this.select(this.positiveEffectEdges[p], k);
+                if (op != -1) {
+                    this.achieve(op, positive, negative, positiveBelow, negativeBelow);
+                    value++;
+                } else {
+                    positiveBelow[p >>> 6] &= ~(1L << p);
+                    positive[p >>> 6] &= ~(1L << p);
+                }
+            }
+            for (int p = RelaxedPlanningGraph.next(negative, 0); p >= 0;
+                 p = RelaxedPlanningGraph.next(negative, p + 1)) {
+                final int op = this.select(this.negativeEffectEdges[p], k);
+                if (op != -1) {
+                    this.achieve(op, positive, negative, positiveBelow, negativeBelow);
+                    value++;
+                } else {
+                    negativeBelow[p >>> 6] |= 1L << p;
+                    negative[p >>> 6] &= ~(1L << p);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds an operator to the relaxed plan: its precondition becomes a subgoal of the
+     * layers where it is reached and its effects are removed from the subgoals of the
+     * current layer and of the layer below.
+     *
+     * @param op            the operator.
+     * @param positive      the positive subgoals of the current layer.
+     * @param negative      the negative subgoals of the current layer.
+     * @param positiveBelow the positive subgoals of the layer below.
+     * @param negativeBelow the negative subgoals of the layer below.
+     */
+    private void achieve(final int op, final long[] positive, final long[] negative, final long[] positiveBelow,
+                         final long[] negativeBelow) {
+        for (int q : this.preconditionPositive[op]) {
+            final int l = this.positiveLevel[q];
+            if (l != 0 && (positiveBelow[q >>> 6] & (1L << q)) == 0) {
+                this.positiveGoals[l][q >>> 6] |= 1L << q;
+            }
+        }
+        for (int q : this.preconditionNegative[op]) {
+            final int l = this.negativeLevel[q];
+            if (l != 0 && (negativeBelow[q >>> 6] & (1L << q)) == 0) {
+                this.negativeGoals[l][q >>> 6] |= 1L << q;
+            }
+        }
+        for (int m = this.positiveMaskStart[op]; m < this.positiveMaskStart[op + 1]; m++) {
+            positiveBelow[this.positiveMaskWord[m]] &= ~this.positiveMask[m];
+            positive[this.positiveMaskWord[m]] &= ~this.positiveMask[m];
+        }
+        for (int m = this.negativeMaskStart[op]; m < this.negativeMaskStart[op + 1]; m++) {
+            negativeBelow[this.negativeMaskWord[m]] &= ~this.negativeMask[m];
+            negative[this.negativeMaskWord[m]] &= ~this.negativeMask[m];
+        }
+    }
+
+    /**
+     * Selects among a set of operators applied before a layer the one with the
+     * minimum difficulty.
+     *
+     * @param operators the operators in increasing order.
+     * @param k         the layer.
+     * @return the operator selected or -1 if no operator is applied before the layer.
+     */
+    private int select(final int[] operators, final int k) {
+        int selected = -1;
+        int min = Integer.MAX_VALUE;
+        for (int op : operators) {
+            if (this.operatorLevel[op] < k && this.operatorDifficulty[op] < min) {
+                min = this.operatorDifficulty[op];
+                selected = op;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Counts the occurrences of a set of fluents.
+     *
+     * @param fluents the fluents.
+     * @param count   the number of occurrences of each fluent.
+     */
+    private static void count(final int[] fluents, final int[] count) {
+        for (int p : fluents) {
+            count[p]++;
+        }
+    }
+
+    /**
+     * Builds the operators associated with each fluent.
+     *
+     * @param fluents the fluents of each operator.
+     * @param count   the number of operators associated with each fluent.
+     * @return the operators associated with each fluent, in increasing order.
+     */
+    private static int[][] edges(final int[][] fluents, final int[] count) {
+        final int[][] edges = new int[count.length][];
+        for (int p = 0; p < count.length; p++) {
+            edges[p] = new int[count[p]];
+        }
+        final int[] size = new int[count.length];
+        for (int op = 0; op < fluents.length; op++) {
+            for (int p : fluents[op]) {
+                edges[p][size[p]++] = op;
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Computes the index of the first word mask of each operator and returns the
+     * number of word masks, i.e., the number of distinct words holding the fluents
+     * of each operator summed over the operators.
+     *
+     * @param fluents the sorted fluents of each operator.
+     * @param start   the index of the first mask of each operator, computed.
+     * @return the number of word masks.
+     */
+    private static int masks(final int[][] fluents, final int[] start) {
+        int size = 0;
+        for (int op = 0; op < fluents.length; op++) {
+            start[op] = size;
+            int word = -1;
+            for (int p : fluents[op]) {
+                if (p >>> 6 != word) {
+                    word = p >>> 6;
+                    size++;
+                }
+            }
+        }
+        start[fluents.length] = size;
+        return size;
+    }
+
+    /**
+     * Compiles the fluents of each operator into word masks.
+     *
+     * @param fluents the sorted fluents of each operator.
+     * @param start   the index of the first mask of each operator.
+     * @param words   the index of the word of each mask, computed.
+     * @param masks   the fluents of each mask, computed.
+     */
+    private static void masks(final int[][] fluents, final int[] start, final int[] words, final long[] masks) {
+        for (int op = 0; op < fluents.length; op++) {
+            int m = start[op] - 1;
+            for (int p : fluents[op]) {
+                if (m < start[op] || words[m] != p >>> 6) {
+                    words[++m] = p >>> 6;
+                }
+                masks[m] |= 1L << p;
+            }
+        }
+    }
+
+    /**
+     * Returns the first fluent of a set greater than or equal to an index.
+     *
+     * @param set  the set of fluents.
+     * @param from the index.
+     * @return the fluent or -1 if there is no such fluent.
+     */
+    private static int next(final long[] set, final int from) {
+        int w = from >>> 6;
+        if (w >= set.length) {
+            return -1;
+        }
+        long word = set[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == set.length) {
+                return -1;
+            }
+            word = set[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns whether a set of fluents is empty.
+     *
+     * @param set the set of fluents.
+     * @return <code>true</code> if the set is empty, <code>false</code> otherwise.
+     */
+    private static boolean isEmpty(final long[] set) {
+        for (long word : set) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a set contains one of a set of fluents.
+     *
+     * @param fluents the fluents.
+     * @param set     the set of fluents.
+     * @return <code>true</code> if the set contains one of the fluents, <code>false</code> otherwise.
+     */
+    private static boolean intersects(final int[] fluents, final long[] set) {
+        for (int p : fluents) {
+            if ((set[p >>> 6] & (1L << p)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package fr.uga.pddl4j.examples.asp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class implements the pool of elite nodes MCTS restarts from. The pool keeps
+ * a few of the nodes with the lowest heuristic values reached by the jumps, with
+ * their chain of parents, so that a restart does not have to climb again the
+ * plateaus already escaped.
+ * <p>
+ * The nodes of the pool are kept diverse: a node whose state differs from the state
+ * of a node of the pool by fewer than {@link #MIN_DISTANCE} fluents competes with
+ * this node only, the one with the lowest heuristic value staying in the pool.
+ * Otherwise, a node enters the pool if the pool is not full or if it is better than
+ * the worst node of the pool, which it replaces. A node the search restarted from
+ * and got stuck again is evicted, so that the pool does not send the search back to
+ * the same plateau.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class RestartPool {
+
+    /**
+     * The minimum number of fluents by which the states of two nodes of the pool differ.
+     */
+    public static final int MIN_DISTANCE = 4;
+
+    /**
+     * The maximum number of nodes of the pool.
+     */
+    private final int capacity;
+
+    /**
+     * The nodes of the pool.
+     */
+    private final List<Node> nodes;
+
+    /**
+     * Creates a new empty pool.
+     *
+     * @param capacity the maximum number of nodes of the pool.
+     */
+    public RestartPool(final int capacity) {
+        this.capacity = capacity;
+        this.nodes = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Returns the number of nodes of the pool.
+     *
+     * @return the number of nodes of the pool.
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Offers a node to the pool.
+     *
+     * @param node the node.
+     * @return <code>true</code> if the node entered the pool, <code>false</code> otherwise.
+     */
+    public boolean offer(final Node node) {
+        if (this.capacity == 0 || node.getHeuristic() >= Integer.MAX_VALUE) {
+            return false;
+        }
+        int worst = -1;
+        for (int i = 0; i < this.nodes.size(); i++) {
+            final Node other = this.nodes.get(i);
+            if (RestartPool.distance(node, other) < RestartPool.MIN_DISTANCE) {
+                // The node only competes with the node of the pool it is close to
+                if (node.getHeuristic() < other.getHeuristic()) {
+                    this.nodes.set(i, node);
+                    return true;
+                }
+                return false;
+            }
+            if (worst < 0 || other.getHeuristic() > this.nodes.get(worst).getHeuristic()) {
+                worst = i;
+            }
+        }
+        if (this.nodes.size() < this.capacity) {
+            this.nodes.add(node);
+            return true;
+        }
+        if (node.getHeuristic() < this.nodes.get(worst).getHeuristic()) {
+            this.nodes.set(worst, node);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Draws a node of the pool at random among the nodes cheaper than a bound.
+     *
+     * @param random the random generator.
+     * @param bound  the cost bound, excluded.
+     * @return the node drawn or null if no node of the pool is cheaper than the bound.
+     */
+    public Node draw(final Random random, final double bound) {
+        Node drawn = null;
+        int candidates = 0;
+        for (Node node : this.nodes) {
+            // Reservoir sampling over the nodes cheaper than the bound
+            if (node.getCost() < bound && random.nextInt(++candidates) == 0) {
+                drawn = node;
+            }
+        }
+        return drawn;
+    }
+
+    /**
+     * Removes a node from the pool.
+     *
+     * @param node the node.
+     */
+    public void evict(final Node node) {
+        this.nodes.remove(node);
+    }
+
+    /**
+     * Returns the number of fluents by which the states of two nodes differ, counted
+     * up to {@link #MIN_DISTANCE}.
+     *
+     * @param n1 the first node.
+     * @param n2 the second node.
+     * @return the number of fluents by which the states differ, at most <code>MIN_DISTANCE</code>.
+     */
+    private static int distance(final Node n1, final Node n2) {
+        final long[] w1 = n1.words();
+        final long[] w2 = n2.words();
+        int distance = 0;
+        for (int i = 0; i < Math.max(w1.length, w2.length) && distance < RestartPool.MIN_DISTANCE; i++) {
+            final long x = (i < w1.length ? w1[i] : 0L) ^ (i < w2.length ? w2[i] : 0L);
+            distance += Long.bitCount(x);
+        }
+        return distance;
+    }
+}
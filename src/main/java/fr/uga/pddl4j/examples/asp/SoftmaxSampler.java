@@ -0,0 +1,173 @@
+package fr.uga.pddl4j.examples.asp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class implements the Gibbs sampling of the actions of a random walk used by
+ * the MDA and MHA strategies of Arvand (Nakhost and Muller, 2009): an applicable
+ * action <code>a</code> is picked with a probability proportional to
+ * <code>exp(Q(a) / tau)</code>, where <code>Q(a)</code> is the score of the action
+ * and <code>tau</code> the temperature of the strategy.
+ * <p>
+ * The weights <code>exp(Q(a) / tau)</code> are kept in a table indexed by action
+ * and recomputed only when the counts of the action changed. The counts of an
+ * action only grow, so their sum identifies the counts seen by the sampler: the
+ * weight of an action is stamped with this sum. A step sums the weights of the
+ * applicable actions into a table of prefix sums and picks the action with a binary
+ * search of a random point of the table, so that no exponential is computed and no
+ * action is shuffled per step.
+ * </p>
+ * <p>
+ * The sampler is not thread-safe: every walk worker owns its sampler.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class SoftmaxSampler {
+
+    /**
+     * The temperature of MDA for a temperature scale of 1. The score of MDA lies in
+     * <code>[-1, 0]</code>: an action that always led to a dead end is about
+     * <code>e^10</code> times less likely than an action that never did.
+     */
+    public static final double MDA_TEMPERATURE = 0.1;
+
+    /**
+     * The temperature of MHA for a temperature scale of 1. The score of MHA is the
+     * number of times the action was found helpful.
+     */
+    public static final double MHA_TEMPERATURE = 10.0;
+
+    /**
+     * The maximum exponent of an MHA weight, so that the sum of the weights stays finite.
+     */
+    private static final double MAX_EXPONENT = 600.0;
+
+    /**
+     * The temperature of MDA.
+     */
+    private final double mdaTemperature;
+
+    /**
+     * The temperature of MHA.
+     */
+    private final double mhaTemperature;
+
+    /**
+     * The MDA weight of each action.
+     */
+    private final double[] mdaWeights;
+
+    /**
+     * The sum of the counts each MDA weight was computed from or -1.
+     */
+    private final int[] mdaStamps;
+
+    /**
+     * The MHA weight of each action.
+     */
+    private final double[] mhaWeights;
+
+    /**
+     * The count each MHA weight was computed from or -1.
+     */
+    private final int[] mhaStamps;
+
+    /**
+     * The prefix sums of the weights of the applicable actions.
+     */
+    private final double[] prefix;
+
+    /**
+     * Creates a new sampler.
+     *
+     * @param actions the number of actions of the problem.
+     * @param scale   the scale of the temperatures of MDA and MHA. The scale must be greater than 0.
+     */
+    public SoftmaxSampler(final int actions, final double scale) {
+        this.mdaTemperature = SoftmaxSampler.MDA_TEMPERATURE * scale;
+        this.mhaTemperature = SoftmaxSampler.MHA_TEMPERATURE * scale;
+        this.mdaWeights = new double[actions];
+        this.mdaStamps = new int[actions];
+        this.mhaWeights = new double[actions];
+        this.mhaStamps = new int[actions];
+        Arrays.fill(this.mdaStamps, -1);
+        Arrays.fill(this.mhaStamps, -1);
+        this.prefix = new double[actions];
+    }
+
+    /**
+     * Samples an applicable action with the MDA scores.
+     *
+     * @param statistics the statistics of the walks.
+     * @param applicable the applicable actions.
+     * @param size       the number of applicable actions.
+     * @param random     the random generator.
+     * @return the index of the action sampled.
+     */
+    public int sampleMDA(final WalkStatistics statistics, final int[] applicable, final int size,
+                         final Random random) {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            final int a = applicable[i];
+            final int successful = statistics.getSuccessfulWalks(a);
+            final int failed = statistics.getFailedWalks(a);
+            if (this.mdaStamps[a] != successful + failed) {
+                this.mdaStamps[a] = successful + failed;
+                this.mdaWeights[a] = Math.exp(statistics.getMDAScore(a) / this.mdaTemperature);
+            }
+            sum += this.mdaWeights[a];
+            this.prefix[i] = sum;
+        }
+        return applicable[this.search(size, sum * random.nextDouble())];
+    }
+
+    /**
+     * Samples an applicable action with the MHA scores. The exponent of the weights
+     * is capped, so that they do not overflow as the counts grow.
+     *
+     * @param statistics the statistics of the walks.
+     * @param applicable the applicable actions.
+     * @param size       the number of applicable actions.
+     * @param random     the random generator.
+     * @return the index of the action sampled.
+     */
+    public int sampleMHA(final WalkStatistics statistics, final int[] applicable, final int size,
+                         final Random random) {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            final int a = applicable[i];
+            final int count = statistics.getHelpfulCount(a);
+            if (this.mhaStamps[a] != count) {
+                this.mhaStamps[a] = count;
+                this.mhaWeights[a] = Math.exp(Math.min(count / this.mhaTemperature, SoftmaxSampler.MAX_EXPONENT));
+            }
+            sum += this.mhaWeights[a];
+            this.prefix[i] = sum;
+        }
+        return applicable[this.search(size, sum * random.nextDouble())];
+    }
+
+    /**
+     * Returns the index of the first prefix sum greater than a point.
+     *
+     * @param size  the number of prefix sums.
+     * @param point the point.
+     * @return the index of the first prefix sum greater than the point.
+     */
+    private int search(final int size, final double point) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (this.prefix[middle] > point) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,54 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.util.BitSet;
+
+/**
+ * This class implements the 64-bit hash of the states used as key by the state
+ * caches. The hash of a state is the exclusive or of a pseudo-random key drawn for
+ * every fluent holding in the state (Zobrist hashing), so two distinct states
+ * collide with a negligible probability.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class StateHash {
+
+    /**
+     * The seed of the keys of the fluents.
+     */
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Creates a new state hash. This class is not instantiable.
+     */
+    private StateHash() {
+    }
+
+    /**
+     * Returns the pseudo-random key of a fluent, i.e., the SplitMix64 mix of its
+     * index.
+     *
+     * @param fluent the index of the fluent.
+     * @return the key of the fluent.
+     */
+    public static long key(final int fluent) {
+        long z = (fluent + 1) * StateHash.SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the hash of a state.
+     *
+     * @param state the state.
+     * @return the hash of the state.
+     */
+    public static long of(final BitSet state) {
+        long hash = 0;
+        for (int f = state.nextSetBit(0); f >= 0; f = state.nextSetBit(f + 1)) {
+            hash ^= StateHash.key(f);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,29 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This enumeration defines how the states reached within a random walk are scored.
+ * With an incremental count, the count replaces the heuristic for the goal test and
+ * for cutting the walk, and only the endpoint of a walk is evaluated with the
+ * heuristic, whatever the evaluation policy.
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public enum StepHeuristic {
+
+    /**
+     * The states are evaluated with the heuristic as the evaluation policy requires.
+     */
+    FULL,
+
+    /**
+     * The states are scored by the number of fluents of the goal they do not satisfy.
+     */
+    GOAL_COUNT,
+
+    /**
+     * The states are scored by the number of fluents of the goal they do not satisfy
+     * plus the number of landmarks not accepted on their path.
+     */
+    LANDMARK_COUNT
+}
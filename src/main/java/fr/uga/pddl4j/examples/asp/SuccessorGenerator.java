@@ -0,0 +1,405 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class implements a successor generator, i.e., a precondition index used to
+ * enumerate the actions applicable in a state without testing every grounded action.
+ * <p>
+ * The generator is a trie built once per problem over the positive preconditions of
+ * the actions, sorted by fluent index. Each node of the trie tests one fluent and
+ * the traversal only descends into the children whose fluent holds in the state, so
+ * the cost of a query is proportional to the number of applicable actions plus the
+ * number of partially matched prefixes. Negative preconditions and numeric
+ * constraints are checked on the leaves only. A query does not allocate any object
+ * unless an action has numeric constraints. The generator is immutable once built
+ * and can be shared between threads.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class SuccessorGenerator {
+
+    /**
+     * The problem the generator was built for.
+     */
+    private final Problem problem;
+
+    /**
+     * The index of the first edge of each node of the trie. The edges of the node
+     * <code>n</code> are in <code>[edgeStart[n], edgeStart[n + 1])</code>.
+     */
+    private final int[] edgeStart;
+
+    /**
+     * The fluent tested by each edge of the trie.
+     */
+    private final int[] edgeFluent;
+
+    /**
+     * The node reached by each edge of the trie.
+     */
+    private final int[] edgeChild;
+
+    /**
+     * The index of the first action stored on each node of the trie. The actions of
+     * the node <code>n</code> are in <code>[leafStart[n], leafStart[n + 1])</code>.
+     */
+    private final int[] leafStart;
+
+    /**
+     * The actions stored on the nodes of the trie.
+     */
+    private final int[] leafAction;
+
+    /**
+     * The negative preconditions of each action, checked when its leaf is reached.
+     */
+    private final int[][] negative;
+
+    /**
+     * Whether an action has numeric constraints and must be checked by pddl4j when
+     * its leaf is reached.
+     */
+    private final boolean[] numeric;
+
+    /**
+     * Creates a new successor generator for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public SuccessorGenerator(final Problem problem) {
+        this(problem, null);
+    }
+
+    /**
+     * Creates a new successor generator for a specified problem indexing only some of
+     * its actions, e.g., the actions kept by the {@link ActionPruning}.
+     *
+     * @param problem the problem.
+     * @param kept    the actions indexed, in increasing order, or null to index all the actions.
+     */
+    public SuccessorGenerator(final Problem problem, final int[] kept) {
+        this.problem = problem;
+        final List<Action> actions = problem.getActions();
+        final int[][] preconditions = new int[actions.size()][];
+        this.negative = new int[actions.size()][];
+        this.numeric = new boolean[actions.size()];
+        final int[] all = new int[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            final Condition pre = actions.get(i).getPrecondition();
+            preconditions[i] = SuccessorGenerator.toArray(pre.getPositiveFluents());
+            this.negative[i] = SuccessorGenerator.toArray(pre.getNegativeFluents());
+            this.numeric[i] = !pre.getNumericConstraints().isEmpty();
+            all[i] = i;
+        }
+        final int[] indexed = kept == null ? all : kept;
+        final Builder builder = new Builder(preconditions);
+        builder.build(indexed, indexed.length, 0);
+        this.edgeStart = builder.edgeStart();
+        this.edgeFluent = builder.edgeFluent.toArray();
+        this.edgeChild = builder.edgeChild.toArray();
+        this.leafStart = builder.leafStart();
+        this.leafAction = builder.leafAction.toArray();
+    }
+
+    /**
+     * Returns the problem the generator was built for.
+     *
+     * @return the problem the generator was built for.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the number of actions of the problem of the generator, an upper bound
+     * on the number of actions indexed by the generator.
+     *
+     * @return the number of actions of the problem of the generator.
+     */
+    public int size() {
+        return this.numeric.length;
+    }
+
+    /**
+     * Stores the indices of the actions applicable in a specified state in a buffer
+     * and returns their number. The buffer must be able to hold all the actions of
+     * the problem, i.e., its length must be at least {@link #size()}.
+     *
+     * @param state  the state.
+     * @param buffer the buffer where the indices of the applicable actions are stored.
+     * @return the number of applicable actions.
+     */
+    public int getApplicableActions(final State state, final int[] buffer) {
+        return this.collect(0, state, buffer, 0);
+    }
+
+    /**
+     * Returns the list of the actions applicable in a specified state.
+     *
+     * @param state the state.
+     * @return the list of the actions applicable in the state.
+     */
+    public List<Action> getApplicableActions(final State state) {
+        final int[] buffer = new int[this.size()];
+        final int size = this.getApplicableActions(state, buffer);
+        final List<Action> applicable = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            applicable.add(this.problem.getActions().get(buffer[i]));
+        }
+        return applicable;
+    }
+
+    /**
+     * Returns whether at least one action is applicable in a specified state.
+     *
+     * @param state the state.
+     * @return <code>true</code> if an action is applicable in the state, <code>false</code> otherwise.
+     */
+    public boolean hasApplicableAction(final State state) {
+        return this.exists(0, state);
+    }
+
+    /**
+     * Collects the applicable actions stored below a node of the trie.
+     *
+     * @param node   the node.
+     * @param state  the state.
+     * @param buffer the buffer where the indices of the applicable actions are stored.
+     * @param size   the number of actions already stored in the buffer.
+     * @return the number of actions stored in the buffer.
+     */
+    private int collect(final int node, final State state, final int[] buffer, int size) {
+        for (int i = this.leafStart[node]; i < this.leafStart[node + 1]; i++) {
+            final int a = this.leafAction[i];
+            if (this.isApplicable(a, state)) {
+                buffer[size++] = a;
+            }
+        }
+        for (int e = this.edgeStart[node]; e < this.edgeStart[node + 1]; e++) {
+            if (state.get(this.edgeFluent[e])) {
+                size = this.collect(this.edgeChild[e], state, buffer, size);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns whether an applicable action is stored below a node of the trie.
+     *
+     * @param node  the node.
+     * @param state the state.
+     * @return <code>true</code> if an applicable action is stored below the node, <code>false</code> otherwise.
+     */
+    private boolean exists(final int node, final State state) {
+        for (int i = this.leafStart[node]; i < this.leafStart[node + 1]; i++) {
+            final int a = this.leafAction[i];
+            if (this.isApplicable(a, state)) {
+                return true;
+            }
+        }
+        for (int e = this.edgeStart[node]; e < this.edgeStart[node + 1]; e++) {
+            if (state.get(this.edgeFluent[e]) && this.exists(this.edgeChild[e], state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the preconditions of an action left untested by the trie, i.e., its
+     * negative preconditions and its numeric constraints.
+     *
+     * @param action the index of the action.
+     * @param state  the state.
+     * @return <code>true</code> if the action is applicable in the state, <code>false</code> otherwise.
+     */
+    private boolean isApplicable(final int action, final State state) {
+        for (int f : this.negative[action]) {
+            if (state.get(f)) {
+                return false;
+            }
+        }
+        return !this.numeric[action] || this.problem.getActions().get(action).isApplicable(state);
+    }
+
+    /**
+     * Returns the indices of the bits set in a bit vector in increasing order.
+     *
+     * @param vector the bit vector.
+     * @return the indices of the bits set.
+     */
+    static int[] toArray(final BitVector vector) {
+        final int[] array = new int[vector.cardinality()];
+        int i = 0;
+        for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+            array[i++] = p;
+        }
+        return array;
+    }
+
+    /**
+     * The builder of the trie. The nodes are numbered in creation order and their
+     * edges and actions are flattened once the whole trie is built.
+     */
+    private static final class Builder {
+
+        /**
+         * The sorted positive preconditions of the actions.
+         */
+        private final int[][] preconditions;
+
+        /**
+         * The edges of each node, stored as pairs (fluent, child).
+         */
+        private final List<IntArray> edges = new ArrayList<>();
+
+        /**
+         * The actions of each node.
+         */
+        private final List<IntArray> leaves = new ArrayList<>();
+
+        /**
+         * The flattened fluents of the edges.
+         */
+        private final IntArray edgeFluent = new IntArray();
+
+        /**
+         * The flattened children of the edges.
+         */
+        private final IntArray edgeChild = new IntArray();
+
+        /**
+         * The flattened actions of the nodes.
+         */
+        private final IntArray leafAction = new IntArray();
+
+        /**
+         * Creates a new builder.
+         *
+         * @param preconditions the sorted positive preconditions of the actions.
+         */
+        Builder(final int[][] preconditions) {
+            this.preconditions = preconditions;
+        }
+
+        /**
+         * Builds the node of the trie storing a set of actions whose first
+         * <code>depth</code> preconditions were already tested.
+         *
+         * @param actions the actions.
+         * @param size    the number of actions.
+         * @param depth   the number of preconditions already tested.
+         * @return the index of the node created.
+         */
+        int build(final int[] actions, final int size, final int depth) {
+            final int node = this.edges.size();
+            final IntArray edges = new IntArray();
+            final IntArray leaf = new IntArray();
+            this.edges.add(edges);
+            this.leaves.add(leaf);
+            final Map<Integer, IntArray> children = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                final int a = actions[i];
+                if (this.preconditions[a].length == depth) {
+                    leaf.add(a);
+                } else {
+                    children.computeIfAbsent(this.preconditions[a][depth], k -> new IntArray()).add(a);
+                }
+            }
+            for (Map.Entry<Integer, IntArray> child : children.entrySet()) {
+                edges.add(child.getKey());
+                edges.add(this.build(child.getValue().elements, child.getValue().size, depth + 1));
+            }
+            return node;
+        }
+
+        /**
+         * Flattens the edges of the trie and returns the index of the first edge of
+         * each node.
+         *
+         * @return the index of the first edge of each node.
+         */
+        int[] edgeStart() {
+            final int[] start = new int[this.edges.size() + 1];
+            for (int n = 0; n < this.edges.size(); n++) {
+                start[n] = this.edgeFluent.size;
+                final IntArray edges = this.edges.get(n);
+                for (int i = 0; i < edges.size; i += 2) {
+                    this.edgeFluent.add(edges.elements[i]);
+                    this.edgeChild.add(edges.elements[i + 1]);
+                }
+            }
+            start[this.edges.size()] = this.edgeFluent.size;
+            return start;
+        }
+
+        /**
+         * Flattens the actions of the trie and returns the index of the first action
+         * of each node.
+         *
+         * @return the index of the first action of each node.
+         */
+        int[] leafStart() {
+            final int[] start = new int[this.leaves.size() + 1];
+            for (int n = 0; n < this.leaves.size(); n++) {
+                start[n] = this.leafAction.size;
+                final IntArray leaf = this.leaves.get(n);
+                for (int i = 0; i < leaf.size; i++) {
+                    this.leafAction.add(leaf.elements[i]);
+                }
+            }
+            start[this.leaves.size()] = this.leafAction.size;
+            return start;
+        }
+    }
+
+    /**
+     * A minimal growable array of primitive integers.
+     */
+    private static final class IntArray {
+
+        /**
+         * The elements of the array.
+         */
+        private int[] elements = new int[4];
+
+        /**
+         * The number of elements of the array.
+         */
+        private int size;
+
+        /**
+         * Appends an element to the array.
+         *
+         * @param element the element.
+         */
+        void add(final int element) {
+            if (this.size == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, this.size * 2);
+            }
+            this.elements[this.size++] = element;
+        }
+
+        /**
+         * Returns a copy of the elements of the array.
+         *
+         * @return a copy of the elements of the array.
+         */
+        int[] toArray() {
+            return Arrays.copyOf(this.elements, this.size);
+        }
+    }
+}
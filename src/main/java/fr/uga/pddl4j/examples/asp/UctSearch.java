@@ -0,0 +1,324 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class implements an Upper Confidence bounds applied to Trees (UCT) search.
+ * <p>
+ * The search grows a persistent tree of nodes rooted in the initial state. Each
+ * iteration descends the tree by selecting the child maximizing UCB1, expands the
+ * vertex reached with one of its untried actions, evaluates the new vertex with a
+ * random-walk rollout and backs up the reward of the rollout to the root. The
+ * reward of a rollout is the progress toward the goal of the best state it
+ * reaches, i.e., <code>1 - h / h0</code> where <code>h0</code> is the heuristic
+ * value of the root, so that it lies in <code>[0, 1]</code>. The rollouts are
+ * performed by a walk worker, hence they use and feed the MDA/MHA statistics.
+ * </p>
+ * <p>
+ * A state already in the tree is not added twice, and the vertices without
+ * applicable action, whose goal is unreachable in the relaxed problem or whose
+ * children are all dead, are marked dead and never selected again.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class UctSearch {
+
+    /**
+     * The exploration constant of UCB1.
+     */
+    public static final double EXPLORATION = 0.2;
+
+    /**
+     * The length of the random walk of a rollout.
+     */
+    public static final int ROLLOUT_LENGTH = 10;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The successor generator of the problem.
+     */
+    private final SuccessorGenerator successors;
+
+    /**
+     * The heuristic used to evaluate the vertices of the tree.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The worker performing the rollouts.
+     */
+    private final WalkWorker worker;
+
+    /**
+     * The random generator used to pick the actions expanded.
+     */
+    private final Random random;
+
+    /**
+     * The vertices of the tree indexed by their node.
+     */
+    private final Map<Node, Vertex> vertices = new HashMap<>();
+
+    /**
+     * The buffer of the applicable actions.
+     */
+    private final int[] applicable;
+
+    /**
+     * The flag raised by the worker when a rollout reaches the goal.
+     */
+    private final AtomicBoolean stop = new AtomicBoolean(false);
+
+    /**
+     * The number of rollouts performed.
+     */
+    private long rollouts;
+
+    /**
+     * Creates a new UCT search.
+     *
+     * @param problem    the problem to solve.
+     * @param successors the successor generator of the problem.
+     * @param heuristic  the heuristic used to evaluate the vertices of the tree.
+     * @param worker     the worker performing the rollouts.
+     * @param random     the random generator used to pick the actions expanded.
+     */
+    public UctSearch(final Problem problem, final SuccessorGenerator successors, final StateHeuristic heuristic,
+                     final WalkWorker worker, final Random random) {
+        this.problem = problem;
+        this.successors = successors;
+        this.heuristic = heuristic;
+        this.worker = worker;
+        this.random = random;
+        this.applicable = new int[successors.size()];
+    }
+
+    /**
+     * Returns the number of vertices of the tree.
+     *
+     * @return the number of vertices of the tree.
+     */
+    public int size() {
+        return this.vertices.size();
+    }
+
+    /**
+     * Returns the number of rollouts performed.
+     *
+     * @return the number of rollouts performed.
+     */
+    public long getRollouts() {
+        return this.rollouts;
+    }
+
+    /**
+     * Grows the tree from a root node until a node satisfying the goal is found, the
+     * whole tree is dead, the deadline is reached or the search is cancelled.
+     *
+     * @param root      the root node.
+     * @param deadline  the time in ms at which the search must stop.
+     * @param cancelled the flag set to cancel the search.
+     * @return the node satisfying the goal found or null.
+     */
+    public Node search(final Node root, final long deadline, final AtomicBoolean cancelled) {
+        if (root.satisfy(this.problem.getGoal())) {
+            return root;
+        }
+        final Vertex top = new Vertex(root);
+        this.vertices.put(root, top);
+        final double scale = Math.max(1.0, root.getHeuristic());
+        while (!top.dead && !cancelled.get() && System.currentTimeMillis() < deadline) {
+            // Selection: descend the fully expanded vertices with UCB1
+            Vertex vertex = top;
+            this.initialize(vertex);
+            while (!vertex.dead && vertex.untried == 0) {
+                final Vertex child = this.select(vertex);
+                if (child == null) {
+                    vertex.dead = true;
+                } else {
+                    vertex = child;
+                    this.initialize(vertex);
+                }
+            }
+            if (vertex.dead) {
+                continue;
+            }
+
+            // Expansion: create the child reached by a random untried action
+            final Vertex child = this.expand(vertex);
+            if (child == null) {
+                continue;
+            }
+            if (child.node.satisfy(this.problem.getGoal())) {
+                return child.node;
+            }
+            if (child.node.getHeuristic() >= Integer.MAX_VALUE) {
+                child.dead = true;
+                this.backup(child, 0.0);
+                continue;
+            }
+
+            // Rollout: a random walk from the new vertex
+            this.stop.set(false);
+            this.worker.setTask(child.node, 1, UctSearch.ROLLOUT_LENGTH, this.stop, deadline);
+            final Node endpoint = this.worker.call();
+            this.rollouts++;
+            double h = child.node.getHeuristic();
+            if (endpoint != null) {
+                if (endpoint.satisfy(this.problem.getGoal())) {
+                    return endpoint;
+                }
+                h = Math.min(h, endpoint.getHeuristic());
+            }
+
+            // Backup: propagate the reward of the rollout to the root
+            this.backup(child, Math.max(0.0, 1.0 - h / scale));
+        }
+        return null;
+    }
+
+    /**
+     * Computes the untried actions of a vertex the first time it is reached.
+     *
+     * @param vertex the vertex.
+     */
+    private void initialize(final Vertex vertex) {
+        if (vertex.actions == null) {
+            final int size = this.successors.getApplicableActions(vertex.node, this.applicable);
+            vertex.actions = new int[size];
+            System.arraycopy(this.applicable, 0, vertex.actions, 0, size);
+            vertex.untried = size;
+        }
+    }
+
+    /**
+     * Selects the child of a vertex maximizing UCB1 among its children still alive.
+     *
+     * @param vertex the vertex.
+     * @return the child selected or null if all the children of the vertex are dead.
+     */
+    private Vertex select(final Vertex vertex) {
+        Vertex selected = null;
+        double max = Double.NEGATIVE_INFINITY;
+        final double log = Math.log(Math.max(1, vertex.visits));
+        for (Vertex child : vertex.children) {
+            if (child.dead) {
+                continue;
+            }
+            final double ucb = child.value / child.visits + UctSearch.EXPLORATION * Math.sqrt(log / child.visits);
+            if (ucb > max) {
+                max = ucb;
+                selected = child;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Expands a vertex with one of its untried actions picked at random.
+     *
+     * @param vertex the vertex.
+     * @return the child created or null if the state reached is already in the tree.
+     */
+    private Vertex expand(final Vertex vertex) {
+        final int i = this.random.nextInt(vertex.untried);
+        final int action = vertex.actions[i];
+        vertex.actions[i] = vertex.actions[--vertex.untried];
+        vertex.actions[vertex.untried] = action;
+        final Node parent = vertex.node;
+        final Node node = new Node(parent, parent, action, parent.getCost() + 1, parent.getDepth() + 1, 0.0);
+        node.apply(this.problem.getActions().get(action).getConditionalEffects());
+        if (this.vertices.containsKey(node)) {
+            return null;
+        }
+        node.setHeuristic(this.heuristic.estimate(node, this.problem.getGoal()));
+        final Vertex child = new Vertex(node);
+        child.parent = vertex;
+        vertex.children.add(child);
+        this.vertices.put(node, child);
+        return child;
+    }
+
+    /**
+     * Adds the reward of a rollout to a vertex and its ancestors.
+     *
+     * @param vertex the vertex the rollout started from.
+     * @param reward the reward of the rollout.
+     */
+    private void backup(final Vertex vertex, final double reward) {
+        for (Vertex v = vertex; v != null; v = v.parent) {
+            v.visits++;
+            v.value += reward;
+        }
+    }
+
+    /**
+     * A vertex of the tree.
+     */
+    private static final class Vertex {
+
+        /**
+         * The node of the vertex.
+         */
+        private final Node node;
+
+        /**
+         * The parent of the vertex or null for the root.
+         */
+        private Vertex parent;
+
+        /**
+         * The children of the vertex.
+         */
+        private final List<Vertex> children = new ArrayList<>(4);
+
+        /**
+         * The actions applicable in the vertex, the untried ones first, or null if the
+         * vertex was never reached by the selection.
+         */
+        private int[] actions;
+
+        /**
+         * The number of untried actions.
+         */
+        private int untried;
+
+        /**
+         * The number of rollouts backed up through the vertex.
+         */
+        private int visits;
+
+        /**
+         * The sum of the rewards of the rollouts backed up through the vertex.
+         */
+        private double value;
+
+        /**
+         * Whether no goal can be reached from the vertex.
+         */
+        private boolean dead;
+
+        /**
+         * Creates a new vertex.
+         *
+         * @param node the node of the vertex.
+         */
+        Vertex(final Node node) {
+            this.node = node;
+        }
+    }
+}
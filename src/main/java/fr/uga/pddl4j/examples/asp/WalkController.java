@@ -0,0 +1,109 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This class implements the controller of the number and the length of the random
+ * walks of the jumps of MCTS.
+ * <p>
+ * As in Arvand (Nakhost and Muller, 2009), the length of the walks is doubled
+ * after every jump that does not improve the heuristic value of the node it starts
+ * from, up to a maximum length, so that the walks get long enough to escape the
+ * plateaus, and it is reset to its initial value by an improving jump. The number
+ * of walks follows the opposite rule: it is halved after every improving jump, down
+ * to a minimum number, since a batch whose walks already find improving endpoints
+ * does not need as many walks, and it is doubled after every jump without
+ * progress, up to a maximum number. A restart resets both values.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkController {
+
+    /**
+     * The maximum number of walks of a jump.
+     */
+    private final int maxWalks;
+
+    /**
+     * The minimum number of walks of a jump.
+     */
+    private final int minWalks;
+
+    /**
+     * The initial length of the walks.
+     */
+    private final int initialLength;
+
+    /**
+     * The maximum length of the walks.
+     */
+    private final int maxLength;
+
+    /**
+     * The number of walks of the next jump.
+     */
+    private int walks;
+
+    /**
+     * The length of the walks of the next jump.
+     */
+    private int length;
+
+    /**
+     * Creates a new controller.
+     *
+     * @param minWalks      the minimum number of walks of a jump.
+     * @param maxWalks      the maximum number of walks of a jump, used for the first jump.
+     * @param initialLength the initial length of the walks.
+     * @param maxLength     the maximum length of the walks.
+     */
+    public WalkController(final int minWalks, final int maxWalks, final int initialLength, final int maxLength) {
+        this.minWalks = minWalks;
+        this.maxWalks = maxWalks;
+        this.initialLength = initialLength;
+        this.maxLength = maxLength;
+        this.reset();
+    }
+
+    /**
+     * Returns the number of walks of the next jump.
+     *
+     * @return the number of walks of the next jump.
+     */
+    public int getWalks() {
+        return this.walks;
+    }
+
+    /**
+     * Returns the length of the walks of the next jump.
+     *
+     * @return the length of the walks of the next jump.
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Resets the number and the length of the walks to their initial values.
+     */
+    public void reset() {
+        this.walks = this.maxWalks;
+        this.length = this.initialLength;
+    }
+
+    /**
+     * Updates the number and the length of the walks after a jump.
+     *
+     * @param improved whether the jump reached a node with a lower heuristic value
+     *                 than the node it started from.
+     */
+    public void update(final boolean improved) {
+        if (improved) {
+            this.walks = Math.max(this.minWalks, this.walks / 2);
+            this.length = this.initialLength;
+        } else {
+            this.walks = Math.min(this.maxWalks, this.walks * 2);
+            this.length = Math.min(this.maxLength, this.length * 2);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package fr.uga.pddl4j.examples.asp;
+
+/**
+ * This class implements the store of the walks retained by a walk worker from one
+ * batch of walks to the next.
+ * <p>
+ * A sample is a walk that did not reach the goal: the actions it applied, the
+ * heuristic values of the states it reached and the hashes of these states,
+ * starting with the hash of the root of its batch. When the next batch starts
+ * from a new root, every sample passing through the state of the new root is cut
+ * after its last visit of this state, so that it becomes a walk from the new root
+ * with the same endpoint, and the other samples are dropped. The samples are kept
+ * in flat primitive tables with one slot of fixed width per sample.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkSamples {
+
+    /**
+     * The maximum number of samples.
+     */
+    private final int capacity;
+
+    /**
+     * The maximum number of actions of a sample.
+     */
+    private final int width;
+
+    /**
+     * The actions of the samples, <code>width</code> per sample.
+     */
+    private final int[] actions;
+
+    /**
+     * The heuristic values of the states reached by the samples, <code>width</code>
+     * per sample.
+     */
+    private final double[] values;
+
+    /**
+     * The hashes of the states visited by the samples, root included,
+     * <code>width + 1</code> per sample.
+     */
+    private final long[] hashes;
+
+    /**
+     * The number of actions of each sample.
+     */
+    private final int[] lengths;
+
+    /**
+     * The number of samples.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty store.
+     *
+     * @param capacity the maximum number of samples.
+     * @param width    the maximum number of actions of a sample.
+     */
+    public WalkSamples(final int capacity, final int width) {
+        this.capacity = capacity;
+        this.width = width;
+        this.actions = new int[capacity * width];
+        this.values = new double[capacity * width];
+        this.hashes = new long[capacity * (width + 1)];
+        this.lengths = new int[capacity];
+    }
+
+    /**
+     * Returns the maximum number of samples of the store.
+     *
+     * @return the maximum number of samples of the store.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the maximum number of actions of a sample.
+     *
+     * @return the maximum number of actions of a sample.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the number of samples of the store.
+     *
+     * @return the number of samples of the store.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds a sample to the store. The sample is ignored if the store is full.
+     *
+     * @param path   the actions applied by the walk.
+     * @param values the heuristic values of the states reached by the walk.
+     * @param hashes the hashes of the states visited by the walk, root included.
+     * @param length the number of actions applied by the walk.
+     */
+    public void add(final int[] path, final double[] values, final long[] hashes, final int length) {
+        if (this.size == this.capacity || length == 0 || length > this.width) {
+            return;
+        }
+        System.arraycopy(path, 0, this.actions, this.size * this.width, length);
+        System.arraycopy(values, 0, this.values, this.size * this.width, length);
+        System.arraycopy(hashes, 0, this.hashes, this.size * (this.width + 1), length + 1);
+        this.lengths[this.size] = length;
+        this.size++;
+    }
+
+    /**
+     * Cuts the samples passing through a new root after their last visit of the
+     * root and drops the other samples, as well as the samples longer than a
+     * maximum length once cut.
+     *
+     * @param root   the hash of the state of the new root.
+     * @param length the maximum number of actions of the samples kept.
+     * @return the number of samples kept.
+     */
+    public int rebase(final long root, final int length) {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            final int h = i * (this.width + 1);
+            final int n = this.lengths[i];
+            // The last state before the endpoint of the sample equal to the root
+            int from = n - 1;
+            while (from >= 0 && this.hashes[h + from] != root) {
+                from--;
+            }
+            if (from < 0 || n - from > length) {
+                continue;
+            }
+            System.arraycopy(this.actions, i * this.width + from, this.actions, kept * this.width, n - from);
+            System.arraycopy(this.values, i * this.width + from, this.values, kept * this.width, n - from);
+            System.arraycopy(this.hashes, h + from, this.hashes, kept * (this.width + 1), n - from + 1);
+            this.lengths[kept] = n - from;
+            kept++;
+        }
+        this.size = kept;
+        return kept;
+    }
+
+    /**
+     * Returns the index of the sample whose endpoint has the minimum heuristic value.
+     *
+     * @return the index of the best sample or -1 if the store is empty.
+     */
+    public int best() {
+        int best = -1;
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < this.size; i++) {
+            final double value = this.getValue(i);
+            if (value < min) {
+                min = value;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the heuristic value of the endpoint of a sample.
+     *
+     * @param index the index of the sample.
+     * @return the heuristic value of the endpoint of the sample.
+     */
+    public double getValue(final int index) {
+        return this.values[index * this.width + this.lengths[index] - 1];
+    }
+
+    /**
+     * Copies the actions and the heuristic values of a sample.
+     *
+     * @param index  the index of the sample.
+     * @param path   the table receiving the actions of the sample.
+     * @param values the table receiving the heuristic values of the sample.
+     * @return the number of actions of the sample.
+     */
+    public int copy(final int index, final int[] path, final double[] values) {
+        final int length = this.lengths[index];
+        System.arraycopy(this.actions, index * this.width, path, 0, length);
+        System.arraycopy(this.values, index * this.width, values, 0, length);
+        return length;
+    }
+
+    /**
+     * Removes all the samples.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}
@@ -0,0 +1,305 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.Problem;
+
+import java.util.Arrays;
+
+/**
+ * This class gathers the statistics collected by the random walks and used by the
+ * Monte-Carlo Deadlock Avoidance (MDA) and Monte-Carlo Helpful Actions (MHA)
+ * strategies.
+ * <p>
+ * The counters of the actions are primitive tables indexed by the index of the
+ * actions in the problem. The statistics are not thread-safe. When the walks run in parallel, every worker
+ * records its walks in its own statistics created on top of the shared statistics:
+ * the worker reads the sum of both, and its counts are merged into the shared
+ * statistics once all the workers of the batch are done.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkStatistics {
+
+    /**
+     * The dead-end ratio above which MDA is used (30% of dead-end walks).
+     */
+    public static final double MDA_THRESHOLD = 0.3;
+
+    /**
+     * The average branching factor above which MHA is used.
+     */
+    public static final double MHA_THRESHOLD = 100.0;
+
+    /**
+     * The number of samples needed before deciding to use MDA or MHA.
+     */
+    public static final int MIN_SAMPLES = 100;
+
+    /**
+     * The problem whose actions are counted.
+     */
+    private final Problem problem;
+
+    /**
+     * The shared statistics these statistics are built on or null.
+     */
+    private final WalkStatistics base;
+
+    /**
+     * MDA: Monte-Carlo Deadlock Avoidance tracking
+     */
+    private final int[] successfulWalks; // S(a)
+    private final int[] failedWalks; // F(a)
+
+    /**
+     * MHA: Monte-Carlo with Helpful Actions tracking
+     */
+    private final int[] helpfulActionCounts; // Q(a) for MHA
+
+    /**
+     * Statistics for deciding when to use MDA/MHA
+     */
+    private long totalRandomWalks = 0;
+    private long deadEndWalks = 0;
+    private long totalBranchingFactor = 0;
+    private long branchingFactorSamples = 0;
+
+    /**
+     * Creates new empty shared statistics for the actions of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public WalkStatistics(final Problem problem) {
+        this(problem, null);
+    }
+
+    /**
+     * Creates new empty statistics on top of specified shared statistics.
+     *
+     * @param base the shared statistics.
+     */
+    public WalkStatistics(final WalkStatistics base) {
+        this(base.problem, base);
+    }
+
+    /**
+     * Creates new empty statistics for the actions of a specified problem.
+     *
+     * @param problem the problem.
+     * @param base    the shared statistics or null.
+     */
+    private WalkStatistics(final Problem problem, final WalkStatistics base) {
+        this.problem = problem;
+        this.base = base;
+        final int actions = problem.getActions().size();
+        this.successfulWalks = new int[actions];
+        this.failedWalks = new int[actions];
+        this.helpfulActionCounts = new int[actions];
+    }
+
+    /**
+     * Returns the problem whose actions are counted.
+     *
+     * @return the problem whose actions are counted.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Check if MDA should be used (more than 30% of walks hit dead-ends)
+     *
+     * @return <code>true</code> if MDA should be used, <code>false</code> otherwise.
+     */
+    public boolean shouldUseMDA() {
+        final long walks = this.getTotalRandomWalks();
+        if (walks < WalkStatistics.MIN_SAMPLES)
+            return false;
+        return (double) this.getDeadEndWalks() / walks > WalkStatistics.MDA_THRESHOLD;
+    }
+
+    /**
+     * Check if MHA should be used (average branching factor > 100)
+     *
+     * @return <code>true</code> if MHA should be used, <code>false</code> otherwise.
+     */
+    public boolean shouldUseMHA() {
+        final long samples = this.getBranchingFactorSamples();
+        if (samples < WalkStatistics.MIN_SAMPLES)
+            return false; // Need some samples first
+        return (double) this.getTotalBranchingFactor() / samples > WalkStatistics.MHA_THRESHOLD;
+    }
+
+    /**
+     * Calculate MDA score for an action: Q(a) = -F(a)/(S(a) + F(a))
+     *
+     * @param actionIndex the index of the action.
+     * @return the MDA score of the action.
+     */
+    public double getMDAScore(int actionIndex) {
+        int successful = this.getSuccessfulWalks(actionIndex);
+        int failed = this.getFailedWalks(actionIndex);
+
+        if (successful + failed == 0) {
+            return 0.0;
+        }
+
+        return -(double) failed / (successful + failed);
+    }
+
+    /**
+     * Returns the number of successful walks using an action.
+     *
+     * @param actionIndex the index of the action.
+     * @return the number of successful walks using the action.
+     */
+    public int getSuccessfulWalks(int actionIndex) {
+        final int count = this.successfulWalks[actionIndex];
+        return this.base == null ? count : count + this.base.getSuccessfulWalks(actionIndex);
+    }
+
+    /**
+     * Returns the number of failed walks using an action.
+     *
+     * @param actionIndex the index of the action.
+     * @return the number of failed walks using the action.
+     */
+    public int getFailedWalks(int actionIndex) {
+        final int count = this.failedWalks[actionIndex];
+        return this.base == null ? count : count + this.base.getFailedWalks(actionIndex);
+    }
+
+    /**
+     * Returns the number of times an action was found helpful.
+     *
+     * @param actionIndex the index of the action.
+     * @return the number of times the action was found helpful.
+     */
+    public int getHelpfulCount(int actionIndex) {
+        final int count = this.helpfulActionCounts[actionIndex];
+        return this.base == null ? count : count + this.base.getHelpfulCount(actionIndex);
+    }
+
+    /**
+     * Returns the number of random walks performed.
+     *
+     * @return the number of random walks performed.
+     */
+    public long getTotalRandomWalks() {
+        return this.base == null ? this.totalRandomWalks : this.totalRandomWalks + this.base.getTotalRandomWalks();
+    }
+
+    /**
+     * Returns the number of random walks that hit a dead end.
+     *
+     * @return the number of random walks that hit a dead end.
+     */
+    public long getDeadEndWalks() {
+        return this.base == null ? this.deadEndWalks : this.deadEndWalks + this.base.getDeadEndWalks();
+    }
+
+    /**
+     * Returns the sum of the branching factors sampled.
+     *
+     * @return the sum of the branching factors sampled.
+     */
+    public long getTotalBranchingFactor() {
+        return this.base == null ? this.totalBranchingFactor
+                : this.totalBranchingFactor + this.base.getTotalBranchingFactor();
+    }
+
+    /**
+     * Returns the number of branching factors sampled.
+     *
+     * @return the number of branching factors sampled.
+     */
+    public long getBranchingFactorSamples() {
+        return this.base == null ? this.branchingFactorSamples
+                : this.branchingFactorSamples + this.base.getBranchingFactorSamples();
+    }
+
+    /**
+     * Records the start of a random walk.
+     */
+    public void recordWalk() {
+        this.totalRandomWalks++;
+    }
+
+    /**
+     * Records a dead end hit by a random walk.
+     */
+    public void recordDeadEnd() {
+        this.deadEndWalks++;
+    }
+
+    /**
+     * Records the branching factor of a state visited by a random walk.
+     *
+     * @param branchingFactor the number of actions applicable in the state.
+     */
+    public void recordBranchingFactor(int branchingFactor) {
+        this.totalBranchingFactor += branchingFactor;
+        this.branchingFactorSamples++;
+    }
+
+    /**
+     * Update MDA statistics after a walk
+     *
+     * @param actionsInWalk the distinct indices of the actions used by the walk.
+     * @param size          the number of actions used by the walk.
+     * @param walkFailed    whether the walk hit a dead end.
+     */
+    public void recordActions(int[] actionsInWalk, int size, boolean walkFailed) {
+        for (int i = 0; i < size; i++) {
+            if (walkFailed) {
+                this.failedWalks[actionsInWalk[i]]++;
+            } else {
+                this.successfulWalks[actionsInWalk[i]]++;
+            }
+        }
+    }
+
+    /**
+     * Records an action found helpful at the endpoint of a walk.
+     *
+     * @param actionIndex the index of the action.
+     */
+    public void recordHelpfulAction(int actionIndex) {
+        this.helpfulActionCounts[actionIndex]++;
+    }
+
+    /**
+     * Adds the statistics recorded since the last merge to the shared statistics and
+     * clears them. This method must not be called while other workers read the
+     * shared statistics.
+     */
+    public void merge() {
+        if (this.base == null) {
+            return;
+        }
+        for (int a = 0; a < this.successfulWalks.length; a++) {
+            this.base.successfulWalks[a] += this.successfulWalks[a];
+            this.base.failedWalks[a] += this.failedWalks[a];
+            this.base.helpfulActionCounts[a] += this.helpfulActionCounts[a];
+        }
+        this.base.totalRandomWalks += this.totalRandomWalks;
+        this.base.deadEndWalks += this.deadEndWalks;
+        this.base.totalBranchingFactor += this.totalBranchingFactor;
+        this.base.branchingFactorSamples += this.branchingFactorSamples;
+        this.clear();
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    public void clear() {
+        Arrays.fill(this.successfulWalks, 0);
+        Arrays.fill(this.failedWalks, 0);
+        Arrays.fill(this.helpfulActionCounts, 0);
+        this.totalRandomWalks = 0;
+        this.deadEndWalks = 0;
+        this.totalBranchingFactor = 0;
+        this.branchingFactorSamples = 0;
+    }
+}
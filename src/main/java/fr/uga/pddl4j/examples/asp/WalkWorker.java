@@ -0,0 +1,940 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class implements a worker performing a batch of Monte Carlo random walks from
+ * a node. Each worker owns its heuristic, its random generator and its statistics,
+ * so that several workers can run their walks concurrently.
+ * <p>
+ * The walks do not create any node: a walk modifies a single scratch state in place,
+ * records the actions it applies in a reusable buffer and the fluents it changes on
+ * an undo trail, and rewinds the scratch state to the root of the walks once it is
+ * over. Only the chain of nodes leading to the endpoint returned is built.
+ * </p>
+ *
+ * @author Mousse
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkWorker implements Callable<Node> {
+
+    /**
+     * The share of the walks of a batch performed anew however many walks are
+     * retained (one in <code>MIN_NEW_WALKS</code>).
+     */
+    public static final int MIN_NEW_WALKS = 2;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The successor generator of the problem.
+     */
+    private final SuccessorGenerator successors;
+
+    /**
+     * The compiled actions of the problem.
+     */
+    private final ActionTable actions;
+
+    /**
+     * The heuristic used to evaluate the nodes reached by the walks.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The heuristic as a cache of heuristic values or null if it is not cached.
+     */
+    private final CachedHeuristic cache;
+
+    /**
+     * The statistics where the walks are recorded.
+     */
+    private final WalkStatistics statistics;
+
+    /**
+     * The random generator of the worker.
+     */
+    private final Random random;
+
+    /**
+     * The scratch state modified in place by the walks, a node so that its hash is
+     * updated from the fluents changed by the walks.
+     */
+    private final Node state;
+
+    /**
+     * The buffer of the actions applicable in the scratch state.
+     */
+    private final int[] applicable;
+
+    /**
+     * The walk in which each action was last used, to count every action once per walk.
+     */
+    private final int[] used;
+
+    /**
+     * The number of walks performed by the worker, used to stamp the actions used.
+     */
+    private int walkCount;
+
+    /**
+     * The actions applied by the current walk.
+     */
+    private int[] path = new int[0];
+
+    /**
+     * The distinct actions applied by the current walk.
+     */
+    private int[] distinct = new int[0];
+
+    /**
+     * The heuristic values of the states reached by the current walk.
+     */
+    private double[] values = new double[0];
+
+    /**
+     * The actions applied by the best walk of the batch.
+     */
+    private int[] bestPath = new int[0];
+
+    /**
+     * The heuristic values of the states reached by the best walk of the batch.
+     */
+    private double[] bestValues = new double[0];
+
+    /**
+     * The maximum number of distinct endpoints kept by a batch for a beam of
+     * endpoints, 0 if only the best endpoint is kept.
+     */
+    private int beamWidth;
+
+    /**
+     * The actions applied by the walks of the endpoints kept, sorted by increasing
+     * heuristic value.
+     */
+    private int[][] beamPaths = new int[0][];
+
+    /**
+     * The heuristic values of the states reached by the walks of the endpoints kept.
+     */
+    private double[][] beamValues = new double[0][];
+
+    /**
+     * The number of actions applied by the walks of the endpoints kept.
+     */
+    private int[] beamDepths = new int[0];
+
+    /**
+     * The hashes of the endpoints kept.
+     */
+    private long[] beamHashes = new long[0];
+
+    /**
+     * The heuristic values of the endpoints kept.
+     */
+    private double[] beamHeuristics = new double[0];
+
+    /**
+     * The number of endpoints kept by the current batch.
+     */
+    private int beamSize;
+
+    /**
+     * The hashes of the states visited by the current walk, root included.
+     */
+    private long[] hashes = new long[0];
+
+    /**
+     * The fluents changed by the current walk.
+     */
+    private int[] trail = new int[0];
+
+    /**
+     * The number of fluents on the trail when each state of the current walk was
+     * reached, root included.
+     */
+    private int[] tops = new int[0];
+
+    /**
+     * The number of landmarks accepted by the current walk when each of its states
+     * was reached, root included.
+     */
+    private int[] marks = new int[0];
+
+    /**
+     * The counter scoring the states reached within the walks or null if they are
+     * evaluated with the heuristic.
+     */
+    private GoalCounter counter;
+
+    /**
+     * The sampler of the actions of MDA and MHA or null if they select the best action.
+     */
+    private SoftmaxSampler sampler;
+
+    /**
+     * The filter of the dead ends shared by the workers or null if it is disabled.
+     */
+    private NogoodFilter nogoods;
+
+    /**
+     * The number of walks cut by the filter of the dead ends.
+     */
+    private long nogoodHits;
+
+    /**
+     * The keys of the irrelevant fluents of the scratch state, removed from its hash
+     * to get the key of its partial state in the filter of the dead ends.
+     */
+    private long irrelevant;
+
+    /**
+     * Whether the walks are retained from one batch to the next.
+     */
+    private boolean reuseSamples;
+
+    /**
+     * The walks retained from the previous batches or null if they are not retained.
+     */
+    private WalkSamples samples;
+
+    /**
+     * The number of retained walks that seeded a batch.
+     */
+    private long reused;
+
+    /**
+     * The policy defining which states of a walk are evaluated.
+     */
+    private EvaluationPolicy evaluation = EvaluationPolicy.EVERY_STEP;
+
+    /**
+     * The evaluation period of the policy {@link EvaluationPolicy#PERIODIC}.
+     */
+    private int evaluationPeriod = 1;
+
+    /**
+     * Whether the helpful actions of an endpoint are found by evaluating all its
+     * successors rather than from its relaxed plan.
+     */
+    private boolean exhaustiveHelpfulActions;
+
+    /**
+     * Whether the heuristic of the worker is Fast Forward, in which case the relaxed
+     * planning graph also gives the heuristic value of the endpoints.
+     */
+    private boolean relaxedPlanValues;
+
+    /**
+     * The relaxed planning graph giving the helpful actions of the endpoints.
+     */
+    private RelaxedPlanningGraph graph;
+
+    /**
+     * Whether the relaxed planning graph was expanded from the scratch state.
+     */
+    private boolean graphExpanded;
+
+    /**
+     * The node the walks start from.
+     */
+    private Node root;
+
+    /**
+     * The number of walks to perform.
+     */
+    private int walks;
+
+    /**
+     * The length of each walk.
+     */
+    private int length;
+
+    /**
+     * The flag raised when a walk of any worker reached the goal.
+     */
+    private AtomicBoolean stop;
+
+    /**
+     * The time in ms after which no walk is started.
+     */
+    private long deadline;
+
+    /**
+     * Creates a new worker.
+     *
+     * @param problem    the problem to solve.
+     * @param successors the successor generator of the problem.
+     * @param actions    the compiled actions of the problem.
+     * @param heuristic  the heuristic used to evaluate the nodes reached by the walks.
+     * @param statistics the statistics where the walks are recorded.
+     * @param random     the random generator of the worker.
+     */
+    public WalkWorker(final Problem problem, final SuccessorGenerator successors, final ActionTable actions,
+                      final StateHeuristic heuristic, final WalkStatistics statistics, final Random random) {
+        this.problem = problem;
+        this.successors = successors;
+        this.actions = actions;
+        this.heuristic = heuristic;
+        this.cache = heuristic instanceof CachedHeuristic ? (CachedHeuristic) heuristic : null;
+        this.statistics = statistics;
+        this.random = random;
+        this.state = new Node(new State());
+        this.applicable = new int[successors.size()];
+        this.used = new int[successors.size()];
+    }
+
+    /**
+     * Returns the heuristic used by the worker.
+     *
+     * @return the heuristic used by the worker.
+     */
+    public StateHeuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the statistics where the worker records its walks.
+     *
+     * @return the statistics where the worker records its walks.
+     */
+    public WalkStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Sets the policy defining which states of a walk are evaluated.
+     *
+     * @param evaluation the evaluation policy.
+     * @param period     the evaluation period of the policy {@link EvaluationPolicy#PERIODIC}.
+     */
+    public void setEvaluation(final EvaluationPolicy evaluation, final int period) {
+        this.evaluation = evaluation;
+        this.evaluationPeriod = period;
+    }
+
+    /**
+     * Sets how the helpful actions of the endpoints of the walks are found. By
+     * default, they are the helpful actions of the relaxed plan of the endpoint,
+     * which costs one expansion of a relaxed planning graph per endpoint. With Fast
+     * Forward, the states of the walks are evaluated with the graph itself, so that
+     * the endpoint is not expanded a second time for its helpful actions. The
+     * exhaustive check evaluates the successors of the endpoint with the heuristic
+     * and keeps the actions that decrease the heuristic value.
+     *
+     * @param exhaustive  whether the successors of the endpoints are evaluated.
+     * @param fastForward whether the heuristic of the worker is Fast Forward.
+     */
+    public void setHelpfulActions(final boolean exhaustive, final boolean fastForward) {
+        this.exhaustiveHelpfulActions = exhaustive;
+        this.relaxedPlanValues = !exhaustive && fastForward;
+    }
+
+    /**
+     * Sets the counter scoring the states reached within the walks. With a counter,
+     * the goal is tested on the count, only the endpoint of a walk is evaluated with
+     * the heuristic, and a walk ends at its last state of minimum count: the states
+     * reached after it are undone before the endpoint is evaluated.
+     *
+     * @param counter the counter or null to evaluate the states with the heuristic.
+     */
+    public void setGoalCounter(final GoalCounter counter) {
+        this.counter = counter;
+    }
+
+    /**
+     * Sets how MDA and MHA select the actions of the walks. With a temperature scale
+     * greater than 0, the actions are sampled with a probability that grows
+     * exponentially with their score, as in Arvand. With a scale of 0, the action of
+     * best score is selected.
+     *
+     * @param scale the scale of the temperatures of MDA and MHA.
+     */
+    public void setTemperature(final double scale) {
+        this.sampler = scale > 0.0 ? new SoftmaxSampler(this.problem.getActions().size(), scale) : null;
+    }
+
+    /**
+     * Sets the filter of the dead ends. With a filter, the states without applicable
+     * action and the states whose heuristic value is infinite are recorded in the
+     * filter, and a walk stops as a dead end as soon as it reaches a state recorded
+     * in the filter or whose heuristic value is infinite.
+     *
+     * @param nogoods the filter of the dead ends or null to disable it.
+     */
+    public void setNogoodFilter(final NogoodFilter nogoods) {
+        this.nogoods = nogoods;
+    }
+
+    /**
+     * Returns the number of walks cut by the filter of the dead ends since the worker
+     * was created.
+     *
+     * @return the number of walks cut by the filter of the dead ends.
+     */
+    public long getNogoodHits() {
+        return this.nogoodHits;
+    }
+
+    /**
+     * Sets whether the walks that do not reach the goal are retained from one batch
+     * to the next. The retained walks passing through the root of the next batch are
+     * cut to start from this root and count as walks of the batch, so that fewer new
+     * walks are performed.
+     *
+     * @param reuse whether the walks are retained.
+     */
+    public void setSampleReuse(final boolean reuse) {
+        this.reuseSamples = reuse;
+        if (!reuse) {
+            this.samples = null;
+        }
+    }
+
+    /**
+     * Returns the number of retained walks that seeded a batch since the worker was
+     * created.
+     *
+     * @return the number of retained walks that seeded a batch.
+     */
+    public long getReusedSamples() {
+        return this.reused;
+    }
+
+    /**
+     * Sets the number of distinct endpoints kept by a batch for a beam of endpoints.
+     *
+     * @param width the number of endpoints kept, 0 to keep the best endpoint only.
+     */
+    public void setBeamWidth(final int width) {
+        this.beamWidth = width;
+    }
+
+    /**
+     * Offers the endpoints kept by the last batch to a beam of endpoints. Only the
+     * chains of nodes of the endpoints the beam accepts are built.
+     *
+     * @param beam the beam of endpoints.
+     */
+    public void getEndpoints(final EndpointBeam beam) {
+        for (int i = 0; i < this.beamSize && beam.accepts(this.beamHeuristics[i]); i++) {
+            beam.offer(this.buildNodes(this.beamPaths[i], this.beamValues[i], this.beamDepths[i]));
+        }
+    }
+
+    /**
+     * Sets the next batch of walks to perform.
+     *
+     * @param root     the node the walks start from.
+     * @param walks    the number of walks to perform.
+     * @param length   the length of each walk.
+     * @param stop     the flag raised when a walk of any worker reached the goal.
+     * @param deadline the time in ms after which no walk is started.
+     */
+    public void setTask(final Node root, final int walks, final int length, final AtomicBoolean stop,
+                        final long deadline) {
+        this.root = root;
+        this.walks = walks;
+        this.length = length;
+        this.stop = stop;
+        this.deadline = deadline;
+        if (this.path.length < length) {
+            this.path = new int[length];
+            this.distinct = new int[length];
+            this.values = new double[length];
+            this.bestPath = new int[length];
+            this.bestValues = new double[length];
+            this.hashes = new long[length + 1];
+            this.tops = new int[length + 1];
+            this.marks = new int[length + 1];
+            this.trail = new int[(length + 1) * Math.max(1, this.actions.getMaxChanges())];
+        }
+        if (this.beamPaths.length < this.beamWidth
+                || (this.beamWidth > 0 && this.beamPaths[0].length < length)) {
+            final int width = Math.max(length, this.path.length);
+            this.beamPaths = new int[this.beamWidth][width];
+            this.beamValues = new double[this.beamWidth][width];
+            this.beamDepths = new int[this.beamWidth];
+            this.beamHashes = new long[this.beamWidth];
+            this.beamHeuristics = new double[this.beamWidth];
+        }
+        if (this.reuseSamples && (this.samples == null || this.samples.getCapacity() < walks
+                || this.samples.getWidth() < length)) {
+            this.samples = new WalkSamples(walks, length);
+        }
+    }
+
+    /**
+     * Performs the batch of walks and returns the first node satisfying the goal, or
+     * the endpoint with the minimum heuristic value, or null if the batch was
+     * cancelled or timed out before any walk completed.
+     *
+     * @return the best node reached by the walks.
+     */
+    @Override
+    public Node call() {
+        // Reset the scratch state to the root of the walks
+        this.state.clear();
+        this.state.or(this.root);
+        this.hashes[0] = this.state.getHash();
+        if (this.counter != null) {
+            this.counter.reset(this.root);
+        }
+        final long rootIrrelevant = this.nogoods != null ? this.nogoods.key(this.root) ^ this.root.getHash() : 0L;
+        this.irrelevant = rootIrrelevant;
+        this.beamSize = 0;
+
+        int bestDepth = -1;
+        // Initialize minimum heuristic value to a very high number
+        double minHeuristic = Double.MAX_VALUE;
+
+        // Seed the batch with the retained walks passing through the root: they count
+        // as walks of the batch and the best of them is the first candidate endpoint
+        int walks = this.walks;
+        if (this.samples != null) {
+            final int retained = this.samples.rebase(this.root.getHash(), this.length);
+            if (retained > 0) {
+                final int best = this.samples.best();
+                bestDepth = this.samples.copy(best, this.bestPath, this.bestValues);
+                minHeuristic = this.samples.getValue(best);
+                walks = Math.max(walks - retained, walks / WalkWorker.MIN_NEW_WALKS);
+                this.reused += retained;
+            }
+        }
+
+        // Check if we should use MDA or MHA
+        boolean useMDA = this.statistics.shouldUseMDA();
+        boolean useMHA = this.statistics.shouldUseMHA();
+
+        // Perform the Monte Carlo random walk numIterations times unless another worker reached the goal
+        // or the search timed out
+        for (int i = 0; i < walks && !this.stop.get() && System.currentTimeMillis() < this.deadline; i++) {
+            this.statistics.recordWalk();
+            this.walkCount++;
+
+            // Track the distinct actions used in this walk for MDA
+            int distinctCount = 0;
+            boolean walkHitDeadEnd = false;
+            int depth = 0;
+            int top = 0;
+            double endpointHeuristic = this.root.getHeuristic();
+            this.graphExpanded = false;
+            int cut = 0;
+            int minCount = Integer.MAX_VALUE;
+
+            // Perform the random walk for walkLength steps
+            for (int j = 0; j < this.length; j++) {
+                // Get the applicable actions for the current state
+                final int size = this.successors.getApplicableActions(this.state, this.applicable);
+
+                // Update branching factor statistics
+                this.statistics.recordBranchingFactor(size);
+
+                // Check for dead-end
+                if (size == 0) {
+                    walkHitDeadEnd = true;
+                    this.statistics.recordDeadEnd();
+                    if (this.nogoods != null) {
+                        this.nogoods.add(this.nogoodKey());
+                    }
+                    break;
+                }
+
+                // Select action based on strategy
+                final int actionIndex;
+                if (useMDA) {
+                    // Use MDA strategy - sample or select the action with best Q(a) score
+                    actionIndex = this.sampler != null
+                        ? this.sampler.sampleMDA(this.statistics, this.applicable, size, this.random)
+                        : this.selectActionMDA(size);
+                } else if (useMHA) {
+                    // Use MHA strategy - prefer helpful actions
+                    actionIndex = this.sampler != null
+                        ? this.sampler.sampleMHA(this.statistics, this.applicable, size, this.random)
+                        : this.selectActionMHA(size);
+                } else {
+                    // Use pure random selection
+                    actionIndex = this.applicable[this.random.nextInt(size)];
+                }
+
+                // Track action for MDA
+                if (this.used[actionIndex] != this.walkCount) {
+                    this.used[actionIndex] = this.walkCount;
+                    this.distinct[distinctCount++] = actionIndex;
+                }
+
+                // Apply the effects of the selected action to the scratch state and evaluate it
+                // if the evaluation policy requires it
+                final int from = top;
+                top = this.apply(actionIndex, top);
+                this.graphExpanded = false;
+                this.path[depth] = actionIndex;
+                depth++;
+                this.hashes[depth] = this.state.getHash();
+
+                // Stop the walk on a known dead end before evaluating it. The filter is only
+                // queried at the states evaluated, so that its false positives do not add up
+                // over every step of the walk
+                if (this.nogoods != null) {
+                    this.project(from, top);
+                }
+                final boolean evaluated = this.counter == null
+                    && this.evaluation.isEvaluated(depth, this.length, this.evaluationPeriod);
+                if (evaluated && this.nogoods != null && this.nogoods.contains(this.nogoodKey())
+                        && !this.actions.isGoal(this.state)) {
+                    walkHitDeadEnd = true;
+                    this.statistics.recordDeadEnd();
+                    this.nogoodHits++;
+                    this.values[depth - 1] = Integer.MAX_VALUE;
+                    break;
+                }
+
+                if (this.counter != null) {
+                    // Score the state with the count and remember the last state of minimum count
+                    this.counter.update(this.state, this.trail, from, top);
+                    this.tops[depth] = top;
+                    this.marks[depth] = this.counter.mark();
+                    this.values[depth - 1] = Double.NaN;
+                    if (this.counter.getValue() <= minCount) {
+                        minCount = this.counter.getValue();
+                        cut = depth;
+                    }
+                } else if (evaluated) {
+                    endpointHeuristic = this.evaluate();
+                    this.values[depth - 1] = endpointHeuristic;
+                    if (this.nogoods != null && endpointHeuristic >= Integer.MAX_VALUE) {
+                        // The goal is unreachable from the state even in the relaxed problem
+                        walkHitDeadEnd = true;
+                        this.statistics.recordDeadEnd();
+                        this.nogoods.add(this.nogoodKey());
+                        break;
+                    }
+                } else {
+                    this.values[depth - 1] = Double.NaN;
+                }
+
+                // If the current state satisfies the goal, update MDA statistics, cancel the other
+                // workers and return the chain of nodes of the walk
+                if (this.counter != null ? this.counter.isGoal() : this.actions.isGoal(this.state)) {
+                    endpointHeuristic = this.evaluateEndpoint(depth);
+                    this.statistics.recordActions(this.distinct, distinctCount, false); // successful walk
+                    this.updateMHAStatistics(endpointHeuristic, top); // update helpful actions
+                    this.stop.set(true);
+                    return this.buildNodes(this.path, this.values, depth);
+                }
+            }
+
+            // A walk scored by the count ends at its last state of minimum count
+            if (this.counter != null && cut < depth) {
+                ActionTable.undo(this.state, this.trail, top, this.tops[cut]);
+                this.counter.undo(this.state, this.trail, this.tops[cut], top, this.marks[cut]);
+                if (this.nogoods != null) {
+                    this.project(this.tops[cut], top);
+                }
+                top = this.tops[cut];
+                depth = cut;
+                this.graphExpanded = false;
+            }
+
+            // A walk stopped by a dead end may end on a state left unevaluated
+            endpointHeuristic = this.evaluateEndpoint(depth);
+
+            // Update MDA statistics for this walk
+            this.statistics.recordActions(this.distinct, distinctCount, walkHitDeadEnd);
+
+            // Update MHA statistics if we have a valid endpoint
+            if (!walkHitDeadEnd) {
+                this.updateMHAStatistics(endpointHeuristic, top);
+            }
+
+            // Keep the endpoint for the beam of endpoints
+            if (this.beamWidth > 0 && !walkHitDeadEnd && depth > 0 && endpointHeuristic < Integer.MAX_VALUE) {
+                this.keepEndpoint(depth, endpointHeuristic);
+            }
+
+            // Retain the walk for the next batches
+            if (this.samples != null) {
+                this.samples.add(this.path, this.values, this.hashes, depth);
+            }
+
+            // If the heuristic value of the endpoint is less than the current minimum
+            // heuristic value, keep the walk and update the minimum heuristic value
+            if (endpointHeuristic < minHeuristic) {
+                System.arraycopy(this.path, 0, this.bestPath, 0, depth);
+                System.arraycopy(this.values, 0, this.bestValues, 0, depth);
+                bestDepth = depth;
+                minHeuristic = endpointHeuristic;
+            }
+
+            // Rewind the scratch state to the root of the walks
+            ActionTable.undo(this.state, this.trail, top, 0);
+            if (this.counter != null) {
+                this.counter.undo(this.state, this.trail, 0, top, 0);
+            }
+            this.irrelevant = rootIrrelevant;
+        }
+        return bestDepth < 0 ? null : this.buildNodes(this.bestPath, this.bestValues, bestDepth);
+    }
+
+    /**
+     * Keeps the endpoint of the current walk among the distinct endpoints of the
+     * batch with the lowest heuristic values. An endpoint already kept is kept with
+     * the shortest walk reaching it.
+     *
+     * @param depth     the number of actions applied by the walk.
+     * @param heuristic the heuristic value of the endpoint.
+     */
+    private void keepEndpoint(final int depth, final double heuristic) {
+        final long hash = this.hashes[depth];
+        int i = 0;
+        while (i < this.beamSize && this.beamHashes[i] != hash) {
+            i++;
+        }
+        if (i < this.beamSize) {
+            if (depth >= this.beamDepths[i]) {
+                return;
+            }
+        } else if (this.beamSize < this.beamWidth) {
+            i = this.beamSize++;
+        } else if (heuristic < this.beamHeuristics[this.beamSize - 1]) {
+            i = this.beamSize - 1;
+        } else {
+            return;
+        }
+        // Move the slot of the endpoint to its rank, keeping the endpoints sorted
+        final int[] slotPath = this.beamPaths[i];
+        final double[] slotValues = this.beamValues[i];
+        while (i > 0 && this.beamHeuristics[i - 1] > heuristic) {
+            this.beamPaths[i] = this.beamPaths[i - 1];
+            this.beamValues[i] = this.beamValues[i - 1];
+            this.beamDepths[i] = this.beamDepths[i - 1];
+            this.beamHashes[i] = this.beamHashes[i - 1];
+            this.beamHeuristics[i] = this.beamHeuristics[i - 1];
+            i--;
+        }
+        System.arraycopy(this.path, 0, slotPath, 0, depth);
+        System.arraycopy(this.values, 0, slotValues, 0, depth);
+        this.beamPaths[i] = slotPath;
+        this.beamValues[i] = slotValues;
+        this.beamDepths[i] = depth;
+        this.beamHashes[i] = hash;
+        this.beamHeuristics[i] = heuristic;
+    }
+
+    /**
+     * Applies an action to the scratch state.
+     *
+     * @param action the index of the action.
+     * @param top    the number of fluents on the trail.
+     * @return the number of fluents on the trail after the application.
+     */
+    private int apply(final int action, final int top) {
+        return this.actions.apply(action, this.state, this.trail, top);
+    }
+
+    /**
+     * Updates the keys of the irrelevant fluents of the scratch state from the
+     * fluents flipped on the trail.
+     *
+     * @param from the index of the first fluent flipped.
+     * @param to   the index after the last fluent flipped.
+     */
+    private void project(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            this.irrelevant ^= this.nogoods.projection(this.trail[i]);
+        }
+    }
+
+    /**
+     * Returns the key of the partial state of the scratch state in the filter of the
+     * dead ends.
+     *
+     * @return the key of the partial state of the scratch state.
+     */
+    private long nogoodKey() {
+        return this.state.getHash() ^ this.irrelevant;
+    }
+
+    /**
+     * Returns the heuristic value of the scratch state, looked up with the hash of
+     * the scratch state when the heuristic is cached.
+     *
+     * @return the heuristic value of the scratch state.
+     */
+    private double estimate() {
+        return this.cache != null ? this.cache.estimate(this.state, this.state.getHash(), this.problem.getGoal())
+            : this.heuristic.estimate(this.state, this.problem.getGoal());
+    }
+
+    /**
+     * Evaluates the scratch state. When the heuristic is Fast Forward, the state is
+     * evaluated with the relaxed planning graph, so that the helpful actions of an
+     * endpoint come from the expansion that gave its value.
+     *
+     * @return the heuristic value of the scratch state.
+     */
+    private double evaluate() {
+        return this.relaxedPlanValues ? this.expandRelaxedPlan() : this.estimate();
+    }
+
+    /**
+     * Returns the heuristic value of the endpoint of the current walk, i.e., the
+     * scratch state, and evaluates it if the evaluation policy skipped it, unless
+     * it is a known dead end.
+     *
+     * @param depth the number of actions applied by the walk.
+     * @return the heuristic value of the endpoint.
+     */
+    private double evaluateEndpoint(final int depth) {
+        if (depth == 0) {
+            return this.root.getHeuristic();
+        }
+        if (Double.isNaN(this.values[depth - 1])) {
+            if (this.nogoods != null && this.nogoods.contains(this.nogoodKey())
+                    && !this.actions.isGoal(this.state)) {
+                // The endpoint is a known dead end
+                this.nogoodHits++;
+                this.values[depth - 1] = Integer.MAX_VALUE;
+            } else {
+                this.values[depth - 1] = this.evaluate();
+                if (this.nogoods != null && this.values[depth - 1] >= Integer.MAX_VALUE) {
+                    this.nogoods.add(this.nogoodKey());
+                }
+            }
+        }
+        return this.values[depth - 1];
+    }
+
+    /**
+     * Builds the chain of nodes reached from the root by applying a sequence of
+     * actions. The states skipped by the evaluation policy are evaluated here, so
+     * that every node of the chain holds its heuristic value.
+     *
+     * @param path   the actions applied.
+     * @param values the heuristic values of the states reached.
+     * @param depth  the number of actions applied.
+     * @return the last node of the chain.
+     */
+    private Node buildNodes(final int[] path, final double[] values, final int depth) {
+        Node node = this.root;
+        for (int i = 0; i < depth; i++) {
+            final Node next = new Node(node, node, path[i], node.getCost() + 1, node.getDepth() + 1, values[i]);
+            this.actions.apply(path[i], next, this.trail, 0);
+            if (Double.isNaN(values[i])) {
+                next.setHeuristic(this.heuristic.estimate(next, this.problem.getGoal()));
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    /**
+     * Select action using MDA strategy
+     *
+     * @param size the number of applicable actions.
+     * @return the index of the action selected.
+     */
+    private int selectActionMDA(int size) {
+        int bestAction = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < size; i++) {
+            double score = this.statistics.getMDAScore(this.applicable[i]);
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestAction = this.applicable[i];
+            }
+        }
+
+        // If all actions have the same score, select randomly
+        if (bestAction == -1) {
+            bestAction = this.applicable[this.random.nextInt(size)];
+        }
+
+        return bestAction;
+    }
+
+    /**
+     * Select action using MHA strategy
+     *
+     * @param size the number of applicable actions.
+     * @return the index of the action selected.
+     */
+    private int selectActionMHA(int size) {
+        // Select the most helpful action, if any
+        int bestAction = -1;
+        int maxHelpfulCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            int count = this.statistics.getHelpfulCount(this.applicable[i]);
+            if (count > maxHelpfulCount) {
+                maxHelpfulCount = count;
+                bestAction = this.applicable[i];
+            }
+        }
+
+        if (bestAction != -1) {
+            return bestAction;
+        }
+
+        // Fall back to random selection
+        return this.applicable[this.random.nextInt(size)];
+    }
+
+    /**
+     * Expands the relaxed planning graph from the endpoint of the current walk, i.e.,
+     * the scratch state, and returns the length of its relaxed plan.
+     *
+     * @return the length of the relaxed plan of the endpoint.
+     */
+    private int expandRelaxedPlan() {
+        if (this.graph == null) {
+            this.graph = new RelaxedPlanningGraph(this.problem);
+        }
+        this.graphExpanded = true;
+        return this.graph.estimate(this.state);
+    }
+
+    /**
+     * Update MHA statistics - identify helpful actions at the endpoint of the walk,
+     * i.e., the scratch state.
+     *
+     * @param endpointHeuristic the heuristic value of the endpoint.
+     * @param top               the number of fluents on the trail at the endpoint.
+     */
+    private void updateMHAStatistics(double endpointHeuristic, int top) {
+
+        final int size = this.successors.getApplicableActions(this.state, this.applicable);
+
+        if (!this.exhaustiveHelpfulActions) {
+            // Record the helpful actions of the relaxed plan of the endpoint
+            if (!this.graphExpanded) {
+                this.expandRelaxedPlan();
+            }
+            final int helpful = this.graph.getHelpfulActions(this.state, this.applicable, size, this.applicable);
+            for (int i = 0; i < helpful; i++) {
+                this.statistics.recordHelpfulAction(this.applicable[i]);
+            }
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final int next = this.apply(this.applicable[i], top);
+            double newHeuristic = this.estimate();
+            ActionTable.undo(this.state, this.trail, next, top);
+            if (newHeuristic < endpointHeuristic) {
+                this.statistics.recordHelpfulAction(this.applicable[i]);
+            }
+        }
+    }
+}